@@ -4,10 +4,17 @@ import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.ServiceManager;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @State(
@@ -18,6 +25,17 @@ public class EASettings implements PersistentStateComponent<Element> {
     private String versionOldest;
     private String version;
     private String uuid;
+    private boolean profilingEnabled;
+    private boolean throttlingEnabled;
+    private long throttlingBudgetMs   = 50;
+    private long throttlingDeferralMs = 1500;
+    private int analysisStepsLimit    = 10000;
+    private int analysisDepthLimit    = 64;
+
+    private Set<String> testRoots       = Collections.emptySet();
+    private Set<String> testBaseClasses = Collections.emptySet();
+    /* cached test classification depends on test roots and base classes */
+    final private SimpleModificationTracker testsConfiguration = new SimpleModificationTracker();
 
     public static EASettings getInstance() {
         return ServiceManager.getService(EASettings.class);
@@ -37,6 +55,22 @@ public class EASettings implements PersistentStateComponent<Element> {
         if (null != this.uuid) {
             element.setAttribute("uuid", this.uuid);
         }
+        if (this.profilingEnabled) {
+            element.setAttribute("profilingEnabled", "true");
+        }
+        if (this.throttlingEnabled) {
+            element.setAttribute("throttlingEnabled", "true");
+        }
+        element.setAttribute("throttlingBudgetMs", String.valueOf(this.throttlingBudgetMs));
+        element.setAttribute("throttlingDeferralMs", String.valueOf(this.throttlingDeferralMs));
+        element.setAttribute("analysisStepsLimit", String.valueOf(this.analysisStepsLimit));
+        element.setAttribute("analysisDepthLimit", String.valueOf(this.analysisDepthLimit));
+        if (!this.testRoots.isEmpty()) {
+            element.setAttribute("testRoots", String.join(",", this.testRoots));
+        }
+        if (!this.testBaseClasses.isEmpty()) {
+            element.setAttribute("testBaseClasses", String.join(",", this.testBaseClasses));
+        }
 
         return element;
     }
@@ -53,6 +87,31 @@ public class EASettings implements PersistentStateComponent<Element> {
 
         final String uuidValue = element.getAttributeValue("uuid");
         this.uuid              = (null == uuidValue ? UUID.randomUUID().toString() : uuidValue);
+
+        this.profilingEnabled  = Boolean.parseBoolean(element.getAttributeValue("profilingEnabled"));
+        this.throttlingEnabled = Boolean.parseBoolean(element.getAttributeValue("throttlingEnabled"));
+
+        final String budgetValue = element.getAttributeValue("throttlingBudgetMs");
+        if (budgetValue != null && budgetValue.matches("\\d+")) {
+            this.throttlingBudgetMs = Long.parseLong(budgetValue);
+        }
+        final String deferralValue = element.getAttributeValue("throttlingDeferralMs");
+        if (deferralValue != null && deferralValue.matches("\\d+")) {
+            this.throttlingDeferralMs = Long.parseLong(deferralValue);
+        }
+        final String stepsValue = element.getAttributeValue("analysisStepsLimit");
+        if (stepsValue != null && stepsValue.matches("\\d{1,9}")) {
+            this.analysisStepsLimit = Integer.parseInt(stepsValue);
+        }
+        final String depthValue = element.getAttributeValue("analysisDepthLimit");
+        if (depthValue != null && depthValue.matches("\\d{1,9}")) {
+            this.analysisDepthLimit = Integer.parseInt(depthValue);
+        }
+
+        final String rootsValue = element.getAttributeValue("testRoots");
+        this.setTestRoots(rootsValue == null ? Collections.emptySet() : Arrays.asList(rootsValue.split(",")));
+        final String baseClassesValue = element.getAttributeValue("testBaseClasses");
+        this.setTestBaseClasses(baseClassesValue == null ? Collections.emptySet() : Arrays.asList(baseClassesValue.split(",")));
     }
 
     public void setVersion(@NotNull String version) {
@@ -71,4 +130,99 @@ public class EASettings implements PersistentStateComponent<Element> {
     public String getOldestVersion() {
         return this.versionOldest;
     }
+
+    public boolean isProfilingEnabled() {
+        return this.profilingEnabled;
+    }
+
+    public void setProfilingEnabled(boolean enabled) {
+        this.profilingEnabled = enabled;
+    }
+
+    public boolean isThrottlingEnabled() {
+        return this.throttlingEnabled;
+    }
+
+    public void setThrottlingEnabled(boolean enabled) {
+        this.throttlingEnabled = enabled;
+    }
+
+    public long getThrottlingBudgetMs() {
+        return this.throttlingBudgetMs;
+    }
+
+    public void setThrottlingBudgetMs(long budget) {
+        this.throttlingBudgetMs = budget;
+    }
+
+    public long getThrottlingDeferralMs() {
+        return this.throttlingDeferralMs;
+    }
+
+    public void setThrottlingDeferralMs(long deferral) {
+        this.throttlingDeferralMs = deferral;
+    }
+
+    public int getAnalysisStepsLimit() {
+        return this.analysisStepsLimit;
+    }
+
+    public void setAnalysisStepsLimit(int limit) {
+        this.analysisStepsLimit = limit;
+    }
+
+    public int getAnalysisDepthLimit() {
+        return this.analysisDepthLimit;
+    }
+
+    public void setAnalysisDepthLimit(int limit) {
+        this.analysisDepthLimit = limit;
+    }
+
+    /* project-relative or absolute directories, forward slashes, no trailing slash */
+    @NotNull
+    public Set<String> getTestRoots() {
+        return this.testRoots;
+    }
+
+    public void setTestRoots(@NotNull Collection<String> roots) {
+        final Set<String> normalized = new LinkedHashSet<>();
+        for (final String root : roots) {
+            String path = root.trim().replace('\\', '/');
+            while (path.startsWith("./")) {
+                path = path.substring(2);
+            }
+            while (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            if (!path.isEmpty() && !path.equals(".")) {
+                normalized.add(path);
+            }
+        }
+        this.testRoots = Collections.unmodifiableSet(normalized);
+        this.testsConfiguration.incModificationCount();
+    }
+
+    /* fully qualified, with the leading slash */
+    @NotNull
+    public Set<String> getTestBaseClasses() {
+        return this.testBaseClasses;
+    }
+
+    public void setTestBaseClasses(@NotNull Collection<String> classes) {
+        final Set<String> normalized = new LinkedHashSet<>();
+        for (final String clazz : classes) {
+            final String fqn = clazz.trim();
+            if (!fqn.isEmpty()) {
+                normalized.add(fqn.startsWith("\\") ? fqn : '\\' + fqn);
+            }
+        }
+        this.testBaseClasses = Collections.unmodifiableSet(normalized);
+        this.testsConfiguration.incModificationCount();
+    }
+
+    @NotNull
+    public ModificationTracker getTestsConfigurationTracker() {
+        return this.testsConfiguration;
+    }
 }
@@ -0,0 +1,42 @@
+package com.kalessil.phpStorm.phpInspectionsEA.actions;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.profiling.InspectionsProfiler;
+
+import java.io.File;
+import java.io.IOException;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class DumpInspectionsProfileAction extends AnAction {
+    final private static String group = "Php Inspections (EA Extended)";
+
+    @Override
+    public void update(AnActionEvent event) {
+        event.getPresentation().setEnabled(EASettings.getInstance().isProfilingEnabled());
+    }
+
+    @Override
+    public void actionPerformed(AnActionEvent event) {
+        Notification notification;
+        try {
+            final File dump = InspectionsProfiler.dump();
+            notification    = new Notification(group, "Inspections profile", "Saved into " + dump.getPath(), NotificationType.INFORMATION);
+        } catch (IOException failure) {
+            notification = new Notification(group, "Inspections profile", failure.getMessage(), NotificationType.ERROR);
+        }
+        Notifications.Bus.notify(notification, event.getProject());
+    }
+}
@@ -0,0 +1,26 @@
+package com.kalessil.phpStorm.phpInspectionsEA.actions;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.ToggleAction;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+public class ToggleInspectionsThrottlingAction extends ToggleAction {
+    @Override
+    public boolean isSelected(AnActionEvent event) {
+        return EASettings.getInstance().isThrottlingEnabled();
+    }
+
+    @Override
+    public void setSelected(AnActionEvent event, boolean state) {
+        EASettings.getInstance().setThrottlingEnabled(state);
+    }
+}
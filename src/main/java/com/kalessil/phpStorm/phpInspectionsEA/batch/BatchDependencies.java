@@ -0,0 +1,49 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.ClassReference;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class BatchDependencies {
+    /* files declaring the hierarchies of classes declared or referenced in the file */
+    @NotNull
+    static public Collection<VirtualFile> ofHierarchies(@NotNull PsiFile file) {
+        final Set<PhpClass> classes = new HashSet<>(PsiTreeUtil.findChildrenOfType(file, PhpClass.class));
+        for (final ClassReference reference : PsiTreeUtil.findChildrenOfType(file, ClassReference.class)) {
+            final PsiElement resolved = OpenapiResolveUtil.resolveReference(reference);
+            if (resolved instanceof PhpClass) {
+                classes.add((PhpClass) resolved);
+            }
+        }
+
+        final Set<VirtualFile> result = new HashSet<>();
+        for (final PhpClass clazz : classes) {
+            for (final PhpClass member : InterfacesExtractUtil.getInheritanceClosure(clazz, true)) {
+                final PsiFile container = member.getContainingFile();
+                if (container != null && container.getVirtualFile() != null) {
+                    result.add(container.getVirtualFile());
+                }
+            }
+        }
+        return result;
+    }
+}
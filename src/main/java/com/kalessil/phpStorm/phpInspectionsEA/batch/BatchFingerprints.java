@@ -0,0 +1,53 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Fingerprints are surviving edits elsewhere in the file: lines are not a part of them, identical findings in a file
+ * are told apart by their occurrence order instead.
+ */
+final class BatchFingerprints {
+    /* problems of one file, the result is in the same order */
+    @NotNull
+    static List<String> of(@NotNull List<BatchProblem> problems) {
+        final Map<String, Integer> occurrences = new HashMap<>();
+        final List<String> result              = new ArrayList<>(problems.size());
+        for (final BatchProblem problem : problems) {
+            final String finding = problem.getInspection() + '\0' + problem.getPath() + '\0' + problem.getMessage();
+            final int occurrence = occurrences.merge(finding, 1, Integer::sum);
+            result.add(hash((finding + '\0' + occurrence).getBytes(StandardCharsets.UTF_8)));
+        }
+        return result;
+    }
+
+    @NotNull
+    static String hash(@NotNull byte[] content) {
+        try {
+            final byte[] digest        = MessageDigest.getInstance("SHA-256").digest(content);
+            final StringBuilder result = new StringBuilder(digest.length * 2);
+            for (final byte part : digest) {
+                result.append(String.format("%02x", part));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException failure) {
+            throw new IllegalStateException(failure);
+        }
+    }
+}
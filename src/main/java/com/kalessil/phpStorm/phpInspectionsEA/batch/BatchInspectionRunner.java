@@ -0,0 +1,203 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.codeInspection.*;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.jetbrains.php.lang.psi.PhpFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Workers are pulling files from a shared queue (files differ in size too much for static sharding), each file is
+ * inspected in its own read action, so the IDE is able to proceed with write actions in between.
+ */
+final public class BatchInspectionRunner {
+    final private static Logger LOG = Logger.getInstance(BatchInspectionRunner.class);
+
+    @NotNull
+    final private Project project;
+    @NotNull
+    final private List<LocalInspectionTool> tools;
+    final private int workers;
+    @Nullable
+    final private BatchResultsCache cache;
+
+    public BatchInspectionRunner(@NotNull Project project, @NotNull List<LocalInspectionTool> tools, int workers) {
+        this(project, tools, workers, null);
+    }
+
+    public BatchInspectionRunner(
+        @NotNull Project project,
+        @NotNull List<LocalInspectionTool> tools,
+        int workers,
+        @Nullable BatchResultsCache cache
+    ) {
+        this.project = project;
+        this.tools   = tools;
+        this.workers = Math.max(1, workers);
+        this.cache   = cache;
+    }
+
+    /* returns the number of reported problems */
+    public long run(@NotNull Collection<VirtualFile> files, @NotNull BatchReporter reporter)
+        throws IOException, InterruptedException
+    {
+        final Queue<VirtualFile> queue     = new ConcurrentLinkedQueue<>(files);
+        final AtomicLong problemsCount     = new AtomicLong();
+        final AtomicInteger threadsCounter = new AtomicInteger();
+        final ExecutorService pool         = Executors.newFixedThreadPool(
+            this.workers,
+            runnable -> new Thread(runnable, "EA batch inspection " + threadsCounter.incrementAndGet())
+        );
+
+        final List<Future<Void>> results = new ArrayList<>();
+        try {
+            for (int worker = 0; worker < this.workers; ++worker) {
+                results.add(pool.submit(() -> {
+                    VirtualFile file;
+                    while ((file = queue.poll()) != null) {
+                        final List<BatchProblem> problems = this.inspect(file);
+                        reporter.report(this.getPath(file), problems);
+                        problemsCount.addAndGet(problems.size());
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<Void> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException failure) {
+                    queue.clear();
+                    final Throwable cause = failure.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return problemsCount.get();
+    }
+
+    @NotNull
+    public List<BatchProblem> inspect(@NotNull VirtualFile file) {
+        return ApplicationManager.getApplication().runReadAction((Computable<List<BatchProblem>>) () -> {
+            final PsiFile psiFile = file.isValid() ? PsiManager.getInstance(this.project).findFile(file) : null;
+            if (!(psiFile instanceof PhpFile)) {
+                return Collections.emptyList();
+            }
+
+            /* cached results are taken as they are, the remaining inspections are run and their results cached */
+            final String path                     = this.getPath(file);
+            final List<BatchProblem> problems     = new ArrayList<>();
+            final List<LocalInspectionTool> tools = new ArrayList<>();
+            for (final LocalInspectionTool tool : this.tools) {
+                final List<BatchProblem> cached = this.cache == null ? null : this.cache.get(tool, path, psiFile);
+                if (cached == null) {
+                    tools.add(tool);
+                } else {
+                    problems.addAll(cached);
+                }
+            }
+            if (tools.isEmpty()) {
+                return problems;
+            }
+
+            /* one session and tree walk per file; as in the platform, visitors get children before their parents */
+            final InspectionManager manager          = InspectionManager.getInstance(this.project);
+            final LocalInspectionToolSession session = new LocalInspectionToolSession(psiFile, 0, psiFile.getTextLength());
+
+            final Map<LocalInspectionTool, ProblemsHolder> holders     = new LinkedHashMap<>();
+            final Map<LocalInspectionTool, PsiElementVisitor> visitors = new LinkedHashMap<>();
+            final Set<LocalInspectionTool> failed                      = new HashSet<>();
+            for (final LocalInspectionTool tool : tools) {
+                final ProblemsHolder holder = new ProblemsHolder(manager, psiFile, false);
+                try {
+                    visitors.put(tool, tool.buildVisitor(holder, false, session));
+                    tool.inspectionStarted(session, false);
+                    holders.put(tool, holder);
+                } catch (ProcessCanceledException cancelled) {
+                    throw cancelled;
+                } catch (Throwable failure) {
+                    LOG.warn(tool.getShortName() + " failed on " + file.getPath(), failure);
+                }
+            }
+
+            psiFile.accept(new PsiRecursiveElementWalkingVisitor() {
+                @Override
+                protected void elementFinished(PsiElement element) {
+                    final Iterator<Map.Entry<LocalInspectionTool, PsiElementVisitor>> iterator = visitors.entrySet().iterator();
+                    while (iterator.hasNext()) {
+                        final Map.Entry<LocalInspectionTool, PsiElementVisitor> visitor = iterator.next();
+                        try {
+                            element.accept(visitor.getValue());
+                        } catch (ProcessCanceledException cancelled) {
+                            throw cancelled;
+                        } catch (Throwable failure) {
+                            /* the inspection is broken on this file: drop its results, but keep the others going */
+                            LOG.warn(visitor.getKey().getShortName() + " failed on " + file.getPath(), failure);
+                            failed.add(visitor.getKey());
+                            iterator.remove();
+                        }
+                    }
+                }
+            });
+
+            for (final Map.Entry<LocalInspectionTool, ProblemsHolder> entry : holders.entrySet()) {
+                final LocalInspectionTool tool = entry.getKey();
+                final ProblemsHolder holder    = entry.getValue();
+                try {
+                    tool.inspectionFinished(session, holder);
+                } catch (ProcessCanceledException cancelled) {
+                    throw cancelled;
+                } catch (Throwable failure) {
+                    LOG.warn(tool.getShortName() + " failed on " + file.getPath(), failure);
+                    failed.add(tool);
+                }
+                if (!failed.contains(tool)) {
+                    final List<BatchProblem> found = new ArrayList<>();
+                    for (final ProblemDescriptor descriptor : holder.getResults()) {
+                        found.add(BatchProblem.of(tool.getShortName(), path, descriptor));
+                    }
+                    if (this.cache != null) {
+                        this.cache.put(tool, path, psiFile, found);
+                    }
+                    problems.addAll(found);
+                }
+            }
+            return problems;
+        });
+    }
+
+    /* project-relative when possible, so the reports and shards are not depending on the checkout location */
+    @NotNull
+    public String getPath(@NotNull VirtualFile file) {
+        final VirtualFile root = this.project.getBaseDir();
+        final String relative  = root == null ? null : VfsUtilCore.getRelativePath(file, root);
+        return relative == null ? file.getPath() : relative;
+    }
+}
@@ -0,0 +1,199 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.codeInsight.daemon.HighlightDisplayKey;
+import com.intellij.codeInspection.InspectionProfile;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ex.InspectionToolWrapper;
+import com.intellij.codeInspection.ex.LocalInspectionToolWrapper;
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarterEx;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ex.ApplicationManagerEx;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.profile.codeInspection.InspectionProjectProfileManager;
+import com.jetbrains.php.lang.PhpFileType;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Headless entry point, runs EA inspections only:
+ *   <ide>.sh ea-inspect <project directory> [--profile=<name>] [--threads=<count>] [--output=<file>]
+ *                         [--format=text|jsonl|sarif] [--cache=<directory>] [--shard=<N>/<M>]
+ */
+public class BatchInspectionStarter extends ApplicationStarterEx {
+    final private static Logger LOG = Logger.getInstance(BatchInspectionStarter.class);
+
+    final private static String usage =
+        "Usage: ea-inspect <project directory> [--profile=<name>] [--threads=<count>] [--output=<file>] " +
+        "[--format=text|jsonl|sarif] [--cache=<directory>] [--shard=<N>/<M>]";
+
+    @Override
+    public String getCommandName() {
+        return "ea-inspect";
+    }
+
+    @Override
+    public boolean isHeadless() {
+        return true;
+    }
+
+    @Override
+    public void premain(String[] args) {
+    }
+
+    @Override
+    public void main(String[] args) {
+        /* opening project and indexing needs the EDT being free, hence the run happens in a pooled thread */
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            int exitCode;
+            try {
+                exitCode = this.run(BatchOptions.parse(args));
+            } catch (IllegalArgumentException failure) {
+                LOG.warn(failure.getMessage());
+                System.err.println(failure.getMessage());
+                System.err.println(usage);
+                exitCode = 2;
+            } catch (Throwable failure) {
+                LOG.error("Batch inspection failed", failure);
+                exitCode = 1;
+            }
+            this.exit(exitCode);
+        });
+    }
+
+    /* as the platform inspection application does: regular shutdown on success, the exit code only matters on failures */
+    private void exit(int exitCode) {
+        if (exitCode == 0) {
+            ApplicationManager.getApplication().invokeLater(() -> ApplicationManagerEx.getApplicationEx().exit(true, true));
+        } else {
+            System.exit(exitCode);
+        }
+    }
+
+    private int run(@NotNull BatchOptions options) throws IOException, InterruptedException {
+        final Ref<Project> projectRef = new Ref<>();
+        ApplicationManager.getApplication().invokeAndWait(
+            () -> projectRef.set(ProjectUtil.openOrImport(options.getProjectPath(), null, false)),
+            ModalityState.defaultModalityState()
+        );
+        final Project project = projectRef.get();
+        if (project == null) {
+            throw new IllegalArgumentException("Could not open project: " + options.getProjectPath());
+        }
+        DumbService.getInstance(project).waitForSmartMode();
+
+        final List<LocalInspectionTool> tools = this.getTools(project, options.getProfile());
+        final List<VirtualFile> files         = this.getFiles(project);
+
+        final String version               = String.valueOf(EASettings.getInstance().getVersion());
+        final BatchResultsCache cache      = options.getCache() == null
+                ? null
+                : new BatchResultsCache(Paths.get(options.getCache()), version, files);
+        final BatchInspectionRunner runner = new BatchInspectionRunner(project, tools, options.getThreads(), cache);
+
+        /* the cache fingerprints the whole project, the shard narrows down only what is inspected */
+        final BatchShard shard           = options.getShard();
+        final List<VirtualFile> selected = new ArrayList<>();
+        for (final VirtualFile file : files) {
+            if (shard == null || shard.contains(runner.getPath(file))) {
+                selected.add(file);
+            }
+        }
+        System.err.println(String.format(
+            "Inspecting %d files with %d inspections using %d threads%s",
+            selected.size(),
+            tools.size(),
+            options.getThreads(),
+            shard == null ? "" : String.format(" (shard %d of %d)", shard.getIndex(), shard.getCount())
+        ));
+
+        final long started = System.currentTimeMillis();
+        final long problems;
+        try (final BatchReporter reporter = this.createReporter(options, version)) {
+            problems = runner.run(selected, reporter);
+        }
+        System.err.println(String.format(
+            "Done: %d problems found in %d ms", problems, System.currentTimeMillis() - started
+        ));
+
+        return 0;
+    }
+
+    @NotNull
+    private List<LocalInspectionTool> getTools(@NotNull Project project, @Nullable String profileName) {
+        final InspectionProjectProfileManager manager = InspectionProjectProfileManager.getInstance(project);
+        final InspectionProfile profile               = profileName == null
+                ? manager.getInspectionProfile()
+                : (InspectionProfile) manager.getProfile(profileName, false);
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown inspection profile: " + profileName);
+        }
+
+        final List<LocalInspectionTool> tools = new ArrayList<>();
+        for (final InspectionToolWrapper wrapper : profile.getInspectionTools(null)) {
+            if (wrapper instanceof LocalInspectionToolWrapper && profile.isToolEnabled(HighlightDisplayKey.find(wrapper.getShortName()))) {
+                final LocalInspectionTool tool = ((LocalInspectionToolWrapper) wrapper).getTool();
+                if (tool instanceof BasePhpInspection) {
+                    tools.add(tool);
+                }
+            }
+        }
+        return tools;
+    }
+
+    @NotNull
+    private List<VirtualFile> getFiles(@NotNull Project project) {
+        final List<VirtualFile> files = new ArrayList<>();
+        ApplicationManager.getApplication().runReadAction(() ->
+            ProjectFileIndex.SERVICE.getInstance(project).iterateContent(file -> {
+                if (!file.isDirectory() && file.getFileType() == PhpFileType.INSTANCE) {
+                    files.add(file);
+                }
+                return true;
+            })
+        );
+        return files;
+    }
+
+    @NotNull
+    private BatchReporter createReporter(@NotNull BatchOptions options, @NotNull String version) throws IOException {
+        final Writer output = this.openOutput(options.getOutput());
+        switch (options.getFormat()) {
+            case "jsonl":
+                return new JsonLinesReporter(output);
+            case "sarif":
+                return new SarifReporter(output, version);
+            default:
+                return new PlainTextReporter(output);
+        }
+    }
+
+    @NotNull
+    private Writer openOutput(@Nullable String output) throws IOException {
+        final OutputStream stream = output == null ? System.out : new FileOutputStream(output);
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+    }
+}
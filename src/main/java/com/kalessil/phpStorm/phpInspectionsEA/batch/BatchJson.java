@@ -0,0 +1,124 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* reports are flat and small: a dependency on a JSON library is not worth it */
+final class BatchJson {
+    @NotNull
+    static String quote(@NotNull String value) {
+        final StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+        for (final char character : value.toCharArray()) {
+            switch (character) {
+                case '"':  result.append("\\\""); break;
+                case '\\': result.append("\\\\"); break;
+                case '\n': result.append("\\n");  break;
+                case '\r': result.append("\\r");  break;
+                case '\t': result.append("\\t");  break;
+                default:
+                    if (character < 0x20) {
+                        result.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        result.append(character);
+                    }
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    /* reads objects written by JsonLinesReporter: string and number values only, numbers are kept as text */
+    @NotNull
+    static Map<String, String> parseFlatObject(@NotNull String json) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        final int[] position             = {skipSpaces(json, 0)};
+        expect(json, position, '{');
+        final int next = skipSpaces(json, position[0]);
+        if (next < json.length() && json.charAt(next) == '}') {
+            return result;
+        }
+        while (true) {
+            position[0]      = skipSpaces(json, position[0]);
+            final String key = parseString(json, position);
+            position[0]      = skipSpaces(json, position[0]);
+            expect(json, position, ':');
+            position[0] = skipSpaces(json, position[0]);
+            if (json.charAt(position[0]) == '"') {
+                result.put(key, parseString(json, position));
+            } else {
+                final int start = position[0];
+                while (position[0] < json.length() && "-+.eE0123456789".indexOf(json.charAt(position[0])) != -1) {
+                    ++position[0];
+                }
+                if (start == position[0]) {
+                    throw new IllegalArgumentException("Unsupported value at " + start + ": " + json);
+                }
+                result.put(key, json.substring(start, position[0]));
+            }
+            position[0] = skipSpaces(json, position[0]);
+            if (position[0] < json.length() && json.charAt(position[0]) == ',') {
+                ++position[0];
+                continue;
+            }
+            expect(json, position, '}');
+            return result;
+        }
+    }
+
+    @NotNull
+    private static String parseString(@NotNull String json, @NotNull int[] position) {
+        expect(json, position, '"');
+        final StringBuilder result = new StringBuilder();
+        while (position[0] < json.length()) {
+            final char character = json.charAt(position[0]++);
+            if (character == '"') {
+                return result.toString();
+            } else if (character != '\\') {
+                result.append(character);
+            } else if (position[0] < json.length()) {
+                final char escaped = json.charAt(position[0]++);
+                switch (escaped) {
+                    case 'n': result.append('\n'); break;
+                    case 'r': result.append('\r'); break;
+                    case 't': result.append('\t'); break;
+                    case 'b': result.append('\b'); break;
+                    case 'f': result.append('\f'); break;
+                    case 'u':
+                        if (position[0] + 4 > json.length()) {
+                            throw new IllegalArgumentException("Malformed escape sequence: " + json);
+                        }
+                        result.append((char) Integer.parseInt(json.substring(position[0], position[0] + 4), 16));
+                        position[0] += 4;
+                        break;
+                    default:
+                        result.append(escaped);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string: " + json);
+    }
+
+    private static void expect(@NotNull String json, @NotNull int[] position, char expected) {
+        if (position[0] >= json.length() || json.charAt(position[0]) != expected) {
+            throw new IllegalArgumentException("'" + expected + "' expected at " + position[0] + ": " + json);
+        }
+        ++position[0];
+    }
+
+    private static int skipSpaces(@NotNull String json, int position) {
+        while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+            ++position;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,116 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class BatchOptions {
+    final private static List<String> formats = Arrays.asList("text", "jsonl", "sarif");
+
+    private String projectPath = null;
+    private String profile     = null;
+    private String output      = null;
+    private String cache       = null;
+    private String format      = "text";
+    private BatchShard shard   = null;
+    private int threads        = Runtime.getRuntime().availableProcessors();
+
+    private BatchOptions() {
+    }
+
+    /* the first argument is the command name */
+    @NotNull
+    static public BatchOptions parse(@NotNull String[] args) {
+        final BatchOptions options = new BatchOptions();
+        for (int index = 1; index < args.length; ++index) {
+            final String argument = args[index];
+            if (argument.startsWith("--profile=")) {
+                options.profile = argument.substring("--profile=".length());
+            } else if (argument.startsWith("--output=")) {
+                options.output = argument.substring("--output=".length());
+            } else if (argument.startsWith("--format=")) {
+                options.format = argument.substring("--format=".length());
+                if (!formats.contains(options.format)) {
+                    throw new IllegalArgumentException("Unknown format: " + argument);
+                }
+            } else if (argument.startsWith("--shard=")) {
+                options.shard = BatchShard.parse(argument.substring("--shard=".length()));
+            } else if (argument.startsWith("--cache=")) {
+                options.cache = argument.substring("--cache=".length());
+            } else if (argument.startsWith("--threads=")) {
+                options.threads = parsePositive(argument, argument.substring("--threads=".length()));
+            } else if (argument.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + argument);
+            } else if (options.projectPath == null) {
+                options.projectPath = argument;
+            } else {
+                throw new IllegalArgumentException("Unexpected argument: " + argument);
+            }
+        }
+
+        if (options.projectPath == null) {
+            throw new IllegalArgumentException("Project directory is missing");
+        }
+        return options;
+    }
+
+    private static int parsePositive(@NotNull String argument, @NotNull String value) {
+        try {
+            final int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException failure) {
+            /* reported below */
+        }
+        throw new IllegalArgumentException("Positive number expected: " + argument);
+    }
+
+    @NotNull
+    public String getProjectPath() {
+        return this.projectPath;
+    }
+
+    @Nullable
+    public String getProfile() {
+        return this.profile;
+    }
+
+    @Nullable
+    public String getOutput() {
+        return this.output;
+    }
+
+    /* one of text, jsonl, sarif */
+    @NotNull
+    public String getFormat() {
+        return this.format;
+    }
+
+    /* null when all files are inspected */
+    @Nullable
+    public BatchShard getShard() {
+        return this.shard;
+    }
+
+    /* directory for results reused between runs */
+    @Nullable
+    public String getCache() {
+        return this.cache;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+}
@@ -0,0 +1,57 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemDescriptorUtil;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* detached from PSI: problems are reported after the read action has been released */
+final public class BatchProblem {
+    @NotNull
+    final private String inspection;
+    @NotNull
+    final private String path;
+    final private int line;
+    @NotNull
+    final private String message;
+
+    public BatchProblem(@NotNull String inspection, @NotNull String path, int line, @NotNull String message) {
+        this.inspection = inspection;
+        this.path       = path;
+        this.line       = line;
+        this.message    = message;
+    }
+
+    @NotNull
+    static BatchProblem of(@NotNull String inspection, @NotNull String path, @NotNull ProblemDescriptor descriptor) {
+        final String message = ProblemDescriptorUtil.renderDescriptionMessage(descriptor, descriptor.getPsiElement());
+        return new BatchProblem(inspection, path, descriptor.getLineNumber() + 1, message);
+    }
+
+    @NotNull
+    public String getInspection() {
+        return this.inspection;
+    }
+
+    @NotNull
+    public String getPath() {
+        return this.path;
+    }
+
+    public int getLine() {
+        return this.line;
+    }
+
+    @NotNull
+    public String getMessage() {
+        return this.message;
+    }
+}
@@ -0,0 +1,21 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* invoked by the workers as soon as a file has been inspected, hence implementations must be thread-safe */
+public interface BatchReporter extends Closeable {
+    void report(@NotNull String path, @NotNull List<BatchProblem> problems) throws IOException;
+}
@@ -0,0 +1,105 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Combines JSON-lines reports of shards into one: findings reported more than once (e.g. by re-tried shards) are kept
+ * once, totals per inspection are computed. Runs without the IDE:
+ *   java -cp <plugin jar> com.kalessil.phpStorm.phpInspectionsEA.batch.BatchReportsMerger [--output=<file>] <report>...
+ */
+final public class BatchReportsMerger {
+    final private static String usage =
+        "Usage: BatchReportsMerger [--output=<file>] <report> [<report>...]";
+
+    /* returns totals per inspection, ordered by inspection */
+    @NotNull
+    static public SortedMap<String, Long> merge(@NotNull List<Path> reports, @NotNull Writer output) throws IOException {
+        final SortedMap<String, Long> totals = new TreeMap<>();
+        final Set<String> fingerprints       = new HashSet<>();
+        for (final Path report : reports) {
+            try (final BufferedReader reader = Files.newBufferedReader(report, StandardCharsets.UTF_8)) {
+                String line;
+                int number = 0;
+                while ((line = reader.readLine()) != null) {
+                    ++number;
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+
+                    final Map<String, String> finding;
+                    try {
+                        finding = BatchJson.parseFlatObject(line);
+                    } catch (IllegalArgumentException failure) {
+                        throw new IOException(report + ":" + number + ": " + failure.getMessage(), failure);
+                    }
+                    final String inspection  = finding.get("inspection");
+                    final String fingerprint = finding.get("fingerprint");
+                    if (inspection == null || fingerprint == null) {
+                        throw new IOException(report + ":" + number + ": not a finding");
+                    }
+
+                    if (fingerprints.add(inspection + '\0' + fingerprint)) {
+                        totals.merge(inspection, 1L, Long::sum);
+                        output.append(line).append('\n');
+                    }
+                }
+            }
+        }
+        output.flush();
+        return totals;
+    }
+
+    public static void main(@NotNull String[] args) {
+        String outputPath        = null;
+        final List<Path> reports = new ArrayList<>();
+        for (final String argument : args) {
+            if (argument.startsWith("--output=")) {
+                outputPath = argument.substring("--output=".length());
+            } else if (argument.startsWith("--")) {
+                System.err.println("Unknown option: " + argument);
+                System.err.println(usage);
+                System.exit(2);
+            } else {
+                reports.add(Paths.get(argument));
+            }
+        }
+        if (reports.isEmpty()) {
+            System.err.println(usage);
+            System.exit(2);
+        }
+
+        try {
+            final OutputStream stream = outputPath == null ? System.out : new FileOutputStream(outputPath);
+            final SortedMap<String, Long> totals;
+            try (final Writer output = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+                totals = merge(reports, output);
+            }
+
+            long total = 0;
+            for (final Map.Entry<String, Long> entry : totals.entrySet()) {
+                System.err.println(String.format("%8d %s", entry.getValue(), entry.getKey()));
+                total += entry.getValue();
+            }
+            System.err.println(String.format("%8d problems in total", total));
+        } catch (IOException failure) {
+            System.err.println(failure.getMessage());
+            System.exit(1);
+        }
+    }
+}
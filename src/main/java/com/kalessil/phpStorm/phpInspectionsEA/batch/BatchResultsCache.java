@@ -0,0 +1,206 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.JDOMUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.jetbrains.php.config.PhpProjectConfigurationFacade;
+import com.jetbrains.php.config.library.PhpIncludePathManager;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import org.jdom.Element;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Persistent results of previous batch runs. An entry is keyed by the plugin version, the project environment (PHP
+ * language level, include paths and plugin settings), the inspection short name and settings, the file path and
+ * content, and the fingerprint of what the inspection depends on:
+ *   - FileLocalInspection: nothing else;
+ *   - DependenciesAwareInspection: the declared files;
+ *   - other inspections: the whole project content, so any change invalidates them.
+ * The path is part of the key, as some inspections behave differently e.g. in test directories.
+ */
+final public class BatchResultsCache {
+    final private static Logger LOG = Logger.getInstance(BatchResultsCache.class);
+
+    @NotNull
+    final private Path directory;
+    @NotNull
+    final private String version;
+    @NotNull
+    final private Collection<VirtualFile> projectFiles;
+
+    final private Map<VirtualFile, String> contentHashes         = new ConcurrentHashMap<>();
+    final private Map<LocalInspectionTool, String> optionsHashes = new ConcurrentHashMap<>();
+    private volatile String projectFingerprint                   = null;
+    private volatile String environmentFingerprint               = null;
+
+    public BatchResultsCache(@NotNull Path directory, @NotNull String version, @NotNull Collection<VirtualFile> projectFiles)
+        throws IOException
+    {
+        this.directory    = Files.createDirectories(directory);
+        this.version      = version;
+        this.projectFiles = projectFiles;
+    }
+
+    /* invoked inside a read action; null when the inspection needs to be run */
+    @Nullable
+    public List<BatchProblem> get(@NotNull LocalInspectionTool tool, @NotNull String path, @NotNull PsiFile file) {
+        final String key = this.getKey(tool, path, file);
+        if (key != null) {
+            final Path entry = this.getEntry(key);
+            if (Files.isRegularFile(entry)) {
+                try (final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+                    final int count                 = input.readInt();
+                    final List<BatchProblem> result = new ArrayList<>(count);
+                    for (int index = 0; index < count; ++index) {
+                        final int line = input.readInt();
+                        result.add(new BatchProblem(tool.getShortName(), path, line, input.readUTF()));
+                    }
+                    return result;
+                } catch (IOException failure) {
+                    /* a damaged entry is not a reason to fail the run: the inspection gets re-run and the entry rewritten */
+                    LOG.warn("Could not read cached results: " + entry, failure);
+                }
+            }
+        }
+        return null;
+    }
+
+    /* invoked inside a read action */
+    public void put(@NotNull LocalInspectionTool tool, @NotNull String path, @NotNull PsiFile file, @NotNull List<BatchProblem> problems) {
+        final String key = this.getKey(tool, path, file);
+        if (key != null) {
+            final Path entry = this.getEntry(key);
+            try {
+                Files.createDirectories(entry.getParent());
+                /* concurrent runs are sharing the directory: write aside and move the complete entry in place */
+                final Path temporary = Files.createTempFile(entry.getParent(), key, ".tmp");
+                try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    output.writeInt(problems.size());
+                    for (final BatchProblem problem : problems) {
+                        output.writeInt(problem.getLine());
+                        output.writeUTF(problem.getMessage());
+                    }
+                }
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException failure) {
+                LOG.warn("Could not store cached results: " + entry, failure);
+            }
+        }
+    }
+
+    @NotNull
+    private Path getEntry(@NotNull String key) {
+        return this.directory.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    @Nullable
+    private String getKey(@NotNull LocalInspectionTool tool, @NotNull String path, @NotNull PsiFile file) {
+        final VirtualFile virtualFile = file.getVirtualFile();
+        final String content          = virtualFile == null ? null : this.getContentHash(virtualFile);
+        final String dependencies     = this.getDependenciesFingerprint(tool, file);
+        if (content == null || dependencies == null) {
+            return null;
+        }
+        return BatchFingerprints.hash(String.join("\n",
+            this.version, this.getEnvironmentFingerprint(file.getProject()), tool.getShortName(), this.getOptionsHash(tool), path, content, dependencies
+        ).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    private String getDependenciesFingerprint(@NotNull LocalInspectionTool tool, @NotNull PsiFile file) {
+        if (tool instanceof FileLocalInspection) {
+            return "";
+        }
+        if (tool instanceof DependenciesAwareInspection) {
+            return this.getFingerprint(((DependenciesAwareInspection) tool).getDependencies(file));
+        }
+        String fingerprint = this.projectFingerprint;
+        if (fingerprint == null) {
+            fingerprint = this.projectFingerprint = this.getFingerprint(this.projectFiles);
+        }
+        return fingerprint;
+    }
+
+    @NotNull
+    private String getEnvironmentFingerprint(@NotNull Project project) {
+        String fingerprint = this.environmentFingerprint;
+        if (fingerprint == null) {
+            final StringBuilder environment = new StringBuilder();
+            environment.append(PhpProjectConfigurationFacade.getInstance(project).getLanguageLevel().name()).append('\n');
+            for (final String includePath : PhpIncludePathManager.getInstance(project).getIncludePath()) {
+                environment.append(includePath).append('\0');
+            }
+            environment.append('\n');
+            final EASettings settings = EASettings.getInstance();
+            final Element state       = settings == null ? null : settings.getState();
+            if (state != null) {
+                /* the installation id differs between machines, but doesn't affect results */
+                state.removeAttribute("uuid");
+                environment.append(JDOMUtil.writeElement(state));
+            }
+            fingerprint = this.environmentFingerprint = BatchFingerprints.hash(environment.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return fingerprint;
+    }
+
+    @Nullable
+    private String getFingerprint(@NotNull Collection<VirtualFile> files) {
+        final SortedMap<String, String> sorted = new TreeMap<>();
+        for (final VirtualFile file : files) {
+            final String content = this.getContentHash(file);
+            if (content == null) {
+                return null;
+            }
+            sorted.put(file.getPath(), content);
+        }
+        final StringBuilder fingerprint = new StringBuilder();
+        sorted.forEach((path, content) -> fingerprint.append(path).append('\0').append(content).append('\n'));
+        return BatchFingerprints.hash(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nullable
+    private String getContentHash(@NotNull VirtualFile file) {
+        String result = this.contentHashes.get(file);
+        if (result == null && file.isValid()) {
+            try {
+                result = BatchFingerprints.hash(file.contentsToByteArray());
+                this.contentHashes.put(file, result);
+            } catch (IOException failure) {
+                LOG.warn("Could not read " + file.getPath(), failure);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private String getOptionsHash(@NotNull LocalInspectionTool tool) {
+        return this.optionsHashes.computeIfAbsent(tool, key -> {
+            final Element options = new Element("options");
+            try {
+                key.writeSettings(options);
+            } catch (Throwable failure) {
+                LOG.warn("Could not serialize settings of " + key.getShortName(), failure);
+            }
+            return BatchFingerprints.hash(JDOMUtil.writeElement(options).getBytes(StandardCharsets.UTF_8));
+        });
+    }
+}
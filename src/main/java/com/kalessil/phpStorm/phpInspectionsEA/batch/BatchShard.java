@@ -0,0 +1,60 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Shard N of M (1-based) owns files whose project-relative path hashes into it: nodes are agreeing on the partitioning
+ * without coordination, and regardless of where the project has been checked out.
+ */
+final public class BatchShard {
+    final private int index;
+    final private int count;
+
+    public BatchShard(int index, int count) {
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Invalid shard: " + index + "/" + count);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /* N/M, e.g. 2/4 */
+    @NotNull
+    static public BatchShard parse(@NotNull String value) {
+        final String[] parts = value.split("/", -1);
+        if (parts.length == 2) {
+            try {
+                return new BatchShard(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+            } catch (NumberFormatException failure) {
+                /* reported below */
+            }
+        }
+        throw new IllegalArgumentException("Invalid shard: " + value);
+    }
+
+    public boolean contains(@NotNull String path) {
+        final CRC32 hash = new CRC32();
+        hash.update(path.replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+        return hash.getValue() % this.count == this.index - 1;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+}
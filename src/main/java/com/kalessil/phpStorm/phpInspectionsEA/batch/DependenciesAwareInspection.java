@@ -0,0 +1,26 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Cross-file inspections knowing which files their results depend on: batch results are reused while the file and
+ * the dependencies are unchanged. Inspections declaring neither this nor FileLocalInspection are invalidated by any
+ * change in the project. Invoked inside a read action.
+ */
+public interface DependenciesAwareInspection {
+    @NotNull
+    Collection<VirtualFile> getDependencies(@NotNull PsiFile file);
+}
@@ -0,0 +1,14 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* results depend on the file content, path and the inspection settings only: batch results are reused while unchanged */
+public interface FileLocalInspection {
+}
@@ -0,0 +1,47 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* one JSON object per problem and line, written as files are completed: memory use does not grow with findings */
+final public class JsonLinesReporter implements BatchReporter {
+    @NotNull
+    final private Writer output;
+
+    public JsonLinesReporter(@NotNull Writer output) {
+        this.output = output;
+    }
+
+    @Override
+    public synchronized void report(@NotNull String path, @NotNull List<BatchProblem> problems) throws IOException {
+        final List<String> fingerprints = BatchFingerprints.of(problems);
+        for (int index = 0; index < problems.size(); ++index) {
+            final BatchProblem problem = problems.get(index);
+            this.output
+                .append("{\"inspection\":").append(BatchJson.quote(problem.getInspection()))
+                .append(",\"path\":").append(BatchJson.quote(problem.getPath()))
+                .append(",\"line\":").append(String.valueOf(problem.getLine()))
+                .append(",\"message\":").append(BatchJson.quote(problem.getMessage()))
+                .append(",\"fingerprint\":").append(BatchJson.quote(fingerprints.get(index)))
+                .append("}\n");
+        }
+        this.output.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.output.close();
+    }
+}
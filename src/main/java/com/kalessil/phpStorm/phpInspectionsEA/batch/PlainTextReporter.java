@@ -0,0 +1,43 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* path:line [inspection] message, one problem per line */
+final public class PlainTextReporter implements BatchReporter {
+    @NotNull
+    final private Writer output;
+
+    public PlainTextReporter(@NotNull Writer output) {
+        this.output = output;
+    }
+
+    @Override
+    public synchronized void report(@NotNull String path, @NotNull List<BatchProblem> problems) throws IOException {
+        for (final BatchProblem problem : problems) {
+            this.output
+                .append(problem.getPath()).append(':').append(String.valueOf(problem.getLine()))
+                .append(" [").append(problem.getInspection()).append("] ")
+                .append(problem.getMessage().replace('\n', ' '))
+                .append('\n');
+        }
+        this.output.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.output.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.kalessil.phpStorm.phpInspectionsEA.batch;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * SARIF 2.1.0 with results grouped by inspection. Results are spooled into a temporary file per inspection as files
+ * are completed (only the write buffers are kept in memory) and assembled into the report on close.
+ */
+final public class SarifReporter implements BatchReporter {
+    final private static int bufferSize = 8 * 1024;
+
+    @NotNull
+    final private Writer output;
+    @NotNull
+    final private String version;
+    @NotNull
+    final private Path spool;
+
+    final private Map<String, Writer> results = new TreeMap<>();
+
+    public SarifReporter(@NotNull Writer output, @NotNull String version) throws IOException {
+        this.output  = output;
+        this.version = version;
+        this.spool   = Files.createTempDirectory("ea-sarif");
+    }
+
+    @Override
+    public synchronized void report(@NotNull String path, @NotNull List<BatchProblem> problems) throws IOException {
+        final List<String> fingerprints = BatchFingerprints.of(problems);
+        for (int index = 0; index < problems.size(); ++index) {
+            final BatchProblem problem = problems.get(index);
+            Writer writer = this.results.get(problem.getInspection());
+            if (writer == null) {
+                writer = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(this.getSpoolFile(problem.getInspection())), StandardCharsets.UTF_8),
+                    bufferSize
+                );
+                this.results.put(problem.getInspection(), writer);
+            }
+            writer
+                .append("{\"ruleId\":").append(BatchJson.quote(problem.getInspection()))
+                .append(",\"level\":\"warning\"")
+                .append(",\"message\":{\"text\":").append(BatchJson.quote(problem.getMessage())).append('}')
+                .append(",\"locations\":[{\"physicalLocation\":{")
+                    .append("\"artifactLocation\":{\"uri\":").append(BatchJson.quote(problem.getPath().replace('\\', '/'))).append('}')
+                    .append(",\"region\":{\"startLine\":").append(String.valueOf(problem.getLine())).append('}')
+                .append("}}]")
+                .append(",\"partialFingerprints\":{\"eaFingerprint/v1\":").append(BatchJson.quote(fingerprints.get(index))).append('}')
+                .append("}\n");
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            for (final Writer writer : this.results.values()) {
+                writer.close();
+            }
+
+            this.output.append("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\",\"runs\":[{");
+            this.output.append("\"tool\":{\"driver\":{\"name\":\"Php Inspections (EA Extended)\"")
+                .append(",\"version\":").append(BatchJson.quote(this.version))
+                .append(",\"rules\":[");
+            boolean first = true;
+            for (final String inspection : this.results.keySet()) {
+                this.output.append(first ? "" : ",").append("\n{\"id\":").append(BatchJson.quote(inspection)).append('}');
+                first = false;
+            }
+            this.output.append("]}},\"results\":[");
+
+            first = true;
+            for (final String inspection : this.results.keySet()) {
+                try (final BufferedReader reader = Files.newBufferedReader(this.getSpoolFile(inspection), StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        this.output.append(first ? "\n" : ",\n").append(line);
+                        first = false;
+                    }
+                }
+            }
+            this.output.append("\n]}]}\n");
+        } finally {
+            this.output.close();
+            for (final String inspection : this.results.keySet()) {
+                Files.deleteIfExists(this.getSpoolFile(inspection));
+            }
+            Files.deleteIfExists(this.spool);
+        }
+    }
+
+    @NotNull
+    private Path getSpoolFile(@NotNull String inspection) {
+        return this.spool.resolve(inspection + ".jsonl");
+    }
+}
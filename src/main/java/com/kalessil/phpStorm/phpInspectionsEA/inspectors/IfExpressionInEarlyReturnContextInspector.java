@@ -3,12 +3,13 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import org.jetbrains.annotations.NotNull;
 
-public class IfExpressionInEarlyReturnContextInspector extends BasePhpInspection {
+public class IfExpressionInEarlyReturnContextInspector extends BasePhpInspection implements FileLocalInspection {
     private static final String strProblemDescription = "Consider refactoring the statement, " +
             "so it follows the early return approach.";
 
@@ -37,6 +37,10 @@ final public class PackedHashtableOptimizationInspector extends BasePhpInspectio
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        if (FileSystemUtil.isTestFile(holder.getFile())) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
         return new BasePhpElementVisitor() {
             /* TODO: docs, http://blog.jpauli.tech/2016/04/08/hashtables.html#packed-hashtable-optimization */
 
@@ -4,7 +4,6 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.codeInsight.PhpScopeHolder;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.Variable;
@@ -12,6 +11,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.fixers.UseSuggestedReplacementFixe
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiControlFlowUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
 import org.jetbrains.annotations.NotNull;
@@ -78,11 +78,10 @@ public class ExplodeMissUseInspector extends BasePhpInspection {
                             final PhpScopeHolder parentScope = ExpressionSemanticUtil.getScope(reference);
                             if (null != parentScope) {
                                 final PhpAccessVariableInstruction[] usages
-                                    = PhpControlFlowUtil.getFollowingVariableAccessInstructions
+                                    = OpenapiControlFlowUtil.getFollowingVariableAccessInstructions
                                       (
-                                          parentScope.getControlFlow().getEntryPoint(),
-                                          ((Variable) arguments[0]).getName(),
-                                          false
+                                          parentScope,
+                                          ((Variable) arguments[0]).getName()
                                       );
                                 if (2 != usages.length) {
                                     return;
@@ -15,7 +15,6 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.*;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
-import java.util.HashSet;
 import java.util.Set;
 
 /*
@@ -62,9 +61,9 @@ public class IsEmptyFunctionUsageInspector extends BasePhpInspection {
                     final boolean isInverted   = OpenapiTypesUtil.is(operation, PhpTokenTypes.opNOT);
 
                     /* extract types */
-                    final PhpIndex index                = PhpIndex.getInstance(holder.getProject());
-                    final Function scope                = ExpressionSemanticUtil.getScope(emptyExpression);
-                    final HashSet<String> resolvedTypes = new HashSet<>();
+                    final PhpIndex index            = PhpIndex.getInstance(holder.getProject());
+                    final Function scope            = ExpressionSemanticUtil.getScope(emptyExpression);
+                    final Set<String> resolvedTypes = new TypesSet();
                     TypeFromPsiResolvingUtil.resolveExpressionType(subject, scope, index, resolvedTypes);
 
                     /* Case 1: empty(array) - hidden logic - empty array */
@@ -5,19 +5,19 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.codeInsight.PhpScopeHolder;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.lang.psi.elements.Function;
 import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.php.lang.psi.elements.Parameter;
 import com.jetbrains.php.lang.psi.elements.PhpUnset;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiControlFlowUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-public class UselessUnsetInspector extends BasePhpInspection {
+public class UselessUnsetInspector extends BasePhpInspection implements FileLocalInspection {
     private static final String message = "Only local copy/reference will be unset. This unset can probably be removed.";
 
     @NotNull
@@ -40,8 +40,6 @@ public class UselessUnsetInspector extends BasePhpInspection {
             }
 
             private void inspectUsages(@NotNull Parameter[] parameters, @NotNull PhpScopeHolder objScopeHolder) {
-                final PhpEntryPointInstruction objEntryPoint = objScopeHolder.getControlFlow().getEntryPoint();
-
                 for (Parameter parameter : parameters) {
                     final String parameterName = parameter.getName();
                     if (StringUtils.isEmpty(parameterName)) {
@@ -50,7 +48,7 @@ public class UselessUnsetInspector extends BasePhpInspection {
 
                     /* find all usages of a parameter */
                     PhpAccessVariableInstruction[] usages =
-                            PhpControlFlowUtil.getFollowingVariableAccessInstructions(objEntryPoint, parameterName, false);
+                            OpenapiControlFlowUtil.getFollowingVariableAccessInstructions(objScopeHolder, parameterName);
                     if (usages.length == 0) {
                         continue;
                     }
@@ -10,6 +10,7 @@ import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.ConstantReference;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import org.apache.commons.lang.StringUtils;
@@ -24,7 +25,7 @@ import org.jetbrains.annotations.NotNull;
  * file that was distributed with this source code.
  */
 
-public class DirnameCallOnFileConstantInspector extends BasePhpInspection {
+public class DirnameCallOnFileConstantInspector extends BasePhpInspection implements FileLocalInspection {
     private static final String message = "__DIR__ should be used instead.";
 
     @NotNull
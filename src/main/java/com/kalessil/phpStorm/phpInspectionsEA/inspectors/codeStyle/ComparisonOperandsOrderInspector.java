@@ -10,6 +10,7 @@ import com.intellij.psi.tree.IElementType;
 import com.jetbrains.php.lang.psi.elements.BinaryExpression;
 import com.jetbrains.php.lang.psi.elements.ConstantReference;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
@@ -27,7 +28,7 @@ import javax.swing.*;
  * file that was distributed with this source code.
  */
 
-public class ComparisonOperandsOrderInspector extends BasePhpInspection {
+public class ComparisonOperandsOrderInspector extends BasePhpInspection implements FileLocalInspection {
     private static final String messageUseYoda    = "Yoda conditions style should be used instead.";
     private static final String messageUseRegular = "Regular conditions style should be used instead.";
 
@@ -13,6 +13,7 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.php.lang.psi.elements.PhpModifierList;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import org.jetbrains.annotations.NotNull;
@@ -32,7 +33,7 @@ import java.util.stream.Collectors;
  * file that was distributed with this source code.
  */
 
-public class MisorderedModifiersInspector extends BasePhpInspection {
+public class MisorderedModifiersInspector extends BasePhpInspection implements FileLocalInspection {
     private static final String message = "Modifiers are misordered (according to PSRs)";
 
     private static final List<String> standardOrder = new ArrayList<>();
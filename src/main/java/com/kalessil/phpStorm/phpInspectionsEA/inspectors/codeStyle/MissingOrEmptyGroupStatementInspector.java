@@ -8,6 +8,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
@@ -25,7 +26,7 @@ import javax.swing.*;
  * file that was distributed with this source code.
  */
 
-public class MissingOrEmptyGroupStatementInspector extends BasePhpInspection {
+public class MissingOrEmptyGroupStatementInspector extends BasePhpInspection implements FileLocalInspection {
     // Inspection options.
     public boolean REPORT_EMPTY_BODY = true;
 
@@ -36,6 +36,10 @@ public class MoreThanThreeArgumentsInspector extends PhpTooManyParametersInspect
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        if (FileSystemUtil.isTestFile(holder.getFile())) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
         return new ProxyVisitor((PhpElementVisitor) super.buildVisitor(holder, isOnTheFly));
     }
 
@@ -12,6 +12,7 @@ import com.jetbrains.php.lang.psi.elements.Function;
 import com.jetbrains.php.lang.psi.elements.GroupStatement;
 import com.jetbrains.php.lang.psi.elements.PhpGoto;
 import com.jetbrains.php.lang.psi.elements.PhpGotoLabel;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
@@ -28,7 +29,7 @@ import java.util.Collection;
  * file that was distributed with this source code.
  */
 
-public class UnusedGotoLabelInspector extends BasePhpInspection {
+public class UnusedGotoLabelInspector extends BasePhpInspection implements FileLocalInspection {
     private static final String message = "The label is not used.";
 
     @NotNull
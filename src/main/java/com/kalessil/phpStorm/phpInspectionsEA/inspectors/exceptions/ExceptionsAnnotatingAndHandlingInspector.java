@@ -18,6 +18,7 @@ import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.options.OptionsComponent;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.AnalysisBudget;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.FileSystemUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
@@ -54,6 +55,10 @@ public class ExceptionsAnnotatingAndHandlingInspector extends BasePhpInspection
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, final boolean isOnTheFly) {
+        if (FileSystemUtil.isTestFile(holder.getFile())) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
         return new BasePhpElementVisitor() {
             public void visitPhpFinally(Finally element) {
                 PhpLanguageLevel phpVersion = PhpProjectConfigurationFacade.getInstance(holder.getProject()).getLanguageLevel();
@@ -109,8 +114,9 @@ public class ExceptionsAnnotatingAndHandlingInspector extends BasePhpInspection
                 }
 
                 HashSet<PsiElement> processedRegistry = new HashSet<>();
+                final AnalysisBudget budget           = AnalysisBudget.create();
                 HashMap<PhpClass, HashSet<PsiElement>> throwsExceptions =
-                        CollectPossibleThrowsUtil.collectNestedAndWorkflowExceptions(method, processedRegistry, holder);
+                        CollectPossibleThrowsUtil.collectNestedAndWorkflowExceptions(method, processedRegistry, holder, budget);
                 processedRegistry.clear();
 
 
@@ -127,8 +133,8 @@ public class ExceptionsAnnotatingAndHandlingInspector extends BasePhpInspection
                             annotatedButNotThrownExceptions.remove(annotated);
                         });
 
-                /* do reporting now: exceptions annotated, but not thrown */
-                if (REPORT_NON_THROWN_EXCEPTIONS && annotatedButNotThrownExceptions.size() > 0) {
+                /* do reporting now: exceptions annotated, but not thrown (unless the analysis was incomplete) */
+                if (REPORT_NON_THROWN_EXCEPTIONS && annotatedButNotThrownExceptions.size() > 0 && !budget.isExhausted()) {
                     final List<String> toReport =
                             annotatedButNotThrownExceptions.stream()
                                     .map(PhpNamedElement::getFQN)
@@ -157,12 +163,11 @@ public class ExceptionsAnnotatingAndHandlingInspector extends BasePhpInspection
                                 }
 
                                 /* check thrown parents, as annotated not processed here */
-                                final HashSet<PhpClass> thrownVariants = InterfacesExtractUtil.getCrawlInheritanceTree(thrown, true);
+                                final Set<PhpClass> thrownVariants = InterfacesExtractUtil.getInheritanceClosure(thrown, true);
                                 if (!thrownVariants.contains(annotated)) {
                                     unhandledExceptions.put(thrown, throwsExceptionsPair.getValue());
                                     throwsExceptions.put(thrown, null);
                                 }
-                                thrownVariants.clear();
                             }
                         }
                     } else {
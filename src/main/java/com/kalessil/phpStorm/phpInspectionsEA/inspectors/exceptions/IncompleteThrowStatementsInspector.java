@@ -4,10 +4,14 @@ import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchDependencies;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.DependenciesAwareInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.fixers.UseSuggestedReplacementFixer;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
@@ -16,6 +20,7 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.Set;
 
 /*
@@ -27,7 +32,7 @@ import java.util.Set;
  * file that was distributed with this source code.
  */
 
-public class IncompleteThrowStatementsInspector extends BasePhpInspection {
+public class IncompleteThrowStatementsInspector extends BasePhpInspection implements DependenciesAwareInspection {
     private static final String messageThrow   = "It's probably intended to throw an exception here.";
     private static final String messageSprintf = "It's probably intended to use sprintf here.";
 
@@ -36,6 +41,12 @@ public class IncompleteThrowStatementsInspector extends BasePhpInspection {
         return "IncompleteThrowStatementsInspection";
     }
 
+    @Override
+    @NotNull
+    public Collection<VirtualFile> getDependencies(@NotNull PsiFile file) {
+        return BatchDependencies.ofHierarchies(file);
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, final boolean isOnTheFly) {
@@ -66,14 +77,12 @@ public class IncompleteThrowStatementsInspector extends BasePhpInspection {
             private boolean isExceptionClass(@NotNull ClassReference reference) {
                 final PsiElement resolved = OpenapiResolveUtil.resolveReference(reference);
                 if (resolved instanceof PhpClass) {
-                    final Set<PhpClass> inheritanceChain = InterfacesExtractUtil.getCrawlInheritanceTree((PhpClass) resolved, true);
+                    final Set<PhpClass> inheritanceChain = InterfacesExtractUtil.getInheritanceClosure((PhpClass) resolved, true);
                     for (PhpClass clazz : inheritanceChain) {
                         if (clazz.getFQN().equals("\\Exception")) {
-                            inheritanceChain.clear();
                             return true;
                         }
                     }
-                    inheritanceChain.clear();
                 }
 
                 return false;
@@ -6,9 +6,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.PhpIndex;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimateUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
@@ -108,10 +106,9 @@ public class ForeachSourceInspector extends BasePhpInspection {
                 }
                 /* false-positives: mixed parameter type, parameter overridden before foreach */
                 if (types.size() > 1 && scope instanceof Function && container instanceof Variable) {
-                    final String parameter               = ((Variable) container).getName();
-                    final PhpEntryPointInstruction start = ((Function) scope).getControlFlow().getEntryPoint();
+                    final String parameter = ((Variable) container).getName();
                     final PhpAccessVariableInstruction[] uses
-                            = PhpControlFlowUtil.getFollowingVariableAccessInstructions(start, parameter, false);
+                            = OpenapiControlFlowUtil.getFollowingVariableAccessInstructions((Function) scope, parameter);
                     for (final PhpAccessVariableInstruction instruction : uses) {
                         final PhpPsiElement expression = instruction.getAnchor();
                         /* when matched itself, stop processing */
@@ -198,11 +195,7 @@ public class ForeachSourceInspector extends BasePhpInspection {
                         if (!classes.isEmpty()) {
                             /* collect all interfaces*/
                             for (final PhpClass clazz : classes) {
-                                final Set<PhpClass> interfaces = InterfacesExtractUtil.getCrawlInheritanceTree(clazz, false);
-                                if (!interfaces.isEmpty()) {
-                                    poolToCheck.addAll(interfaces);
-                                    interfaces.clear();
-                                }
+                                poolToCheck.addAll(InterfacesExtractUtil.getInheritanceClosure(clazz, false));
                             }
                             classes.clear();
                         }
@@ -223,7 +223,7 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
 
                             // extract current condition details
                             final Set<PhpClass> clazzParents = resolvedInheritanceChains
-                                .computeIfAbsent(clazz, c -> InterfacesExtractUtil.getCrawlInheritanceTree(c, true));
+                                .computeIfAbsent(clazz, c -> InterfacesExtractUtil.getInheritanceClosure(c, true));
 
                             // inner loop for verification
                             for (Map.Entry<PsiElement, PhpClass> instanceOf2classInner : subjectContainer.entrySet()) {
@@ -249,7 +249,6 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
                     subjectContainer.clear();
                 }
                 // release inheritance cache as well
-                resolvedInheritanceChains.values().forEach(Set::clear);
                 resolvedInheritanceChains.clear();
                 // release mapping as well
                 mappedChecks.clear();
@@ -352,19 +351,23 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
                     }
                 }
 
-                /* scan for duplicates */
-                for (final PsiElement expression : callsExtracted) {
-                    if (null == expression) {
-                        continue;
-                    }
+                /* scan for duplicates: only calls with the same structural hash can be duplicates */
+                for (final List<PsiElement> group : OpeanapiEquivalenceUtil.groupByStructuralHash(callsExtracted).values()) {
+                    for (int index = 0; index < group.size(); ++index) {
+                        final PsiElement expression = group.get(index);
+                        if (null == expression) {
+                            continue;
+                        }
 
-                    /* put a stub */
-                    callsExtracted.set(callsExtracted.indexOf(expression), null);
-                    /* search duplicates in current scope */
-                    for (final PsiElement innerLoopExpression : callsExtracted) {
-                        if (innerLoopExpression != null && OpeanapiEquivalenceUtil.areEqual(innerLoopExpression, expression)) {
-                            holder.registerProblem(innerLoopExpression, messageDuplicateConditionPart);
-                            callsExtracted.set(callsExtracted.indexOf(innerLoopExpression), null);
+                        /* put a stub */
+                        group.set(index, null);
+                        /* search duplicates in current scope: preceding group members are stubbed already */
+                        for (int innerIndex = index + 1; innerIndex < group.size(); ++innerIndex) {
+                            final PsiElement innerLoopExpression = group.get(innerIndex);
+                            if (innerLoopExpression != null && OpeanapiEquivalenceUtil.areEqual(innerLoopExpression, expression)) {
+                                holder.registerProblem(innerLoopExpression, messageDuplicateConditionPart);
+                                group.set(innerIndex, null);
+                            }
                         }
                     }
                 }
@@ -432,71 +435,71 @@ public class NotOptimalIfConditionsInspection extends BasePhpInspection {
                 }
 
 
-                /* scan for duplicates */
-                for (PsiElement objExpression : conditions) {
-                    if (null == objExpression) {
-                        continue;
-                    }
-
-                    /* put a stub */
-                    int intOuterIndex = conditions.indexOf(objExpression);
-                    conditions.set(intOuterIndex, null);
+                /* scan for duplicates: only conditions with the same structural hash can be duplicates */
+                final Map<Integer, List<PsiElement>> parentGroups = OpeanapiEquivalenceUtil.groupByStructuralHash(objParentConditions);
+                for (final Map.Entry<Integer, List<PsiElement>> entry : OpeanapiEquivalenceUtil.groupByStructuralHash(conditions).entrySet()) {
+                    final List<PsiElement> group       = entry.getValue();
+                    final List<PsiElement> parentGroup = parentGroups.get(entry.getKey());
+                    for (int index = 0; index < group.size(); ++index) {
+                        final PsiElement objExpression = group.get(index);
+                        if (null == objExpression) {
+                            continue;
+                        }
 
+                        /* put a stub */
+                        group.set(index, null);
+
+                        /* ignore variables (even if inverted) */
+                        PsiElement variableCandidate = objExpression;
+                        if (variableCandidate instanceof UnaryExpression) {
+                            final PsiElement notOperatorCandidate = ((UnaryExpression) variableCandidate).getOperation();
+                            if (null != notOperatorCandidate && notOperatorCandidate.getNode().getElementType() == PhpTokenTypes.opNOT) {
+                                PsiElement invertedValue = ((UnaryExpression) variableCandidate).getValue();
+                                invertedValue = ExpressionSemanticUtil.getExpressionTroughParenthesis(invertedValue);
+                                if (null == invertedValue) {
+                                    continue;
+                                }
 
-                    /* ignore variables (even if inverted) */
-                    PsiElement variableCandidate = objExpression;
-                    if (variableCandidate instanceof UnaryExpression) {
-                        final PsiElement notOperatorCandidate = ((UnaryExpression) variableCandidate).getOperation();
-                        if (null != notOperatorCandidate && notOperatorCandidate.getNode().getElementType() == PhpTokenTypes.opNOT) {
-                            PsiElement invertedValue = ((UnaryExpression) variableCandidate).getValue();
-                            invertedValue = ExpressionSemanticUtil.getExpressionTroughParenthesis(invertedValue);
-                            if (null == invertedValue) {
-                                continue;
+                                variableCandidate = invertedValue;
                             }
-
-                            variableCandidate = invertedValue;
                         }
-                    }
-                    /* ignore variables (even if compared with booleans) */
-                    if (variableCandidate instanceof BinaryExpression) {
-                        final PsiElement left  = ((BinaryExpression) variableCandidate).getLeftOperand();
-                        final PsiElement right = ((BinaryExpression) variableCandidate).getRightOperand();
-                        if (PhpLanguageUtil.isBoolean(right) || PhpLanguageUtil.isNull(right)) {
-                            variableCandidate = left;
-                        } else if (PhpLanguageUtil.isBoolean(left) || PhpLanguageUtil.isNull(left)) {
-                            variableCandidate = right;
+                        /* ignore variables (even if compared with booleans) */
+                        if (variableCandidate instanceof BinaryExpression) {
+                            final PsiElement left  = ((BinaryExpression) variableCandidate).getLeftOperand();
+                            final PsiElement right = ((BinaryExpression) variableCandidate).getRightOperand();
+                            if (PhpLanguageUtil.isBoolean(right) || PhpLanguageUtil.isNull(right)) {
+                                variableCandidate = left;
+                            } else if (PhpLanguageUtil.isBoolean(left) || PhpLanguageUtil.isNull(left)) {
+                                variableCandidate = right;
+                            }
                         }
-                    }
-                    if (
-                        variableCandidate instanceof Variable ||
-                        variableCandidate instanceof ConstantReference ||
-                        variableCandidate instanceof FieldReference
-                    ) {
-                        continue;
-                    }
-                    /* continue with sensible expressions analysis */
+                        if (
+                            variableCandidate instanceof Variable ||
+                            variableCandidate instanceof ConstantReference ||
+                            variableCandidate instanceof FieldReference
+                        ) {
+                            continue;
+                        }
+                        /* continue with sensible expressions analysis */
 
 
-                    /* search duplicates in current scope */
-                    for (final PsiElement objInnerLoopExpression : conditions) {
-                        if (objInnerLoopExpression != null) {
-                            if (OpeanapiEquivalenceUtil.areEqual(objInnerLoopExpression, objExpression)) {
+                        /* search duplicates in current scope: preceding group members are stubbed already */
+                        for (int innerIndex = index + 1; innerIndex < group.size(); ++innerIndex) {
+                            final PsiElement objInnerLoopExpression = group.get(innerIndex);
+                            if (objInnerLoopExpression != null && OpeanapiEquivalenceUtil.areEqual(objInnerLoopExpression, objExpression)) {
                                 holder.registerProblem(objInnerLoopExpression, messageDuplicateConditions);
-
-                                int intInnerIndex = conditions.indexOf(objInnerLoopExpression);
-                                conditions.set(intInnerIndex, null);
+                                group.set(innerIndex, null);
                             }
                         }
-                    }
-
-                    /* search duplicates in outer scopes */
-                    for (final PsiElement objOuterScopeExpression : objParentConditions) {
-                        if (objOuterScopeExpression != null) {
-                            if (OpeanapiEquivalenceUtil.areEqual(objOuterScopeExpression, objExpression)) {
-                                holder.registerProblem(objExpression, messageDuplicateConditions);
 
-                                int intOuterScopeIndex = objParentConditions.indexOf(objOuterScopeExpression);
-                                objParentConditions.set(intOuterScopeIndex, null);
+                        /* search duplicates in outer scopes */
+                        if (parentGroup != null) {
+                            for (int outerScopeIndex = 0; outerScopeIndex < parentGroup.size(); ++outerScopeIndex) {
+                                final PsiElement objOuterScopeExpression = parentGroup.get(outerScopeIndex);
+                                if (objOuterScopeExpression != null && OpeanapiEquivalenceUtil.areEqual(objOuterScopeExpression, objExpression)) {
+                                    holder.registerProblem(objExpression, messageDuplicateConditions);
+                                    parentGroup.set(outerScopeIndex, null);
+                                }
                             }
                         }
                     }
@@ -15,9 +15,10 @@ import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeFromPsiResolvingUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSet;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashSet;
+import java.util.Set;
 
 public class AdditionOperationOnArraysInspection extends BasePhpInspection {
     private static final String message = "Perhaps array_merge/array_replace can be used instead. Feel free to disable the inspection if '+' is intended.";
@@ -72,7 +73,7 @@ public class AdditionOperationOnArraysInspection extends BasePhpInspection {
                 final PhpIndex index = PhpIndex.getInstance(holder.getProject());
                 final Function scope = ExpressionSemanticUtil.getScope(expression);
 
-                final HashSet<String> typesResolved = new HashSet<>();
+                final Set<String> typesResolved = new TypesSet();
                 TypeFromPsiResolvingUtil.resolveExpressionType(expression, scope, index, typesResolved);
                 if (1 == typesResolved.size() && typesResolved.iterator().next().equals(Types.strArray)) {
                     holder.registerProblem(objOperation, message, ProblemHighlightType.ERROR);
@@ -23,12 +23,16 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -47,6 +51,55 @@ public class PhpUnitTestsInspector extends BasePhpInspection {
     private final static String messageCovers  = "@covers referencing to a non-existing entity";
     private final static String messageTest    = "@test is ambiguous because method name starts with 'test'.";
 
+    /* assert method name => strategies applicable to it, in order of application; the first reporting one wins */
+    private final static Map<String, List<AssertionStrategy>> normalizingStrategies = new HashMap<>();
+    private final static Map<String, List<AssertionStrategy>> strictStrategies      = new HashMap<>();
+    private final static Map<String, List<AssertionStrategy>> enhancingStrategies   = new HashMap<>();
+    static {
+        register(normalizingStrategies, AssertBoolInvertedStrategy::apply,     "assertTrue", "assertFalse");
+        register(normalizingStrategies, AssertBoolOfComparisonStrategy::apply, "assertTrue", "assertNotTrue", "assertFalse", "assertNotFalse");
+
+        register(strictStrategies, AssertSameStrategy::apply,    "assertEquals");
+        register(strictStrategies, AssertNotSameStrategy::apply, "assertNotEquals");
+
+        register(enhancingStrategies, new AssertCountStrategy(),            "assertSame", "assertEquals");
+        register(enhancingStrategies, AssertNotCountStrategy::apply,        "assertNotSame", "assertNotEquals");
+        register(enhancingStrategies, AssertNullStrategy::apply,            "assertSame");
+        register(enhancingStrategies, AssertNotNullStrategy::apply,         "assertNotSame");
+        register(enhancingStrategies, AssertTrueStrategy::apply,            "assertSame");
+        register(enhancingStrategies, AssertNotTrueStrategy::apply,         "assertNotSame");
+        register(enhancingStrategies, AssertFalseStrategy::apply,           "assertSame");
+        register(enhancingStrategies, AssertNotFalseStrategy::apply,        "assertNotSame");
+        register(enhancingStrategies, AssertEmptyStrategy::apply,           "assertTrue", "assertNotFalse");
+        register(enhancingStrategies, AssertNotEmptyStrategy::apply,        "assertFalse", "assertNotTrue");
+        register(enhancingStrategies, AssertInstanceOfStrategy::apply,      "assertTrue", "assertNotFalse");
+        register(enhancingStrategies, AssertNotInstanceOfStrategy::apply,   "assertFalse", "assertNotTrue");
+        register(enhancingStrategies, AssertFileExistsStrategy::apply,      "assertTrue", "assertNotFalse");
+        register(enhancingStrategies, AssertFileNotExistsStrategy::apply,   "assertFalse", "assertNotTrue");
+        register(enhancingStrategies, new AssertStringEqualsFileStrategy(), "assertSame", "assertEquals");
+    }
+
+    private static void register(
+        @NotNull Map<String, List<AssertionStrategy>> table,
+        @NotNull AssertionStrategy strategy,
+        @NotNull String... methodNames
+    ) {
+        for (final String methodName : methodNames) {
+            table.computeIfAbsent(methodName, name -> new ArrayList<>()).add(strategy);
+        }
+    }
+
+    private static boolean applyFirst(@Nullable List<AssertionStrategy> strategies, @NotNull AssertionContext context) {
+        if (strategies != null) {
+            for (final AssertionStrategy strategy : strategies) {
+                if (strategy.apply(context)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @NotNull
     public String getShortName() {
         return "PhpUnitTestsInspection";
@@ -127,57 +180,28 @@ public class PhpUnitTestsInspector extends BasePhpInspection {
 
             public void visitPhpMethodReference(MethodReference reference) {
                 final String methodName = reference.getName();
-                if (StringUtils.isEmpty(methodName) || !methodName.startsWith("assert") || methodName.equals("assert")) {
+                if (methodName == null || !methodName.startsWith("assert")) {
+                    return;
+                }
+                final List<AssertionStrategy> normalizing = normalizingStrategies.get(methodName);
+                final List<AssertionStrategy> strict      = SUGGEST_TO_USE_ASSERTSAME ? strictStrategies.get(methodName) : null;
+                final List<AssertionStrategy> enhancing   = enhancingStrategies.get(methodName);
+                if (normalizing == null && strict == null && enhancing == null) {
                     return;
                 }
 
                 /* strategies injection; TODO: cases with custom messages needs to be handled in each one */
+                final AssertionContext context = new AssertionContext(methodName, reference, holder);
 
                 /* normalize first, no performance tweaks */
-                if (
-                    AssertBoolInvertedStrategy.apply(methodName, reference, holder)     ||
-                    AssertBoolOfComparisonStrategy.apply(methodName, reference, holder)
-                ) {
+                if (applyFirst(normalizing, context)) {
                     return;
                 }
-                if (SUGGEST_TO_USE_ASSERTSAME) {
-                    @SuppressWarnings({"unused", "UnusedAssignment"})
-                    boolean strictAsserts =
-                        AssertSameStrategy.apply(methodName, reference, holder) ||
-                        AssertNotSameStrategy.apply(methodName, reference, holder)
-                    ;
-                }
+                applyFirst(strict, context);
 
                 /* now enhance API usage where possible, tweak performance */
-                if (
-                    (new AssertCountStrategy().apply(methodName, reference, holder)) ||
-                    AssertNotCountStrategy.apply(methodName, reference, holder)      ||
-
-                    AssertNullStrategy.apply(methodName, reference, holder)          ||
-                    AssertNotNullStrategy.apply(methodName, reference, holder)       ||
-
-                    AssertTrueStrategy.apply(methodName, reference, holder)          ||
-                    AssertNotTrueStrategy.apply(methodName, reference, holder)       ||
-
-                    AssertFalseStrategy.apply(methodName, reference, holder)         ||
-                    AssertNotFalseStrategy.apply(methodName, reference, holder)      ||
-
-                    AssertEmptyStrategy.apply(methodName, reference, holder)         ||
-                    AssertNotEmptyStrategy.apply(methodName, reference, holder)      ||
-
-                    AssertInstanceOfStrategy.apply(methodName, reference, holder)    ||
-                    AssertNotInstanceOfStrategy.apply(methodName, reference, holder) ||
-
-                    AssertFileExistsStrategy.apply(methodName, reference, holder)    ||
-                    AssertFileNotExistsStrategy.apply(methodName, reference, holder) ||
-
-                    (new AssertStringEqualsFileStrategy().apply(methodName, reference, holder))
-
-                    // TODO: assertInternalType, assertNotInternalType
-                ) {
-                    //noinspection UnnecessaryReturnStatement - compact performace tweak
-                    return;
-                }
+                // TODO: assertInternalType, assertNotInternalType
+                applyFirst(enhancing, context);
             }
         };
     }
@@ -2,14 +2,11 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
 
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
-import com.intellij.codeInspection.ProblemHighlightType;
-import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.jetbrains.php.lang.psi.elements.UnaryExpression;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import org.jetbrains.annotations.NotNull;
@@ -17,8 +14,9 @@ import org.jetbrains.annotations.NotNull;
 public class AssertBoolInvertedStrategy {
     private final static String messagePattern = "%m% should be used instead.";
 
-    static public boolean apply(@NotNull String function, @NotNull MethodReference reference, @NotNull ProblemsHolder holder) {
-        final PsiElement[] params = reference.getParameters();
+    static public boolean apply(@NotNull AssertionContext context) {
+        final String function     = context.getName();
+        final PsiElement[] params = context.getParameters();
         if (params.length > 0 && (function.equals("assertTrue") || function.equals("assertFalse"))) {
             final PsiElement param = ExpressionSemanticUtil.getExpressionTroughParenthesis(params[0]);
             if (param instanceof UnaryExpression) {
@@ -36,7 +34,7 @@ public class AssertBoolInvertedStrategy {
                 final String message = messagePattern.replace("%m%", replacementMethod);
 
                 final TheLocalFix fixer = new TheLocalFix(replacementMethod, invertedParam);
-                holder.registerProblem(reference, message, ProblemHighlightType.WEAK_WARNING, fixer);
+                context.registerProblem(message, fixer);
 
                 return true;
             }
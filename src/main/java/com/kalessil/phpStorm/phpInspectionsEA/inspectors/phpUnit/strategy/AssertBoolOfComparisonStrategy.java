@@ -2,8 +2,6 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
 
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
-import com.intellij.codeInspection.ProblemHighlightType;
-import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.SmartPointerManager;
@@ -13,7 +11,6 @@ import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.BinaryExpression;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.jetbrains.annotations.NotNull;
@@ -30,8 +27,9 @@ import org.jetbrains.annotations.NotNull;
 public class AssertBoolOfComparisonStrategy {
     private final static String messagePattern = "%m% should be used instead.";
 
-    static public boolean apply(@NotNull String function, @NotNull MethodReference reference, @NotNull ProblemsHolder holder) {
-        final PsiElement[] params = reference.getParameters();
+    static public boolean apply(@NotNull AssertionContext context) {
+        final String function     = context.getName();
+        final PsiElement[] params = context.getParameters();
         if (
             params.length > 0 && (
                 function.equals("assertTrue")  || function.equals("assertNotTrue") ||
@@ -52,7 +50,7 @@ public class AssertBoolOfComparisonStrategy {
                     final String replacementMethod = "assert" +
                         (isMethodInverting == isOperationInverting ? "" : "Not") + (isTypeStrict ? "Same" : "Equals");
                     final String message = messagePattern.replace("%m%", replacementMethod);
-                    holder.registerProblem(reference, message, ProblemHighlightType.WEAK_WARNING, new TheLocalFix(replacementMethod, left, right));
+                    context.registerProblem(message, new TheLocalFix(replacementMethod, left, right));
 
                     return true;
                 }
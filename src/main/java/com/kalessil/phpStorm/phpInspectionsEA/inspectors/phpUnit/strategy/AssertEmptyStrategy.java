@@ -2,13 +2,10 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
 
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
-import com.intellij.codeInspection.ProblemHighlightType;
-import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.jetbrains.php.lang.psi.elements.PhpEmpty;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import org.jetbrains.annotations.NotNull;
@@ -16,8 +13,9 @@ import org.jetbrains.annotations.NotNull;
 public class AssertEmptyStrategy {
     private final static String message = "assertEmpty should be used instead.";
 
-    static public boolean apply(@NotNull String function, @NotNull MethodReference reference, @NotNull ProblemsHolder holder) {
-        final PsiElement[] params = reference.getParameters();
+    static public boolean apply(@NotNull AssertionContext context) {
+        final String function     = context.getName();
+        final PsiElement[] params = context.getParameters();
         if (params.length > 0 && (function.equals("assertTrue") || function.equals("assertNotFalse"))) {
             final PsiElement param = ExpressionSemanticUtil.getExpressionTroughParenthesis(params[0]);
             if (param instanceof PhpEmpty) {
@@ -27,7 +25,7 @@ public class AssertEmptyStrategy {
                 }
 
                 final TheLocalFix fixer = new TheLocalFix(variables[0]);
-                holder.registerProblem(reference, message, ProblemHighlightType.WEAK_WARNING, fixer);
+                context.registerProblem(message, fixer);
 
                 return true;
             }
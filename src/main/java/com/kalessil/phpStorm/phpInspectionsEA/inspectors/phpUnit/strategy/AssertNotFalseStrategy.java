@@ -2,21 +2,19 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
 
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
-import com.intellij.codeInspection.ProblemHighlightType;
-import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpLanguageUtil;
 import org.jetbrains.annotations.NotNull;
 
 public class AssertNotFalseStrategy {
     private final static String message = "assertNotFalse should be used instead.";
 
-    static public boolean apply(@NotNull String function, @NotNull MethodReference reference, @NotNull ProblemsHolder holder) {
-        final PsiElement[] params = reference.getParameters();
+    static public boolean apply(@NotNull AssertionContext context) {
+        final String function     = context.getName();
+        final PsiElement[] params = context.getParameters();
         if (params.length > 1 && function.equals("assertNotSame")) {
             /* analyze parameters which makes the call equal to assertNotFalse */
             final boolean isFirstFalse  = PhpLanguageUtil.isFalse(params[0]);
@@ -25,7 +23,7 @@ public class AssertNotFalseStrategy {
             /* fire assertNotFalse warning when needed */
             if ((isFirstFalse && !isSecondFalse) || (!isFirstFalse && isSecondFalse)) {
                 final TheLocalFix fixer = new TheLocalFix(isFirstFalse ? params[1] : params[0]);
-                holder.registerProblem(reference, message, ProblemHighlightType.WEAK_WARNING, fixer);
+                context.registerProblem(message, fixer);
 
                 return true;
             }
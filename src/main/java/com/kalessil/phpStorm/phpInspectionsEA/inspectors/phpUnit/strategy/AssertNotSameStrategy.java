@@ -2,22 +2,14 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
 
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
-import com.intellij.codeInspection.ProblemHighlightType;
-import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.SmartPointerManager;
 import com.intellij.psi.SmartPsiElementPointer;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
-import com.jetbrains.php.lang.psi.elements.PhpTypedElement;
-import com.jetbrains.php.lang.psi.resolve.types.PhpType;
-import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Set;
-
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -30,18 +22,15 @@ import java.util.Set;
 public class AssertNotSameStrategy {
     private final static String message = "This check is type-unsafe, consider using assertNotSame instead.";
 
-    static public boolean apply(
-        @NotNull String functionName,
-        @NotNull MethodReference reference,
-        @NotNull ProblemsHolder holder
-    ) {
-        final PsiElement[] params = reference.getParameters();
+    static public boolean apply(@NotNull AssertionContext context) {
+        final String functionName = context.getName();
+        final PsiElement[] params = context.getParameters();
         if (
             params.length > 1 && functionName.equals("assertNotEquals") &&
-            isPrimitiveScalar(params[0]) && isPrimitiveScalar(params[1])
+            context.isPrimitiveScalar(0) && context.isPrimitiveScalar(1)
         ) {
             final TheLocalFix fixer = new TheLocalFix(params[0], params[1]);
-            holder.registerProblem(reference, message, ProblemHighlightType.WEAK_WARNING, fixer);
+            context.registerProblem(message, fixer);
 
             return true;
         }
@@ -49,26 +38,6 @@ public class AssertNotSameStrategy {
         return false;
     }
 
-    static private boolean isPrimitiveScalar(@NotNull PsiElement expression) {
-        boolean result = false;
-        if (expression instanceof PhpTypedElement) {
-            final PhpType resolvedType = ((PhpTypedElement) expression).getType().global(expression.getProject());
-            final Set<String> types    = resolvedType.getTypes();
-            if (!resolvedType.hasUnknown() && !types.isEmpty()) {
-                boolean isPrimitive = true;
-                for (final String type : types) {
-                    final String normalizedType = Types.getType(type);
-                    if (normalizedType.startsWith("\\") || normalizedType.equals(Types.strArray)) {
-                        isPrimitive = false;
-                        break;
-                    }
-                }
-                result = isPrimitive;
-            }
-        }
-        return result;
-    }
-
     private static class TheLocalFix implements LocalQuickFix {
         final private SmartPsiElementPointer<PsiElement> first;
         final private SmartPsiElementPointer<PsiElement> second;
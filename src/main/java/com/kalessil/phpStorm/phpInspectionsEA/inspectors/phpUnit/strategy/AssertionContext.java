@@ -0,0 +1,97 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
+
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiElement;
+import com.jetbrains.php.lang.psi.elements.MethodReference;
+import com.jetbrains.php.lang.psi.elements.PhpTypedElement;
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* an assert call being inspected: strategies are sharing arguments and their resolved types */
+final public class AssertionContext {
+    @NotNull
+    final private String name;
+    @NotNull
+    final private MethodReference reference;
+    @NotNull
+    final private ProblemsHolder holder;
+    @NotNull
+    final private PsiElement[] parameters;
+    @Nullable
+    private PhpType[] types;
+
+    public AssertionContext(@NotNull String name, @NotNull MethodReference reference, @NotNull ProblemsHolder holder) {
+        this.name       = name;
+        this.reference  = reference;
+        this.holder     = holder;
+        this.parameters = reference.getParameters();
+    }
+
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    @NotNull
+    public MethodReference getReference() {
+        return this.reference;
+    }
+
+    @NotNull
+    public PsiElement[] getParameters() {
+        return this.parameters;
+    }
+
+    /* the global type of an argument, resolved once per call */
+    @Nullable
+    public PhpType getType(int index) {
+        if (index < 0 || index >= this.parameters.length) {
+            return null;
+        }
+        if (this.types == null) {
+            this.types = new PhpType[this.parameters.length];
+        }
+        final PsiElement argument = this.parameters[index];
+        if (this.types[index] == null && argument instanceof PhpTypedElement) {
+            this.types[index] = ((PhpTypedElement) argument).getType().global(argument.getProject());
+        }
+        return this.types[index];
+    }
+
+    /* resolved to scalar types and null only: no classes, no arrays */
+    public boolean isPrimitiveScalar(int index) {
+        final PhpType resolvedType = this.getType(index);
+        if (resolvedType != null && !resolvedType.hasUnknown()) {
+            final Set<String> types = resolvedType.getTypes();
+            if (!types.isEmpty()) {
+                for (final String type : types) {
+                    final String normalizedType = Types.getType(type);
+                    if (normalizedType.startsWith("\\") || normalizedType.equals(Types.strArray)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void registerProblem(@NotNull String message, @NotNull LocalQuickFix fixer) {
+        this.holder.registerProblem(this.reference, message, ProblemHighlightType.WEAK_WARNING, fixer);
+    }
+}
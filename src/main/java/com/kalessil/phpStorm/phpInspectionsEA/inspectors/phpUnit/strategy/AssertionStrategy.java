@@ -0,0 +1,18 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
+
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+@FunctionalInterface
+public interface AssertionStrategy {
+    /* true if a problem was reported and no further strategies should be applied */
+    boolean apply(@NotNull AssertionContext context);
+}
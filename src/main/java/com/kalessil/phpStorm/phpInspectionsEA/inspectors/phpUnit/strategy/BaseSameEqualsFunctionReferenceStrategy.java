@@ -2,20 +2,17 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.strategy;
 
 import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemDescriptor;
-import com.intellij.codeInspection.ProblemHighlightType;
-import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.SmartPointerManager;
 import com.intellij.psi.SmartPsiElementPointer;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
-import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
-abstract class BaseSameEqualsFunctionReferenceStrategy {
+abstract class BaseSameEqualsFunctionReferenceStrategy implements AssertionStrategy {
     @NotNull
     abstract protected String getRecommendedAssertionName();
 
@@ -24,8 +21,10 @@ abstract class BaseSameEqualsFunctionReferenceStrategy {
 
     abstract protected boolean isTargetFunctionProcessesGivenValue();
 
-    final public boolean apply(@NotNull String function, @NotNull MethodReference reference, @NotNull ProblemsHolder holder) {
-        final PsiElement[] params = reference.getParameters();
+    @Override
+    final public boolean apply(@NotNull AssertionContext context) {
+        final String function     = context.getName();
+        final PsiElement[] params = context.getParameters();
         if (params.length < 2 || (!function.equals("assertSame") && !function.equals("assertEquals"))) {
             return false;
         }
@@ -61,7 +60,7 @@ abstract class BaseSameEqualsFunctionReferenceStrategy {
             );
 
             final String message = replacement + " should be used instead.";
-            holder.registerProblem(reference, message, ProblemHighlightType.WEAK_WARNING, fixer);
+            context.registerProblem(message, fixer);
 
             return true;
         }
@@ -8,22 +8,20 @@ import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.apiUsage.FunctionCallCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.apiUsage.PlainApiUseCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.classesStrategy.ShortClassDefinitionStrategy;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.CatastrophicBacktrackingCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.GreedyCharactersSetCheckStrategy;
-import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy.QuantifierCompoundsQuantifierCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.modifiersStrategy.*;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.AmbiguousAnythingTrimCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.SequentialClassesCollapseCheckStrategy;
 import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.optimizeStrategy.UnnecessaryCaseManipulationCheckStrategy;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
-import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
 
@@ -43,13 +41,6 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
         functions.add("preg_split");
     }
 
-    final static private Pattern regexWithModifiers;
-    final static private Pattern regexWithModifiersCurvy;
-    static {
-        regexWithModifiers      = Pattern.compile("^([^\\{])(.*)\\1([a-zA-Z]+)?$");
-        regexWithModifiersCurvy = Pattern.compile("^\\{(.*)\\}([a-zA-Z]+)?$");
-    }
-
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
@@ -72,27 +63,19 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                     return;
                 }
 
-                final String regex = pattern.getContents();
-                if (!StringUtils.isEmpty(regex) && pattern.getFirstPsiChild() == null) {
-                    Matcher regexMatcher = regexWithModifiers.matcher(regex);
-                    if (regexMatcher.find()) {
-                        final String phpRegexPattern   = regexMatcher.group(2);
-                        final String phpRegexModifiers = regexMatcher.group(3);
-                        this.checkCall(functionName, reference, pattern, phpRegexPattern, phpRegexModifiers);
-                        return;
-                    }
-
-                    regexMatcher = regexWithModifiersCurvy.matcher(regex);
-                    if (regexMatcher.find()) {
-                        final String phpRegexPattern   = regexMatcher.group(1);
-                        final String phpRegexModifiers = regexMatcher.group(2);
-                        this.checkCall(functionName, reference, pattern, phpRegexPattern, phpRegexModifiers);
-                        // return;
+                final String contents = pattern.getContents();
+                if (!contents.isEmpty() && pattern.getFirstPsiChild() == null) {
+                    /* parsed once per distinct pattern, shared by all call sites and all strategies */
+                    final ParsedRegex regex = ParsedRegex.of(contents);
+                    if (regex != null) {
+                        this.checkCall(functionName, reference, pattern, regex);
                     }
                 }
             }
 
-            private void checkCall (String functionName, FunctionReference reference, StringLiteralExpression target, String regex, String modifiers) {
+            private void checkCall(String functionName, FunctionReference reference, StringLiteralExpression target, ParsedRegex regex) {
+                final String modifiers = regex.getModifiers();
+
                 /* Modifiers validity (done):
                  * + /no-az-chars/i => /no-az-chars/
                  * + /no-dot-char/s => /no-dot-char/
@@ -103,21 +86,25 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  */
                 DeprecatedModifiersCheckStrategy.apply(modifiers, target, holder);
                 AllowedModifierCheckStrategy.apply(modifiers, target, holder);
-                // UselessMultiLineModifierStrategy.apply(modifiers, regex, target, holder); -- we can not analyse if string has new lines
-                UselessDollarEndOnlyModifierStrategy.apply(modifiers, regex, target, holder);
-                UselessDotAllModifierCheckStrategy.apply(modifiers, regex, target, holder);
-                UselessIgnoreCaseModifierCheckStrategy.apply(modifiers, regex, target, holder);
+                // UselessMultiLineModifierStrategy.apply(regex, target, holder); -- we can not analyse if string has new lines
+                UselessDollarEndOnlyModifierStrategy.apply(regex, target, holder);
+                UselessDotAllModifierCheckStrategy.apply(regex, target, holder);
+                UselessIgnoreCaseModifierCheckStrategy.apply(regex, target, holder);
 
                 /* Plain API simplification (done):
-                 * + /^text/ => 0 === strpos(...) (match)
+                 * + /^text/ => 0 === strncmp(...) (match)
+                 * + /text$/ => 0 === substr_compare(...) (match)
+                 * + /^text$/ => "text" === ... (match)
                  * + /text/ => false !== strpos(...) (match) / str_replace (replace)
-                 * + /^text/i => 0 === stripos(...) (match)
+                 * + /text|other/ => str_replace([...], ...) (replace)
+                 * + /^text/i => 0 === strncasecmp(...) (match)
                  * + /text/i => false !== stripos(...) (match) / str_ireplace (replace)
+                 * + /^[chars]+$/ => strspn(...), ctype_digit(...), ctype_xdigit(...) (match)
                  * + preg_quote => warning if second argument is not presented
                  * + preg_match_all without match argument preg_match
                  */
                 FunctionCallCheckStrategy.apply(functionName, reference, holder);
-                PlainApiUseCheckStrategy.apply(functionName, reference, modifiers, regex, holder);
+                PlainApiUseCheckStrategy.apply(functionName, reference, regex, holder);
 
                 /* Classes shortening (done):
                  * + [0-9] => \d
@@ -127,7 +114,7 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  * + [^\w] => \W
                  * + [^\s] => \S
                  */
-                ShortClassDefinitionStrategy.apply(modifiers, regex, target, holder);
+                ShortClassDefinitionStrategy.apply(regex, target, holder);
 
                 /* Optimizations:
                  * (...) => (?:...) (if there is no back-reference)
@@ -145,17 +132,17 @@ public class NotOptimalRegularExpressionsInspector extends BasePhpInspection {
                  */
                 SequentialClassesCollapseCheckStrategy.apply(regex, target, holder);
                 AmbiguousAnythingTrimCheckStrategy.apply(functionName, reference, regex, target, holder);
-                //NonGreedyTransformCheckStrategy.apply(regex, target, holder);
+                //NonGreedyTransformCheckStrategy.apply(regex.getPattern(), target, holder);
                 GreedyCharactersSetCheckStrategy.apply(regex, target, holder);
-                QuantifierCompoundsQuantifierCheckStrategy.apply(regex, target, holder);
+                CatastrophicBacktrackingCheckStrategy.apply(regex, target, holder);
 
                 /*
                  * Probably bugs:
                  *  - nested tags check without /s
                  *  - unicode characters without /u
                  */
-                MissingDotAllCheckStrategy.apply(modifiers, regex, target, holder);
-                MissingUnicodeModifierStrategy.apply(modifiers, regex, target, holder);
+                MissingDotAllCheckStrategy.apply(regex, target, holder);
+                MissingUnicodeModifierStrategy.apply(regex, target, holder);
 
                 /* source checks */
                 UnnecessaryCaseManipulationCheckStrategy.apply(functionName, reference, modifiers, holder);
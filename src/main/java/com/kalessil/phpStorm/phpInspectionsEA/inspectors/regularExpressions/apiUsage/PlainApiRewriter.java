@@ -0,0 +1,564 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.apiUsage;
+
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.psi.PsiElement;
+import com.jetbrains.php.lang.psi.elements.ArrayAccessExpression;
+import com.jetbrains.php.lang.psi.elements.BinaryExpression;
+import com.jetbrains.php.lang.psi.elements.FieldReference;
+import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.jetbrains.php.lang.psi.elements.PhpTypedElement;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.jetbrains.php.lang.psi.elements.TernaryExpression;
+import com.jetbrains.php.lang.psi.elements.UnaryExpression;
+import com.jetbrains.php.lang.psi.elements.Variable;
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import com.kalessil.phpStorm.phpInspectionsEA.fixers.UseSuggestedReplacementFixer;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* rewrites preg_* calls with patterns having no real regex features into string functions */
+final class PlainApiRewriter {
+    /* longer masks (e.g. alphabets) are not worth replacing a pattern, hex digits in both cases are the limit */
+    private static final int maxMaskLength = 22;
+
+    /* no speedup classes: the gain is in PHP runtime, which the plugin benchmarks (JVM side) can not measure */
+    static final class Rewrite {
+        final String replacement;
+        final LocalQuickFix fixer;
+        /* $ and \Z without /D are also matching before a trailing new line, the replacement does not */
+        final boolean rejectsTrailingNewLine;
+
+        private Rewrite(@NotNull String replacement, @NotNull Function<String, LocalQuickFix> fixer) {
+            this(replacement, false, fixer);
+        }
+
+        private Rewrite(@NotNull String replacement, boolean rejectsTrailingNewLine, @NotNull Function<String, LocalQuickFix> fixer) {
+            this.replacement            = replacement;
+            this.fixer                  = fixer.apply(replacement);
+            this.rejectsTrailingNewLine = rejectsTrailingNewLine;
+        }
+    }
+
+    /* a fixed string as a double-quoted PHP literal */
+    private static final class Literal {
+        final String php;
+        final String text;
+        final int length;
+
+        private Literal(@NotNull String php, @NotNull String text, int length) {
+            this.php    = php;
+            this.text   = text;
+            this.length = length;
+        }
+    }
+
+    @Nullable
+    static Rewrite rewrite(@NotNull String functionName, @NotNull FunctionReference reference, @NotNull ParsedRegex regex) {
+        final String modifiers    = regex.getModifiers() == null ? "" : regex.getModifiers();
+        final PsiElement[] params = reference.getParameters();
+        if (regex.getPattern().isEmpty() || !StringUtils.containsOnly(modifiers, "imsuxADSUXJ")) {
+            return null;
+        }
+
+        Rewrite result = null;
+        if (params.length == 2 && functionName.equals("preg_match")) {
+            result = rewriteMatch(reference, params[1], regex);
+        } else if (params.length == 3 && functionName.equals("preg_replace")) {
+            result = rewriteReplace(params, regex);
+        } else if ((params.length == 2 || params.length == 3) && functionName.equals("preg_split") && modifiers.isEmpty()) {
+            result = rewriteSplit(params, regex);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static Rewrite rewriteMatch(@NotNull FunctionReference reference, @NotNull PsiElement subject, @NotNull ParsedRegex regex) {
+        final List<RegexNode> items = regex.getSequence();
+        if (items == null || items.isEmpty()) {
+            return null;
+        }
+        /* with /m, ^ and $ are not anchors, they remain in the body and prevent rewriting */
+        final boolean multiLine    = regex.hasModifier('m');
+        final int from             = isStartAnchor(items.get(0), multiLine) ? 1 : 0;
+        final boolean startsWith   = from > 0 || regex.hasModifier('A');
+        final boolean endsWith     = items.size() > from && isEndAnchor(items.get(items.size() - 1), multiLine);
+        final List<RegexNode> body = items.subList(from, items.size() - (endsWith ? 1 : 0));
+        final boolean loose        = endsWith && isLooseEndAnchor(items.get(items.size() - 1), regex);
+
+        final boolean ignoreCase = regex.hasModifier('i');
+        final String target      = subject.getText();
+        final Literal literal    = getLiteral(regex, body);
+        if (literal != null) {
+            if (startsWith && endsWith) {
+                // int strcasecmp ( string $str1 , string $str2 )
+                return ignoreCase
+                    ? new Rewrite(operand(reference, String.format("0 === strcasecmp(%s, %s)", target, literal.php)), loose, UseStringComparisonFix::new)
+                    : new Rewrite(operand(reference, String.format("%s === %s", literal.php, target)), loose, UseStringComparisonFix::new);
+            } else if (literal.length == 0) {
+                return null;
+            } else if (startsWith) {
+                // int strncmp ( string $str1 , string $str2 , int $len )
+                final String function = ignoreCase ? "strncasecmp" : "strncmp";
+                return new Rewrite(operand(reference, String.format("0 === %s(%s, %s, %d)", function, target, literal.php, literal.length)), UseStringComparisonFix::new);
+            } else if (endsWith) {
+                // int substr_compare ( string $main_str , string $str , int $offset [, int $length [, bool $case_insensitivity = FALSE ]] )
+                final String arguments = ignoreCase ? String.format(", %d, true", literal.length) : "";
+                return new Rewrite(operand(reference, String.format("0 === substr_compare(%s, %s, -%d%s)", target, literal.php, literal.length, arguments)), loose, UseStringComparisonFix::new);
+            } else {
+                // mixed strpos ( string $haystack , mixed $needle [, int $offset = 0 ] )
+                final String function = ignoreCase ? "stripos" : "strpos";
+                return new Rewrite(operand(reference, String.format("false !== %s(%s, %s)", function, target, literal.php)), UseStringPositionFix::new);
+            }
+        }
+
+        /* character sets: the subject is used twice, so it has to be a plain variable or property */
+        if (body.size() == 1 && isReusable(subject)) {
+            final RegexNode item     = body.get(0);
+            final boolean isRepeated = item.is(RegexNode.Kind.QUANTIFIED) && item.getMax() == -1 && item.getMin() <= 1;
+            final RegexNode set      = isRepeated ? item.getOperand() : item;
+            final BitSet characters  = set == null ? null : getCharacters(regex, set);
+            if (characters != null && !characters.isEmpty() && characters.cardinality() <= maxMaskLength) {
+                final boolean negated = set.is(RegexNode.Kind.CLASS) && set.isNegated();
+                final String function = negated ? "strcspn" : "strspn";
+                final String list     = render(characters);
+                if (startsWith && endsWith && isRepeated) {
+                    if (item.getMin() == 0) {
+                        // int strspn ( string $subject , string $mask [, int $start [, int $length ]] )
+                        return new Rewrite(operand(reference, String.format("strlen(%s) === %s(%s, %s)", target, function, target, list)), loose, UseCharactersSpanFix::new);
+                    }
+                    /* ctype_digit and ctype_xdigit are locale-independent, but treat integers as ASCII codes */
+                    final String ctype = negated || !isString(subject) ? null : getCtypeFunction(characters);
+                    if (ctype != null) {
+                        return new Rewrite(String.format("%s(%s)", ctype, target), loose, UseCharactersSpanFix::new);
+                    }
+                    final String comparison = String.format("'' !== %s && strlen(%s) === %s(%s, %s)", target, target, function, target, list);
+                    return new Rewrite(operand(reference, comparison), loose, UseCharactersSpanFix::new);
+                } else if (!startsWith && !endsWith && (!isRepeated || item.getMin() == 1)) {
+                    /* any of the characters is present */
+                    final String opposite = negated ? "strspn" : "strcspn";
+                    return new Rewrite(operand(reference, String.format("strlen(%s) !== %s(%s, %s)", target, opposite, target, list)), UseCharactersSpanFix::new);
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Rewrite rewriteReplace(@NotNull PsiElement[] params, @NotNull ParsedRegex regex) {
+        /* the /A modifier anchors every match at the previous one */
+        if (regex.hasModifier('A')) {
+            return null;
+        }
+        final boolean ignoreCase = regex.hasModifier('i');
+        final String function    = ignoreCase ? "str_ireplace" : "str_replace";
+        /* $n and \n back-references in the replacement are not supported by str_replace */
+        final PsiElement replacement = params[1];
+        if (replacement instanceof StringLiteralExpression) {
+            final String contents = ((StringLiteralExpression) replacement).getContents();
+            if (contents.indexOf('$') != -1 || contents.indexOf('\\') != -1) {
+                return null;
+            }
+        }
+
+        final List<Literal> literals = new ArrayList<>();
+        for (final RegexNode branch : regex.getRoot().getChildren()) {
+            final Literal literal = getLiteral(regex, branch.getChildren());
+            if (literal == null || literal.length == 0) {
+                return literals.isEmpty() ? getTrimRewrite(params, regex) : null;
+            }
+            literals.add(literal);
+        }
+
+        if (literals.size() == 1) {
+            // mixed str_replace ( mixed $search , mixed $replace , mixed $subject [, int &$count ] )
+            final String search = literals.get(0).php;
+            return new Rewrite(String.format("%s(%s, %s, %s)", function, search, replacement.getText(), params[2].getText()), UseStringReplaceFix::new);
+        }
+        /* str_replace processes the array sequentially, it's equivalent only if replacements can not create new matches */
+        if (!(replacement instanceof StringLiteralExpression)) {
+            return null;
+        }
+        final String inserted = ((StringLiteralExpression) replacement).getContents();
+        if (inserted.isEmpty() || ((StringLiteralExpression) replacement).getFirstPsiChild() != null || hasOverlaps(literals, inserted, ignoreCase)) {
+            return null;
+        }
+        final String search = literals.stream().map(literal -> literal.php).collect(Collectors.joining(", ", "[", "]"));
+        return new Rewrite(String.format("%s(%s, %s, %s)", function, search, replacement.getText(), params[2].getText()), UseStringReplaceFix::new);
+    }
+
+    @Nullable
+    private static Rewrite getTrimRewrite(@NotNull PsiElement[] params, @NotNull ParsedRegex regex) {
+        if (!(params[1] instanceof StringLiteralExpression) || params[1].getText().length() != 2) {
+            return null;
+        }
+        final String characterToTrim = getTrimmedCharacter(regex);
+        /* false-positives: the `m` modifier make the replacement impossible */
+        if (characterToTrim == null || regex.hasModifier('m')) {
+            return null;
+        }
+
+        // mixed preg_replace ( mixed $pattern , mixed $replacement , mixed $subject [, int $limit = -1 [, int &$count ]] )
+        String function = "trim";
+        if (!regex.getPattern().startsWith("^")) {
+            function = "rtrim";
+        } else if (!regex.getPattern().endsWith("$")) {
+            function = "ltrim";
+        }
+        final String replacement = "%f%(%s%, '%p%')"
+            .replace(", '%p%'", characterToTrim.equals("\\s") ? "" : ", '%p%'")
+            .replace("%p%", characterToTrim)
+            .replace("%s%", params[2].getText())
+            .replace("%f%", function);
+        return new Rewrite(replacement, UseTrimFix::new);
+    }
+
+    @Nullable
+    private static Rewrite rewriteSplit(@NotNull PsiElement[] params, @NotNull ParsedRegex regex) {
+        final List<RegexNode> items = regex.getSequence();
+        if (items == null) {
+            return null;
+        }
+        /* plain characters, or a single character set like [,] */
+        List<RegexNode> separator = items;
+        if (items.size() == 1 && items.get(0).is(RegexNode.Kind.CLASS) && !items.get(0).isNegated()) {
+            separator = items.get(0).getChildren().size() == 1 ? items.get(0).getChildren() : null;
+        }
+        final Literal literal = separator == null ? null : getLiteral(regex, separator);
+        if (literal == null || literal.length == 0) {
+            return null;
+        }
+        // array explode ( string $delimiter , string $string [, int $limit = PHP_INT_MAX ] )
+        final String replacement = "explode(%p%, %s%%l%)"
+            .replace("%l%", params.length > 2 ? ", " + params[2].getText() : "")
+            .replace("%s%", params[1].getText())
+            .replace("%p%", literal.php);
+        return new Rewrite(replacement, UseExplodeFix::new);
+    }
+
+    /* the fixer replaces the call only, so comparisons used as operands are parenthesized to keep precedence */
+    @NotNull
+    private static String operand(@NotNull FunctionReference reference, @NotNull String comparison) {
+        final PsiElement parent = reference.getParent();
+        final boolean isOperand = parent instanceof UnaryExpression || parent instanceof BinaryExpression || parent instanceof TernaryExpression;
+        return isOperand ? '(' + comparison + ')' : comparison;
+    }
+
+    private static boolean isLooseEndAnchor(@NotNull RegexNode item, @NotNull ParsedRegex regex) {
+        return item.is(RegexNode.Kind.LINE_END) ? !regex.hasModifier('D') : item.getEscape() == 'Z';
+    }
+
+    private static boolean isStartAnchor(@NotNull RegexNode item, boolean multiLine) {
+        return (item.is(RegexNode.Kind.LINE_START) && !multiLine) || (item.is(RegexNode.Kind.ESCAPE) && item.getEscape() == 'A');
+    }
+
+    private static boolean isEndAnchor(@NotNull RegexNode item, boolean multiLine) {
+        return (item.is(RegexNode.Kind.LINE_END) && !multiLine) ||
+               (item.is(RegexNode.Kind.ESCAPE) && (item.getEscape() == 'z' || item.getEscape() == 'Z'));
+    }
+
+    /* characters only, including escaped ones; null when anything else is in the sequence */
+    @Nullable
+    private static Literal getLiteral(@NotNull ParsedRegex regex, @NotNull List<RegexNode> items) {
+        final boolean unicode    = regex.hasModifier('u');
+        final boolean ignoreCase = regex.hasModifier('i');
+        final StringBuilder php  = new StringBuilder("\"");
+        final StringBuilder text = new StringBuilder();
+        int length               = 0;
+        for (final RegexNode item : items) {
+            final int codepoint = item.getCodepoint();
+            /* patterns are analyzed as written in PHP sources, so backslashes are ambiguous there */
+            if (!item.is(RegexNode.Kind.LITERAL) || !Character.isValidCodePoint(codepoint) || codepoint == '\\') {
+                return null;
+            }
+            if (codepoint < 128) {
+                php.append(escape(codepoint));
+                length += 1;
+            } else if (ignoreCase && Character.isLetter(codepoint)) {
+                /* case-insensitive matching of non-ASCII characters differs from stripos and friends */
+                return null;
+            } else if (item.isEscaped() && !unicode) {
+                /* \xHH without /u is a byte */
+                if (codepoint > 0xFF) {
+                    return null;
+                }
+                php.append(String.format("\\x%02X", codepoint));
+                length += 1;
+            } else {
+                final String character = new String(Character.toChars(codepoint));
+                php.append(item.isEscaped() ? String.format("\\u{%X}", codepoint) : character);
+                length += character.getBytes(StandardCharsets.UTF_8).length;
+            }
+            text.appendCodePoint(codepoint);
+        }
+        return new Literal(php.append('"').toString(), text.toString(), length);
+    }
+
+    /* ASCII characters matched by a character, a shorthand or a class; null if it's not a plain ASCII set */
+    @Nullable
+    private static BitSet getCharacters(@NotNull ParsedRegex regex, @NotNull RegexNode set) {
+        final BitSet result = new BitSet(128);
+        final List<RegexNode> members = set.is(RegexNode.Kind.CLASS) ? set.getChildren() : Collections.singletonList(set);
+        for (final RegexNode member : members) {
+            if (member.is(RegexNode.Kind.LITERAL) && member.getCodepoint() >= 0 && member.getCodepoint() < 128 && member.getCodepoint() != '\\') {
+                result.set(member.getCodepoint());
+            } else if (member.is(RegexNode.Kind.RANGE) && member.getChildren().size() == 2) {
+                final int from = member.getChildren().get(0).getCodepoint();
+                final int to   = member.getChildren().get(1).getCodepoint();
+                if (from < 0 || to >= 128 || from > to) {
+                    return null;
+                }
+                result.set(from, to + 1);
+            } else if (member.is(RegexNode.Kind.ESCAPE) && !regex.hasModifier('u') && "dwsh".indexOf(member.getEscape()) != -1) {
+                /* with /u, shorthands are matching unicode characters as well */
+                switch (member.getEscape()) {
+                    case 'd': result.set('0', '9' + 1); break;
+                    case 'w': result.set('0', '9' + 1); result.set('A', 'Z' + 1); result.set('a', 'z' + 1); result.set('_'); break;
+                    case 's': result.set('\t', '\r' + 1); result.set(' '); break;
+                    case 'h': result.set('\t'); result.set(' '); break;
+                }
+            } else if (member.is(RegexNode.Kind.POSIX_CLASS) && !regex.hasModifier('u') && member.getName() != null) {
+                for (int character = 0; character < 128; ++character) {
+                    if (isPosixMember(member.getName(), character)) {
+                        result.set(character);
+                    }
+                }
+            } else {
+                return null;
+            }
+        }
+        if (regex.hasModifier('i')) {
+            for (int character = result.nextSetBit(0); character >= 0; character = result.nextSetBit(character + 1)) {
+                result.set(Character.toLowerCase(character));
+                result.set(Character.toUpperCase(character));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isPosixMember(@NotNull String name, int character) {
+        switch (name) {
+            case "alpha":  return Character.isLetter(character);
+            case "digit":  return Character.isDigit(character);
+            case "alnum":  return Character.isLetterOrDigit(character);
+            case "word":   return Character.isLetterOrDigit(character) || character == '_';
+            case "upper":  return Character.isUpperCase(character);
+            case "lower":  return Character.isLowerCase(character);
+            case "xdigit": return Character.digit(character, 16) != -1;
+            case "space":  return (character >= '\t' && character <= '\r') || character == ' ';
+            case "blank":  return character == '\t' || character == ' ';
+            case "punct":  return character > ' ' && character < 127 && !Character.isLetterOrDigit(character);
+            default:       return false;
+        }
+    }
+
+    @Nullable
+    private static String getCtypeFunction(@NotNull BitSet characters) {
+        final BitSet digits = new BitSet();
+        digits.set('0', '9' + 1);
+        if (characters.equals(digits)) {
+            return "ctype_digit";
+        }
+        digits.set('A', 'F' + 1);
+        digits.set('a', 'f' + 1);
+        return characters.equals(digits) ? "ctype_xdigit" : null;
+    }
+
+    private static boolean isReusable(@NotNull PsiElement subject) {
+        final boolean isReference = subject instanceof Variable || subject instanceof FieldReference || subject instanceof ArrayAccessExpression;
+        return isReference && !subject.getText().contains("(");
+    }
+
+    private static boolean isString(@NotNull PsiElement subject) {
+        if (subject instanceof PhpTypedElement) {
+            final PhpType type = OpenapiResolveUtil.resolveType((PhpTypedElement) subject, subject.getProject());
+            return type != null && !type.hasUnknown() && !type.isEmpty() &&
+                   type.getTypes().stream().map(Types::getType).allMatch(Types.strString::equals);
+        }
+        return false;
+    }
+
+    /* no search string can match inside another one or across a replaced fragment */
+    private static boolean hasOverlaps(@NotNull List<Literal> literals, @NotNull String inserted, boolean ignoreCase) {
+        final List<String> texts = literals.stream()
+                .map(literal -> ignoreCase ? literal.text.toLowerCase() : literal.text)
+                .collect(Collectors.toList());
+        final String replacement = ignoreCase ? inserted.toLowerCase() : inserted;
+        for (int index = 0; index < texts.size(); ++index) {
+            final String text = texts.get(index);
+            if (text.chars().anyMatch(character -> replacement.indexOf(character) != -1)) {
+                return true;
+            }
+            for (int otherIndex = 0; otherIndex < texts.size(); ++otherIndex) {
+                final String other = texts.get(otherIndex);
+                if (index != otherIndex) {
+                    if (text.contains(other)) {
+                        return true;
+                    }
+                    for (int length = 1; length < Math.min(text.length(), other.length()); ++length) {
+                        if (text.endsWith(other.substring(0, length))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private static String render(@NotNull BitSet characters) {
+        final StringBuilder result = new StringBuilder("\"");
+        for (int character = characters.nextSetBit(0); character >= 0; character = characters.nextSetBit(character + 1)) {
+            result.append(escape(character));
+        }
+        return result.append('"').toString();
+    }
+
+    @NotNull
+    private static String escape(int character) {
+        switch (character) {
+            case '\\': return "\\\\";
+            case '"':  return "\\\"";
+            case '$':  return "\\$";
+            case '\n': return "\\n";
+            case '\r': return "\\r";
+            case '\t': return "\\t";
+            default:
+                return character < 0x20 || character == 0x7F ? String.format("\\x%02X", character) : String.valueOf((char) character);
+        }
+    }
+
+    /* ^X+, X+$ or ^X+|X+$ where X is a character or \s, quantifiers are + or * */
+    @Nullable
+    private static String getTrimmedCharacter(@NotNull ParsedRegex regex) {
+        final List<RegexNode> branches = regex.getRoot().getChildren();
+        if (branches.size() == 1) {
+            final List<RegexNode> items = branches.get(0).getChildren();
+            if (items.size() == 2 && items.get(0).is(RegexNode.Kind.LINE_START)) {
+                return getRepeatedCharacter(items.get(1));
+            }
+            if (items.size() == 2 && items.get(1).is(RegexNode.Kind.LINE_END)) {
+                return getRepeatedCharacter(items.get(0));
+            }
+        } else if (branches.size() == 2) {
+            final List<RegexNode> leading  = branches.get(0).getChildren();
+            final List<RegexNode> trailing = branches.get(1).getChildren();
+            if (
+                leading.size() == 2 && leading.get(0).is(RegexNode.Kind.LINE_START) &&
+                trailing.size() == 2 && trailing.get(1).is(RegexNode.Kind.LINE_END)
+            ) {
+                final String character = getRepeatedCharacter(leading.get(1));
+                return character != null && character.equals(getRepeatedCharacter(trailing.get(0))) ? character : null;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String getRepeatedCharacter(@NotNull RegexNode item) {
+        if (item.is(RegexNode.Kind.QUANTIFIED) && !item.isLazy() && !item.isPossessive()) {
+            final String quantifier = item.getQuantifier();
+            final RegexNode operand = item.getOperand();
+            if ((quantifier.equals("+") || quantifier.equals("*")) && operand != null) {
+                final boolean isCharacter = operand.is(RegexNode.Kind.LITERAL) && !operand.isEscaped() && operand.getCodepoint() != '\'';
+                final boolean isSpace     = operand.is(RegexNode.Kind.ESCAPE) && operand.getEscape() == 's';
+                return isCharacter || isSpace ? operand.getText() : null;
+            }
+        }
+        return null;
+    }
+
+    private static class UseStringReplaceFix extends UseSuggestedReplacementFixer {
+        @NotNull
+        @Override
+        public String getName() {
+            return "Use plain string replacement instead";
+        }
+
+        UseStringReplaceFix(@NotNull String expression) {
+            super(expression);
+        }
+    }
+
+    private static class UseStringPositionFix extends UseSuggestedReplacementFixer {
+        @NotNull
+        @Override
+        public String getName() {
+            return "Use plain string search instead";
+        }
+
+        UseStringPositionFix(@NotNull String expression) {
+            super(expression);
+        }
+    }
+
+    private static class UseStringComparisonFix extends UseSuggestedReplacementFixer {
+        @NotNull
+        @Override
+        public String getName() {
+            return "Use string comparison instead";
+        }
+
+        UseStringComparisonFix(@NotNull String expression) {
+            super(expression);
+        }
+    }
+
+    private static class UseCharactersSpanFix extends UseSuggestedReplacementFixer {
+        @NotNull
+        @Override
+        public String getName() {
+            return "Use characters span check instead";
+        }
+
+        UseCharactersSpanFix(@NotNull String expression) {
+            super(expression);
+        }
+    }
+
+    private static class UseTrimFix extends UseSuggestedReplacementFixer {
+        @NotNull
+        @Override
+        public String getName() {
+            return "Use trim instead";
+        }
+
+        UseTrimFix(@NotNull String expression) {
+            super(expression);
+        }
+    }
+
+    private static class UseExplodeFix extends UseSuggestedReplacementFixer {
+        @NotNull
+        @Override
+        public String getName() {
+            return "Use explode instead";
+        }
+
+        UseExplodeFix(@NotNull String expression) {
+            super(expression);
+        }
+    }
+}
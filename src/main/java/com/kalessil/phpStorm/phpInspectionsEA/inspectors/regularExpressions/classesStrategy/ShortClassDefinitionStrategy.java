@@ -3,55 +3,79 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.cla
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 public class ShortClassDefinitionStrategy {
     private static final String messagePattern = "'%p%' can be replaced with '%r%' (%h%).";
 
-    private static final HashMap<String, String> mapping = new HashMap<>();
+    /* classes by their members in any order, '^' stands for negated classes */
+    private static final Map<String, String> mapping = new HashMap<>();
     static {
-        mapping.put("[0-9]",         "\\d");
-        mapping.put("[:digit:]",     "\\d");
-
-        mapping.put("[^0-9]",        "\\D");
-        mapping.put("[^\\d]",        "\\D");
-
-        mapping.put("[:word:]",      "\\w");
-        mapping.put("[A-Za-z0-9_]",  "\\w");
-
-        mapping.put("[^\\w]",        "\\W");
-        mapping.put("[^A-Za-z0-9_]", "\\W");
-
-        mapping.put("[^\\s]",        "\\S");
+        mapping.put("0-9",            "\\d");
+        mapping.put("^0-9",           "\\D");
+        mapping.put("^\\d",           "\\D");
+        mapping.put("0-9 A-Z _ a-z",  "\\w");
+        mapping.put("^0-9 A-Z _ a-z", "\\W");
+        mapping.put("^\\w",           "\\W");
+        mapping.put("^\\s",           "\\S");
+        mapping.put("[:digit:]",      "\\d");
+        mapping.put("[:word:]",       "\\w");
     }
 
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(pattern)) {
-            final boolean isUnicodeMode = !StringUtils.isEmpty(modifiers) && modifiers.indexOf('u') != -1;
-            final String safetyHint     = isUnicodeMode ? "risky, will match extended sets due to /u" : "safe in non-unicode mode";
-
-            /* normalize only first found cases - sufficient for reporting */
-            final String patternAdapted = pattern
-                    .replace("a-zA-Z",    "A-Za-z")
-                    .replace("0-9A-Za-z", "A-Za-z0-9");
-
-            for (Map.Entry<String, String> replacement : mapping.entrySet()) {
-                final String wildcard = replacement.getKey();
-                if (patternAdapted.contains(wildcard)) {
-                    final String message = messagePattern
-                            .replace("%p%", wildcard)
-                            .replace("%r%", replacement.getValue())
-                            .replace("%h%", safetyHint);
-
-                    holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        final String safetyHint = regex.hasModifier('u') ? "risky, will match extended sets due to /u" : "safe in non-unicode mode";
+        /* report every finding once - sufficient for reporting */
+        final Set<String> messages = new LinkedHashSet<>();
+        for (final RegexNode node : regex.getNodes()) {
+            String replacement = null;
+            if (node.is(RegexNode.Kind.CLASS)) {
+                final List<String> members = new ArrayList<>();
+                for (final RegexNode member : node.getChildren()) {
+                    final String key = getKey(member);
+                    if (key == null) {
+                        members.clear();
+                        break;
+                    }
+                    members.add(key);
                 }
+                Collections.sort(members);
+                replacement = members.isEmpty() ? null : mapping.get((node.isNegated() ? "^" : "") + String.join(" ", members));
+            } else if (node.is(RegexNode.Kind.POSIX_CLASS)) {
+                replacement = mapping.get(node.getText());
+            }
+            if (replacement != null) {
+                messages.add(
+                    messagePattern
+                        .replace("%p%", node.getText())
+                        .replace("%r%", replacement)
+                        .replace("%h%", safetyHint)
+                );
             }
+        }
+        for (final String message : messages) {
+            holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+        }
+        //TODO: handle [0-9,] and similar cases when classes are part of allowed/escaped sets
+    }
 
-            //TODO: handle [0-9,] and similar cases when classes are part of allowed/escaped sets
+    @Nullable
+    private static String getKey(@NotNull RegexNode member) {
+        switch (member.getKind()) {
+            case LITERAL:
+                return !Character.isValidCodePoint(member.getCodepoint()) ? null : new String(Character.toChars(member.getCodepoint()));
+            case RANGE:
+                final String from = getKey(member.getChildren().get(0));
+                final String to   = getKey(member.getChildren().get(1));
+                return from == null || to == null ? null : from + '-' + to;
+            case ESCAPE:
+                return member.getName() == null ? "\\" + member.getEscape() : null;
+            default:
+                return null;
         }
     }
 }
@@ -0,0 +1,362 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Position (Glushkov) automaton of a pattern: a state per character-consuming item, a transition into a state consumes
+ * a character of the state set. Paths through the automaton are the ways a backtracking engine can match a subject,
+ * so ambiguity of the automaton is what makes backtracking explode.
+ *
+ * The construction approximates what can not be expressed: lookarounds and other assertions match the empty string,
+ * atomic groups and possessive quantifiers become a single state (they are not backtracking into), back-references
+ * are a single character, bounded repetitions are unrolled up to a limit (so findings can underestimate).
+ * Recursion is not supported, as well as patterns needing too many states.
+ */
+final class BacktrackingAutomaton {
+    final private static int maxStates   = 200;
+    final private static int unrollLimit = 10;
+
+    /* the character set of each state, the end of subject (see CharSet.end) only for $, \z and \Z */
+    final List<CharSet> sets    = new ArrayList<>();
+    final List<BitSet> follow   = new ArrayList<>();
+    /* number of ways to make a transition, e.g. (a+)* can either repeat a+ or the group: the same ones are parallel */
+    final List<int[]> ways      = new ArrayList<>();
+    /* states reachable from the start, states where a match can be completed */
+    BitSet initial              = new BitSet();
+    BitSet accepting            = new BitSet();
+    boolean acceptsEmpty        = false;
+    /* the state trying the match at next offsets (preg_* patterns are not anchored), -1 for anchored patterns */
+    int retry                   = -1;
+
+    private boolean supported = true;
+    private boolean caseless;
+    private boolean dotAll;
+    private final boolean unicode;
+
+    private static final class Fragment {
+        final BitSet first = new BitSet();
+        final BitSet last  = new BitSet();
+        boolean nullable   = true;
+    }
+
+    private BacktrackingAutomaton(@NotNull ParsedRegex regex) {
+        this.caseless = regex.hasModifier('i');
+        this.dotAll   = regex.hasModifier('s');
+        this.unicode  = regex.hasModifier('u');
+
+        Fragment body = this.build(regex.getRoot());
+        if (!regex.hasModifier('A') && !isAnchored(regex.getRoot())) {
+            final Fragment retry = this.state(CharSet.ANY);
+            this.retry           = retry.first.nextSetBit(0);
+            this.loop(retry);
+            retry.nullable       = true;
+            body                 = this.concat(retry, body);
+        }
+        this.initial      = body.first;
+        this.accepting    = body.last;
+        this.acceptsEmpty = body.nullable;
+    }
+
+    @Nullable
+    static BacktrackingAutomaton of(@NotNull ParsedRegex regex) {
+        final BacktrackingAutomaton automaton = new BacktrackingAutomaton(regex);
+        return automaton.supported ? automaton : null;
+    }
+
+    int size() {
+        return this.sets.size();
+    }
+
+    @NotNull
+    private Fragment build(@Nullable RegexNode node) {
+        final Fragment result = new Fragment();
+        if (node == null || !this.supported) {
+            return result;
+        }
+        switch (node.getKind()) {
+            case ALTERNATION:
+                result.nullable = node.getChildren().isEmpty();
+                for (final RegexNode branch : node.getChildren()) {
+                    final Fragment fragment = this.build(branch);
+                    result.first.or(fragment.first);
+                    result.last.or(fragment.last);
+                    result.nullable |= fragment.nullable;
+                }
+                return result;
+            case SEQUENCE:
+                Fragment sequence = result;
+                for (final RegexNode item : node.getChildren()) {
+                    sequence = this.concat(sequence, this.build(item));
+                }
+                return sequence;
+            case GROUP:
+                return this.buildGroup(node);
+            case QUANTIFIED:
+                return node.isPossessive() ? this.opaque(node) : this.buildRepetition(node);
+            case LINE_END:
+                /* newlines $ is matching before are not modelled, the analysis doesn't use them for failing matches */
+                return this.state(CharSet.END);
+            case LITERAL:
+            case CLASS:
+            case DOT:
+            case ESCAPE:
+                final CharSet characters = this.characters(node);
+                if (characters != null) {
+                    return this.state(characters);
+                }
+                final char escape = node.getEscape();
+                return escape == 'z' || escape == 'Z' ? this.state(CharSet.END) : result;
+            case BACKREFERENCE:
+                return this.state(CharSet.ANY);
+            case RECURSION:
+                this.supported = false;
+                return result;
+            case OPTIONS:
+                this.apply(node.getName());
+                return result;
+            default:
+                /* ^, comments and verbs */
+                return result;
+        }
+    }
+
+    @NotNull
+    private Fragment buildGroup(@NotNull RegexNode group) {
+        if (group.isLookaround()) {
+            return new Fragment();
+        }
+        if (group.getGroupKind() == RegexNode.GroupKind.ATOMIC) {
+            return this.opaque(group);
+        }
+        /* inline options are scoped by the enclosing group */
+        final boolean caseless = this.caseless;
+        final boolean dotAll   = this.dotAll;
+        if (group.getGroupKind() == RegexNode.GroupKind.NON_CAPTURING) {
+            this.apply(group.getName());
+        }
+        /* conditionals: both branches are considered */
+        final Fragment result = this.build(group.getOperand());
+        this.caseless         = caseless;
+        this.dotAll           = dotAll;
+        return result;
+    }
+
+    @NotNull
+    private Fragment buildRepetition(@NotNull RegexNode quantified) {
+        final int min = quantified.getMin();
+        final int max = quantified.getMax();
+        Fragment result = new Fragment();
+        if (max != 0) {
+            final boolean bounded = max != -1;
+            final int copies      = Math.min(bounded ? min : Math.max(min - 1, 0), unrollLimit);
+            for (int index = 0; index < copies; ++index) {
+                result = this.concat(result, this.build(quantified.getOperand()));
+            }
+            if (bounded) {
+                for (int index = copies; index < Math.min(max, unrollLimit); ++index) {
+                    final Fragment optional = this.build(quantified.getOperand());
+                    optional.nullable       = true;
+                    result                  = this.concat(result, optional);
+                }
+            } else {
+                final Fragment repeated = this.build(quantified.getOperand());
+                this.loop(repeated);
+                repeated.nullable |= min == 0;
+                result             = this.concat(result, repeated);
+            }
+        }
+        return result;
+    }
+
+    /* no backtracking into: a single state consuming any of characters used inside */
+    @NotNull
+    private Fragment opaque(@NotNull RegexNode node) {
+        final CharSet characters = this.alphabet(node);
+        final Fragment result    = characters.isEmpty() ? new Fragment() : this.state(characters);
+        result.nullable          = isNullable(node);
+        return result;
+    }
+
+    @NotNull
+    private CharSet alphabet(@NotNull RegexNode node) {
+        if (node.is(RegexNode.Kind.GROUP) && node.isLookaround()) {
+            return CharSet.EMPTY;
+        }
+        if (node.is(RegexNode.Kind.BACKREFERENCE)) {
+            return CharSet.ANY;
+        }
+        if (node.is(RegexNode.Kind.LITERAL) || node.is(RegexNode.Kind.CLASS) || node.is(RegexNode.Kind.DOT) || node.is(RegexNode.Kind.ESCAPE)) {
+            final CharSet characters = this.characters(node);
+            return characters == null ? CharSet.EMPTY : characters;
+        }
+        CharSet result = CharSet.EMPTY;
+        for (final RegexNode child : node.getChildren()) {
+            result = result.union(this.alphabet(child));
+        }
+        return result;
+    }
+
+    private static boolean isNullable(@NotNull RegexNode node) {
+        switch (node.getKind()) {
+            case ALTERNATION:
+                for (final RegexNode branch : node.getChildren()) {
+                    if (isNullable(branch)) {
+                        return true;
+                    }
+                }
+                return node.getChildren().isEmpty();
+            case SEQUENCE:
+                for (final RegexNode item : node.getChildren()) {
+                    if (!isNullable(item)) {
+                        return false;
+                    }
+                }
+                return true;
+            case GROUP:
+                return node.isLookaround() || node.getOperand() == null || isNullable(node.getOperand());
+            case QUANTIFIED:
+                return node.getMin() == 0 || node.getOperand() == null || isNullable(node.getOperand());
+            case LITERAL:
+            case CLASS:
+            case DOT:
+                return false;
+            case ESCAPE:
+                return "bBAzZGK".indexOf(node.getEscape()) != -1;
+            default:
+                return true;
+        }
+    }
+
+    /* null for assertions */
+    @Nullable
+    private CharSet characters(@NotNull RegexNode node) {
+        switch (node.getKind()) {
+            case LITERAL:
+                final CharSet literal = node.getCodepoint() < 0 ? CharSet.ANY : CharSet.single(node.getCodepoint());
+                return this.caseless ? literal.withCaseVariants() : literal;
+            case DOT:
+                return this.dotAll ? CharSet.ANY : CharSet.single('\n').complement();
+            case RANGE:
+                final int from = node.getChildren().get(0).getCodepoint();
+                final int to   = node.getChildren().get(node.getChildren().size() - 1).getCodepoint();
+                final CharSet range = from < 0 || to < 0 ? CharSet.ANY : CharSet.range(from, to);
+                return this.caseless ? range.withCaseVariants() : range;
+            case POSIX_CLASS:
+                final CharSet posix = CharSet.posix(node.getName());
+                return node.isNegated() ? posix.complement() : posix;
+            case CLASS:
+                CharSet members = CharSet.EMPTY;
+                for (final RegexNode member : node.getChildren()) {
+                    final CharSet characters = this.characters(member);
+                    if (characters != null) {
+                        members = members.union(characters);
+                    }
+                }
+                return node.isNegated() ? members.complement() : members;
+            case ESCAPE:
+                return CharSet.shorthand(node, this.unicode);
+            default:
+                return CharSet.ANY;
+        }
+    }
+
+    private void apply(@Nullable String options) {
+        if (options != null) {
+            boolean enable = true;
+            for (final char option : options.toCharArray()) {
+                switch (option) {
+                    case '-': enable        = false;  break;
+                    case 'i': this.caseless = enable; break;
+                    case 's': this.dotAll   = enable; break;
+                    case '^':
+                        this.caseless = false;
+                        this.dotAll   = false;
+                        break;
+                }
+            }
+        }
+    }
+
+    /* every branch starts with ^, \A or \G */
+    private static boolean isAnchored(@NotNull RegexNode alternation) {
+        for (final RegexNode branch : alternation.getChildren()) {
+            boolean anchored = false;
+            for (final RegexNode item : branch.getChildren()) {
+                if (item.is(RegexNode.Kind.OPTIONS) || item.is(RegexNode.Kind.COMMENT) || item.is(RegexNode.Kind.VERB)) {
+                    continue;
+                }
+                anchored = item.is(RegexNode.Kind.LINE_START) ||
+                           (item.is(RegexNode.Kind.ESCAPE) && (item.getEscape() == 'A' || item.getEscape() == 'G')) ||
+                           (item.is(RegexNode.Kind.GROUP) && !item.isLookaround() && item.getGroupKind() != RegexNode.GroupKind.CONDITIONAL &&
+                            item.getOperand() != null && isAnchored(item.getOperand()));
+                break;
+            }
+            if (!anchored) {
+                return false;
+            }
+        }
+        return !alternation.getChildren().isEmpty();
+    }
+
+    @NotNull
+    private Fragment state(@NotNull CharSet characters) {
+        final Fragment result = new Fragment();
+        if (this.sets.size() >= maxStates) {
+            this.supported = false;
+            return result;
+        }
+        final int state = this.sets.size();
+        this.sets.add(characters);
+        this.follow.add(new BitSet());
+        this.ways.add(new int[maxStates]);
+        result.first.set(state);
+        result.last.set(state);
+        result.nullable = false;
+        return result;
+    }
+
+    @NotNull
+    private Fragment concat(@NotNull Fragment left, @NotNull Fragment right) {
+        this.connect(left.last, right.first);
+        final Fragment result = new Fragment();
+        result.first.or(left.first);
+        if (left.nullable) {
+            result.first.or(right.first);
+        }
+        result.last.or(right.last);
+        if (right.nullable) {
+            result.last.or(left.last);
+        }
+        result.nullable = left.nullable && right.nullable;
+        return result;
+    }
+
+    private void loop(@NotNull Fragment fragment) {
+        this.connect(fragment.last, fragment.first);
+    }
+
+    private void connect(@NotNull BitSet from, @NotNull BitSet to) {
+        for (int state = from.nextSetBit(0); state >= 0; state = from.nextSetBit(state + 1)) {
+            this.follow.get(state).or(to);
+            for (int target = to.nextSetBit(0); target >= 0; target = to.nextSetBit(target + 1)) {
+                ++this.ways.get(state)[target];
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/**
+ * Catastrophic backtracking, e.g. (A+)*$ or (a|a)*$ are exponential, \d+\d+\d+$ is polynomial (see ReDoSAnalyzer).
+ * See details here: http://www.rexegg.com/regex-explosive-quantifiers.html
+ *
+ * When a quantifier can match the same input in several ways, a failing match tries all of them. We need to prevent
+ * the engine from backtracking, either by:
+ * - making alternatives and adjacent quantified items mutually exclusive,
+ * - making the outer quantifier possessive, e.g. (?:\D+|0(?!1))*+ or
+ * - enclosing the expression in an atomic group, e.g. (?>(?:\D+|0(?!1))*)
+ *
+ * Quadratic cases (e.g. \s+$, as preg_* functions are retrying the match at every offset) are too common to report.
+ */
+public class CatastrophicBacktrackingCheckStrategy {
+    private static final String messageExponential = "The pattern takes exponential time on non-matching input, e.g. %a% (ReDoS, Regular Expression Denial of Service).";
+    private static final String messagePolynomial  = "The pattern takes O(n^%d%) time on non-matching input, e.g. %a% (ReDoS, Regular Expression Denial of Service).";
+
+    final private static int minimalDegree = 3;
+
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        final ReDoSAnalyzer.Finding finding = ReDoSAnalyzer.analyze(regex);
+        if (finding != null) {
+            if (finding.isExponential()) {
+                final String attack = attack(finding, 32);
+                holder.registerProblem(target, messageExponential.replace("%a%", attack), ProblemHighlightType.GENERIC_ERROR);
+            } else if (finding.degree >= minimalDegree) {
+                final String attack  = attack(finding, 10000);
+                final String message = messagePolynomial.replace("%d%", String.valueOf(finding.degree)).replace("%a%", attack);
+                holder.registerProblem(target, message, ProblemHighlightType.GENERIC_ERROR);
+            }
+        }
+    }
+
+    /* the attack string as a PHP expression */
+    @NotNull
+    private static String attack(@NotNull ReDoSAnalyzer.Finding finding, int repetitions) {
+        final StringBuilder result = new StringBuilder();
+        if (!finding.prefix.isEmpty()) {
+            result.append(literal(finding.prefix)).append(" . ");
+        }
+        result.append("str_repeat(").append(literal(finding.pump)).append(", ").append(repetitions).append(')');
+        if (!finding.suffix.isEmpty()) {
+            result.append(" . ").append(literal(finding.suffix));
+        }
+        return result.toString();
+    }
+
+    @NotNull
+    private static String literal(@NotNull String string) {
+        final boolean printable = string.codePoints().allMatch(codepoint -> codepoint >= ' ' && codepoint <= '~');
+        if (printable) {
+            return '\'' + string.replace("\\", "\\\\").replace("'", "\\'") + '\'';
+        }
+        final StringBuilder result = new StringBuilder("\"");
+        string.codePoints().forEach(codepoint -> {
+            if (codepoint == '\n') {
+                result.append("\\n");
+            } else if (codepoint == '\t') {
+                result.append("\\t");
+            } else if (codepoint == '\r') {
+                result.append("\\r");
+            } else if (codepoint == '"' || codepoint == '\\' || codepoint == '$') {
+                result.append('\\').appendCodePoint(codepoint);
+            } else if (codepoint >= ' ' && codepoint <= '~') {
+                result.appendCodePoint(codepoint);
+            } else {
+                result.append("\\u{").append(Integer.toHexString(codepoint).toUpperCase()).append('}');
+            }
+        });
+        return result.append('"').toString();
+    }
+}
@@ -0,0 +1,270 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* immutable set of codepoints as sorted, disjoint and non-adjacent inclusive ranges */
+final class CharSet {
+    final static int maxCodepoint = 0x10FFFF;
+    /* a virtual character at the end of the subject, it's what $ and \z are matching */
+    final static int end          = maxCodepoint + 1;
+
+    final static CharSet EMPTY    = new CharSet(new int[0]);
+    final static CharSet ANY      = range(0, maxCodepoint);
+    final static CharSet END      = new CharSet(new int[]{end, end});
+    final static CharSet DIGITS   = range('0', '9');
+    final static CharSet WORDS    = DIGITS.union(range('A', 'Z')).union(range('a', 'z')).union(single('_'));
+    final static CharSet SPACES   = range('\t', '\r').union(single(' '));
+    final static CharSet BLANKS   = single('\t').union(single(' ')).union(single(0xA0));
+    final static CharSet VERTICAL = range('\n', '\r').union(single(0x85)).union(range(0x2028, 0x2029));
+
+    final private static CharSet unicodeSpaces = single(0x85).union(single(0xA0)).union(single(0x1680))
+            .union(range(0x2000, 0x200A)).union(range(0x2028, 0x2029)).union(single(0x202F))
+            .union(single(0x205F)).union(single(0x3000));
+
+    /* pairs of inclusive bounds */
+    @NotNull
+    final private int[] bounds;
+
+    private CharSet(@NotNull int[] bounds) {
+        this.bounds = bounds;
+    }
+
+    @NotNull
+    static CharSet single(int codepoint) {
+        return range(codepoint, codepoint);
+    }
+
+    /* clamped to valid codepoints, so members are always convertible to characters */
+    @NotNull
+    static CharSet range(int from, int to) {
+        final int upper = Math.min(to, maxCodepoint);
+        return from > upper || from < 0 ? EMPTY : new CharSet(new int[]{from, upper});
+    }
+
+    boolean isEmpty() {
+        return this.bounds.length == 0;
+    }
+
+    boolean contains(int codepoint) {
+        for (int index = 0; index < this.bounds.length; index += 2) {
+            if (codepoint >= this.bounds[index] && codepoint <= this.bounds[index + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    CharSet union(@NotNull CharSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (this.isEmpty()) {
+            return other;
+        }
+        final int[] merged = new int[this.bounds.length + other.bounds.length];
+        int left = 0, right = 0, count = 0;
+        while (left < this.bounds.length || right < other.bounds.length) {
+            final boolean takeLeft = right >= other.bounds.length ||
+                                     (left < this.bounds.length && this.bounds[left] <= other.bounds[right]);
+            final int from = takeLeft ? this.bounds[left] : other.bounds[right];
+            final int to   = takeLeft ? this.bounds[left + 1] : other.bounds[right + 1];
+            if (takeLeft) {
+                left += 2;
+            } else {
+                right += 2;
+            }
+            if (count > 0 && from <= merged[count - 1] + 1) {
+                merged[count - 1] = Math.max(merged[count - 1], to);
+            } else {
+                merged[count++] = from;
+                merged[count++] = to;
+            }
+        }
+        return new CharSet(Arrays.copyOf(merged, count));
+    }
+
+    @NotNull
+    CharSet intersect(@NotNull CharSet other) {
+        final int[] result = new int[this.bounds.length + other.bounds.length];
+        int left = 0, right = 0, count = 0;
+        while (left < this.bounds.length && right < other.bounds.length) {
+            final int from = Math.max(this.bounds[left], other.bounds[right]);
+            final int to   = Math.min(this.bounds[left + 1], other.bounds[right + 1]);
+            if (from <= to) {
+                result[count++] = from;
+                result[count++] = to;
+            }
+            if (this.bounds[left + 1] < other.bounds[right + 1]) {
+                left += 2;
+            } else {
+                right += 2;
+            }
+        }
+        return count == 0 ? EMPTY : new CharSet(Arrays.copyOf(result, count));
+    }
+
+    boolean intersects(@NotNull CharSet other) {
+        return !this.intersect(other).isEmpty();
+    }
+
+    /* within the characters, the end of the subject is never a part of complements */
+    @NotNull
+    CharSet complement() {
+        final int[] result = new int[this.bounds.length + 2];
+        int count = 0, from = 0;
+        for (int index = 0; index < this.bounds.length && from <= maxCodepoint; index += 2) {
+            if (this.bounds[index] > from) {
+                result[count++] = from;
+                result[count++] = Math.min(this.bounds[index] - 1, maxCodepoint);
+            }
+            from = this.bounds[index + 1] + 1;
+        }
+        if (from <= maxCodepoint) {
+            result[count++] = from;
+            result[count++] = maxCodepoint;
+        }
+        return count == 0 ? EMPTY : new CharSet(Arrays.copyOf(result, count));
+    }
+
+    boolean isSubsetOf(@NotNull CharSet other) {
+        return this.intersect(other).equals(this);
+    }
+
+    /* adds the other case of letters, as /i does */
+    @NotNull
+    CharSet withCaseVariants() {
+        CharSet result = this;
+        for (int index = 0; index < this.bounds.length; index += 2) {
+            final int from = this.bounds[index];
+            final int to   = this.bounds[index + 1];
+            final CharSet upper = range(Math.max(from, 'A'), Math.min(to, 'Z'));
+            final CharSet lower = range(Math.max(from, 'a'), Math.min(to, 'z'));
+            if (!upper.isEmpty()) {
+                result = result.union(range(upper.bounds[0] + 32, upper.bounds[1] + 32));
+            }
+            if (!lower.isEmpty()) {
+                result = result.union(range(lower.bounds[0] - 32, lower.bounds[1] - 32));
+            }
+            /* other scripts: only reasonably small ranges, the rest has no impact on analysis */
+            if (to > 0x7F && to - from < 512) {
+                for (int codepoint = Math.max(from, 0x80); codepoint <= to; ++codepoint) {
+                    result = result.union(single(Character.toUpperCase(codepoint))).union(single(Character.toLowerCase(codepoint)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /* \d, \w, \p{L} and other escapes matching a character, null for assertions */
+    @Nullable
+    static CharSet shorthand(@NotNull RegexNode escape, boolean unicode) {
+        final CharSet spaces = unicode ? SPACES.union(unicodeSpaces) : SPACES;
+        final CharSet words  = unicode ? WORDS.union(range(0xAA, maxCodepoint)) : WORDS;
+        switch (escape.getEscape()) {
+            case 'd': return DIGITS;
+            case 'D': return DIGITS.complement();
+            case 'w': return words;
+            case 'W': return words.complement();
+            case 's': return spaces;
+            case 'S': return spaces.complement();
+            case 'h': return BLANKS;
+            case 'H': return BLANKS.complement();
+            case 'v': case 'R': return VERTICAL;
+            case 'V': return VERTICAL.complement();
+            case 'N': return single('\n').complement();
+            case 'X': case 'C': return ANY;
+            case 'p': case 'P':
+                final String name   = escape.getName() == null ? "" : escape.getName();
+                final boolean caret = name.startsWith("^");
+                final CharSet property = property(caret ? name.substring(1) : name);
+                return (escape.getEscape() == 'P') != caret && property != ANY ? property.complement() : property;
+            default:
+                /* assertions: \b, \B, \A, \z, \Z, \G, \K */
+                return null;
+        }
+    }
+
+    /* approximation of unicode properties: the ASCII part is exact, other characters are considered matching */
+    @NotNull
+    private static CharSet property(@NotNull String name) {
+        final CharSet others = range(0x80, maxCodepoint);
+        if (name.equals("Lu")) {
+            return range('A', 'Z').union(others);
+        } else if (name.equals("Ll")) {
+            return range('a', 'z').union(others);
+        } else if (name.startsWith("L") || name.equals("Xan")) {
+            return posix(name.equals("Xan") ? "alnum" : "alpha").union(others);
+        } else if (name.startsWith("N")) {
+            return DIGITS.union(others);
+        } else if (name.equals("Xwd")) {
+            return WORDS.union(others);
+        } else if (name.equals("Xsp") || name.equals("Xps")) {
+            return SPACES.union(unicodeSpaces);
+        } else if (name.startsWith("Z")) {
+            return single(' ').union(unicodeSpaces);
+        } else if (name.startsWith("P") || name.startsWith("S")) {
+            return posix("punct").union(others);
+        }
+        return ANY;
+    }
+
+    @NotNull
+    static CharSet posix(@Nullable String name) {
+        final CharSet upper = range('A', 'Z');
+        final CharSet lower = range('a', 'z');
+        if (name != null) {
+            switch (name) {
+                case "alpha":  return upper.union(lower);
+                case "digit":  return DIGITS;
+                case "alnum":  return upper.union(lower).union(DIGITS);
+                case "word":   return WORDS;
+                case "space":  return SPACES;
+                case "blank":  return single(' ').union(single('\t'));
+                case "upper":  return upper;
+                case "lower":  return lower;
+                case "xdigit": return DIGITS.union(range('A', 'F')).union(range('a', 'f'));
+                case "cntrl":  return range(0, 0x1F).union(single(0x7F));
+                case "graph":  return range('!', '~');
+                case "print":  return range(' ', '~');
+                case "ascii":  return range(0, 0x7F);
+                case "punct":  return range('!', '~').intersect(upper.union(lower).union(DIGITS).complement());
+            }
+        }
+        return ANY;
+    }
+
+    /* a readable member for examples: letters, digits, then anything printable */
+    int sample() {
+        for (final CharSet preferred : new CharSet[]{range('a', 'z'), DIGITS, range('A', 'Z'), range(' ', '~'), range(0xA0, maxCodepoint)}) {
+            final CharSet candidates = this.intersect(preferred);
+            if (!candidates.isEmpty()) {
+                return candidates.bounds[0];
+            }
+        }
+        return this.bounds[0];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CharSet && Arrays.equals(this.bounds, ((CharSet) other).bounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.bounds);
+    }
+}
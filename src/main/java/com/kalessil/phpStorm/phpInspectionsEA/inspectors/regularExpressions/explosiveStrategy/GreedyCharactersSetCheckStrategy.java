@@ -3,39 +3,84 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.exp
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 public class GreedyCharactersSetCheckStrategy {
     private static final String messagePattern = "[%e%] is 'greedy'. Please remove %c% as it's a subset of %p%.";
 
-    final static private Pattern regexGreedyCharacterSet;
-    static {
-        // Original regex: \[([^\[\]]+)\]
-        regexGreedyCharacterSet = Pattern.compile("\\[([^\\[\\]]+)\\]");
-    }
-
-    static public void apply(final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(pattern) && pattern.indexOf('[') >= 0) {
-            final Matcher regexMatcher = regexGreedyCharacterSet.matcher(pattern);
-            while (regexMatcher.find()) {
-                final String set = regexMatcher.group(1);
-                String message   = null;
-
-                if (set.contains("\\w") && set.contains("\\d")) {
-                   message = messagePattern.replace("%e%", set).replace("%c%", "\\d").replace("%p%", "\\w");
-                }
-                if (null == message && set.contains("\\W") && set.contains("\\D")) {
-                   message = messagePattern.replace("%e%", set).replace("%c%", "\\D").replace("%p%", "\\W");
-                }
+    final private static CharSet ascii = CharSet.range(0, 0x7F);
 
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        final boolean unicode = regex.hasModifier('u');
+        for (final RegexNode node : regex.getNodes()) {
+            if (node.is(RegexNode.Kind.CLASS)) {
+                final String message = findSubset(node, unicode);
                 if (null != message) {
                     holder.registerProblem(target, message, ProblemHighlightType.GENERIC_ERROR);
                 }
             }
         }
     }
+
+    /*
+     * Members covered by a shorthand or POSIX class of the same set, the first case only. Shorthands are compared with
+     * their ASCII meaning: with /u they are matching more, so other non-ASCII members are not considered.
+     */
+    @Nullable
+    private static String findSubset(@NotNull RegexNode set, boolean unicode) {
+        final List<RegexNode> members = set.getChildren();
+        for (int index = 0; index < members.size(); ++index) {
+            final RegexNode member   = members.get(index);
+            final CharSet characters = characters(member);
+            if (characters == null || (unicode && !member.is(RegexNode.Kind.ESCAPE) && !characters.isSubsetOf(ascii))) {
+                continue;
+            }
+            for (int other = 0; other < members.size(); ++other) {
+                final RegexNode parent = members.get(other);
+                if (other == index || !isCovering(parent)) {
+                    continue;
+                }
+                final CharSet covering = characters(parent);
+                /* duplicates: the later one is reported */
+                if (covering != null && characters.isSubsetOf(covering) && (other < index || !covering.isSubsetOf(characters))) {
+                    final String text = set.getText();
+                    return messagePattern
+                            .replace("%e%", text.substring(1, text.length() - 1))
+                            .replace("%c%", member.getText())
+                            .replace("%p%", parent.getText());
+                }
+            }
+        }
+        return null;
+    }
+
+    /* unicode properties are approximated, they are not trusted for this */
+    private static boolean isCovering(@NotNull RegexNode member) {
+        return member.is(RegexNode.Kind.POSIX_CLASS) ||
+               (member.is(RegexNode.Kind.ESCAPE) && member.getEscape() != 'p' && member.getEscape() != 'P');
+    }
+
+    @Nullable
+    private static CharSet characters(@NotNull RegexNode member) {
+        switch (member.getKind()) {
+            case LITERAL:
+                return member.getCodepoint() < 0 ? null : CharSet.single(member.getCodepoint());
+            case RANGE:
+                final int from = member.getChildren().get(0).getCodepoint();
+                final int to   = member.getChildren().get(member.getChildren().size() - 1).getCodepoint();
+                return from < 0 || to < 0 ? null : CharSet.range(from, to);
+            case ESCAPE:
+                return CharSet.shorthand(member, false);
+            case POSIX_CLASS:
+                final CharSet posix = CharSet.posix(member.getName());
+                return member.isNegated() ? posix.complement() : posix;
+            default:
+                return null;
+        }
+    }
 }
@@ -0,0 +1,439 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.explosiveStrategy;
+
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.AnalysisBudget;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Worst-case backtracking of a pattern, found as ambiguity of its automaton (see BacktrackingAutomaton):
+ *  - EDA (exponential degree of ambiguity): a state can be left and re-entered in two different ways on the same
+ *    input, so every repetition of the input doubles the number of paths to explore;
+ *  - IDA (infinite degree of ambiguity): a state p looping on an input can move on the same input to a state q looping
+ *    on it as well, so the input can be split between the loops in n ways. A chain of k such moves gives O(n^(k+1)).
+ * The paths are explored only when the match fails, so findings are reported with a failing suffix only: e.g. (a+)* is
+ * matching anything and never backtracks, while (a+)*$ is exponential on 'aaa...a!'.
+ *
+ * Searches are bounded by steps (with cancellation checks), the result is cached per parsed pattern.
+ */
+final class ReDoSAnalyzer {
+    final private static int stepsLimit = 50000;
+
+    final static class Finding {
+        /* 0 for exponential backtracking, the polynomial degree otherwise */
+        final int degree;
+        @NotNull
+        final String prefix;
+        @NotNull
+        final String pump;
+        @NotNull
+        final String suffix;
+
+        private Finding(int degree, @NotNull String prefix, @NotNull String pump, @NotNull String suffix) {
+            this.degree = degree;
+            this.prefix = prefix;
+            this.pump   = pump;
+            this.suffix = suffix;
+        }
+
+        boolean isExponential() {
+            return this.degree == 0;
+        }
+    }
+
+    final private static Finding none                    = new Finding(-1, "", "", "");
+    final private static Map<ParsedRegex, Finding> cache = Collections.synchronizedMap(new WeakHashMap<>());
+
+    final private AnalysisBudget budget = new AnalysisBudget(stepsLimit, 1);
+    final private BacktrackingAutomaton automaton;
+    /* the start is an extra state with the index of size */
+    final private int size;
+    final private CharSet[] characters;
+    final private int[][] next;
+    final private BitSet[] reachable;
+    /* characters no state is distinguishing between, new lines aside */
+    final private List<CharSet> atoms = new ArrayList<>();
+
+    private ReDoSAnalyzer(@NotNull BacktrackingAutomaton automaton) {
+        this.automaton  = automaton;
+        this.size       = automaton.size();
+        this.characters = new CharSet[this.size];
+        this.next       = new int[this.size + 1][];
+        this.reachable  = new BitSet[this.size];
+        this.atoms.add(CharSet.single('\n').complement());
+        for (int state = 0; state < this.size; ++state) {
+            /* the end of subject can not be pumped */
+            this.characters[state] = automaton.sets.get(state).intersect(CharSet.ANY);
+            final List<CharSet> atoms = new ArrayList<>();
+            for (final CharSet atom : this.atoms) {
+                for (final CharSet part : new CharSet[]{atom.intersect(this.characters[state]), atom.intersect(this.characters[state].complement())}) {
+                    if (!part.isEmpty()) {
+                        atoms.add(part);
+                    }
+                }
+            }
+            this.atoms.clear();
+            this.atoms.addAll(atoms);
+        }
+        for (int state = 0; state <= this.size; ++state) {
+            final BitSet follow = state == this.size ? automaton.initial : automaton.follow.get(state);
+            this.next[state]    = follow.stream().filter(target -> !this.characters[target].isEmpty()).toArray();
+        }
+        for (int state = 0; state < this.size; ++state) {
+            final BitSet visited       = new BitSet();
+            final Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(state);
+            while (!queue.isEmpty()) {
+                for (final int target : this.next[queue.poll()]) {
+                    if (!visited.get(target)) {
+                        visited.set(target);
+                        queue.add(target);
+                    }
+                }
+            }
+            this.reachable[state] = visited;
+        }
+    }
+
+    @Nullable
+    static Finding analyze(@NotNull ParsedRegex regex) {
+        Finding result = cache.get(regex);
+        if (result == null) {
+            final BacktrackingAutomaton automaton = BacktrackingAutomaton.of(regex);
+            result = automaton == null || automaton.acceptsEmpty ? null : new ReDoSAnalyzer(automaton).find();
+            cache.put(regex, result == null ? none : result);
+        }
+        return result == none ? null : result;
+    }
+
+    @Nullable
+    private Finding find() {
+        final Finding exponential = this.findExponential();
+        /* an incomplete search for exponential cases doesn't allow to judge about polynomial ones */
+        return exponential != null || this.budget.isExhausted() ? exponential : this.findPolynomial();
+    }
+
+    @Nullable
+    private Finding findExponential() {
+        for (int state = 0; state < this.size; ++state) {
+            if (!this.isLooping(state)) {
+                continue;
+            }
+            final BitSet component = this.component(state);
+            final int[] ways       = this.automaton.ways.get(state);
+            for (final int left : this.next[state]) {
+                for (final int right : this.next[state]) {
+                    /* diverging: either into different states, or into the same one in different ways */
+                    final boolean diverging = left == right ? ways[left] > 1 : left < right;
+                    if (!diverging || !component.get(left) || !component.get(right)) {
+                        continue;
+                    }
+                    final CharSet shared = this.characters[left].intersect(this.characters[right]);
+                    if (shared.isEmpty()) {
+                        continue;
+                    }
+                    final String rest = this.path(new int[]{left, right}, new int[]{state, state}, new BitSet[]{component, component});
+                    if (rest != null) {
+                        final Finding finding = this.exploit(state, new String(Character.toChars(shared.sample())) + rest, 0);
+                        if (finding != null) {
+                            return finding;
+                        }
+                    }
+                    if (this.budget.isExhausted()) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private Finding findPolynomial() {
+        /* exploitable IDA moves, the longest chain of them defines the degree */
+        final Map<Integer, Map<Integer, Finding>> moves = new HashMap<>();
+        for (int from = 0; from < this.size && !this.budget.isExhausted(); ++from) {
+            if (!this.isLooping(from)) {
+                continue;
+            }
+            for (int to = 0; to < this.size && !this.budget.isExhausted(); ++to) {
+                if (to == from || !this.isLooping(to) || !this.reachable[from].get(to) || this.reachable[to].get(from)) {
+                    continue;
+                }
+                final BitSet between = new BitSet();
+                between.set(from);
+                between.set(to);
+                for (int state = 0; state < this.size; ++state) {
+                    if (this.reachable[from].get(state) && this.reachable[state].get(to)) {
+                        between.set(state);
+                    }
+                }
+                final String pump = this.path(
+                        new int[]{from, from, to},
+                        new int[]{from, to, to},
+                        new BitSet[]{this.component(from), between, this.component(to)}
+                );
+                final Finding finding = pump == null || pump.isEmpty() ? null : this.exploit(from, pump, 2);
+                if (finding != null) {
+                    moves.computeIfAbsent(from, key -> new HashMap<>()).put(to, finding);
+                }
+            }
+        }
+
+        Finding result = null;
+        final Map<Integer, Integer> chains = new HashMap<>();
+        for (final Map.Entry<Integer, Map<Integer, Finding>> entry : moves.entrySet()) {
+            for (final Map.Entry<Integer, Finding> move : entry.getValue().entrySet()) {
+                /* k moves are splitting the input between k + 1 loops */
+                final int degree = 1 + this.chain(move.getKey(), moves, chains) + 1;
+                if (result == null || degree > result.degree) {
+                    final Finding finding = move.getValue();
+                    result = new Finding(degree, finding.prefix, finding.pump, finding.suffix);
+                }
+            }
+        }
+        return result;
+    }
+
+    /* the number of moves in the longest chain starting at the state, there are no cycles between looping states */
+    private int chain(int state, @NotNull Map<Integer, Map<Integer, Finding>> moves, @NotNull Map<Integer, Integer> chains) {
+        Integer result = chains.get(state);
+        if (result == null) {
+            result = 0;
+            for (final int target : moves.getOrDefault(state, Collections.emptyMap()).keySet()) {
+                result = Math.max(result, 1 + this.chain(target, moves, chains));
+            }
+            chains.put(state, result);
+        }
+        return result;
+    }
+
+    /*
+     * Verifies that the pumped input doesn't complete a match (retrying at next offsets is not completing one) and
+     * finds a suffix making the match fail.
+     */
+    @Nullable
+    private Finding exploit(int state, @NotNull String pump, int degree) {
+        final String prefix = this.path(new int[]{this.size}, new int[]{state}, new BitSet[]{null});
+        if (prefix == null) {
+            return null;
+        }
+        BitSet current = new BitSet();
+        current.set(this.size);
+        for (final int character : prefix.codePoints().toArray()) {
+            current = this.step(current, character);
+        }
+        /* the pumped states are repeating sooner or later */
+        final Set<BitSet> seen = new HashSet<>();
+        while (seen.add(current) && seen.size() <= this.size + 1) {
+            for (final int character : pump.codePoints().toArray()) {
+                current = this.step(current, character);
+                if (this.isCompleting(current)) {
+                    return null;
+                }
+            }
+        }
+
+        final String suffix = this.failure(current, state);
+        return suffix == null ? null : new Finding(degree, prefix, pump, suffix);
+    }
+
+    /*
+     * The shortest input making all paths fail, either on a character or at the end of subject (new lines are never used,
+     * as $ is not modelling them). Searched over sets of states the paths can be in, retrying at next offsets aside.
+     */
+    @Nullable
+    private String failure(@NotNull BitSet states, int state) {
+        final BitSet start = (BitSet) states.clone();
+        if (this.automaton.retry != -1) {
+            start.clear(this.automaton.retry);
+        }
+        final Map<BitSet, String> inputs = new HashMap<>();
+        final Deque<BitSet> queue        = new ArrayDeque<>();
+        inputs.put(start, "");
+        queue.add(start);
+        while (!queue.isEmpty() && this.budget.consume()) {
+            final BitSet current = queue.poll();
+            final String input   = inputs.get(current);
+            for (final CharSet atom : this.atoms) {
+                final String character = new String(Character.toChars(atom.sample()));
+                final BitSet target    = this.step(current, atom.sample());
+                if (target.isEmpty()) {
+                    /* the rest of a match follows, otherwise PCRE is skipping subjects without required characters */
+                    final String completion = this.completion(state);
+                    return input + character + (completion == null ? "" : completion);
+                }
+                if (!inputs.containsKey(target) && !this.isCompleting(target)) {
+                    inputs.put(target, input + character);
+                    queue.add(target);
+                }
+            }
+            if (!this.isExpectingEnd(current)) {
+                return input;
+            }
+        }
+        return null;
+    }
+
+    private boolean isCompleting(@NotNull BitSet states) {
+        for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+            if (state != this.automaton.retry && this.automaton.accepting.get(state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isExpectingEnd(@NotNull BitSet states) {
+        for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+            final BitSet follow = this.automaton.follow.get(state);
+            for (int target = follow.nextSetBit(0); target >= 0; target = follow.nextSetBit(target + 1)) {
+                if (this.automaton.sets.get(target).contains(CharSet.end)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /* the shortest input completing a match from the state */
+    @Nullable
+    private String completion(int state) {
+        final Map<Integer, Integer> parents = new HashMap<>();
+        final Deque<Integer> queue          = new ArrayDeque<>();
+        parents.put(state, state);
+        queue.add(state);
+        while (!queue.isEmpty() && this.budget.consume()) {
+            final int current = queue.poll();
+            boolean completes = current != this.automaton.retry && this.automaton.accepting.get(current);
+            final BitSet follow = this.automaton.follow.get(current);
+            for (int target = follow.nextSetBit(0); target >= 0 && !completes; target = follow.nextSetBit(target + 1)) {
+                completes = this.automaton.sets.get(target).contains(CharSet.end) && this.automaton.accepting.get(target);
+            }
+            if (completes) {
+                final StringBuilder result = new StringBuilder();
+                for (int position = current; position != state; position = parents.get(position)) {
+                    result.insert(0, Character.toChars(this.characters[position].sample()));
+                }
+                return result.toString();
+            }
+            for (final int target : this.next[current]) {
+                if (!parents.containsKey(target)) {
+                    parents.put(target, current);
+                    queue.add(target);
+                }
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private BitSet step(@NotNull BitSet states, int character) {
+        final BitSet result = new BitSet();
+        for (int state = states.nextSetBit(0); state >= 0; state = states.nextSetBit(state + 1)) {
+            for (final int target : this.next[state]) {
+                if (this.characters[target].contains(character)) {
+                    result.set(target);
+                }
+            }
+        }
+        return result;
+    }
+
+    /*
+     * Breadth-first search in the product of automaton copies (all of them consuming the same characters), returns
+     * the shortest input leading from the source states to the target states. Tracks are limited to allowed states.
+     */
+    @Nullable
+    private String path(@NotNull int[] source, @NotNull int[] target, @NotNull BitSet[] allowed) {
+        final int sourceKey = this.key(source);
+        final int targetKey = this.key(target);
+        if (sourceKey == targetKey) {
+            return "";
+        }
+        final Map<Integer, Integer> parents    = new HashMap<>();
+        final Map<Integer, Integer> characters = new HashMap<>();
+        final Deque<int[]> queue               = new ArrayDeque<>();
+        parents.put(sourceKey, sourceKey);
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            final int[] tuple   = queue.poll();
+            final int parentKey = this.key(tuple);
+            final int[] indexes = new int[tuple.length];
+            boolean hasNext     = true;
+            for (final int state : tuple) {
+                hasNext &= this.next[state].length > 0;
+            }
+            /* odometer over combinations of next states for every track */
+            while (hasNext) {
+                final int[] successor = new int[tuple.length];
+                CharSet shared        = CharSet.ANY;
+                for (int track = 0; track < tuple.length && !shared.isEmpty(); ++track) {
+                    successor[track] = this.next[tuple[track]][indexes[track]];
+                    shared           = allowed[track] == null || allowed[track].get(successor[track])
+                            ? shared.intersect(this.characters[successor[track]])
+                            : CharSet.EMPTY;
+                }
+                if (!shared.isEmpty()) {
+                    if (!this.budget.consume()) {
+                        return null;
+                    }
+                    final int key = this.key(successor);
+                    if (!parents.containsKey(key)) {
+                        parents.put(key, parentKey);
+                        characters.put(key, shared.sample());
+                        if (key == targetKey) {
+                            final StringBuilder result = new StringBuilder();
+                            for (int current = key; current != sourceKey; current = parents.get(current)) {
+                                result.insert(0, Character.toChars(characters.get(current)));
+                            }
+                            return result.toString();
+                        }
+                        queue.add(successor);
+                    }
+                }
+                int track = 0;
+                while (track < tuple.length && ++indexes[track] == this.next[tuple[track]].length) {
+                    indexes[track++] = 0;
+                }
+                hasNext = track < tuple.length;
+            }
+        }
+        return null;
+    }
+
+    private int key(@NotNull int[] tuple) {
+        int result = 0;
+        for (final int state : tuple) {
+            result = result * (this.size + 1) + state;
+        }
+        return result;
+    }
+
+    private boolean isLooping(int state) {
+        return this.reachable[state].get(state);
+    }
+
+    /* states on the loops through the state */
+    @NotNull
+    private BitSet component(int state) {
+        final BitSet result = new BitSet();
+        for (int other = 0; other < this.size; ++other) {
+            if (this.reachable[state].get(other) && this.reachable[other].get(state)) {
+                result.set(other);
+            }
+        }
+        return result;
+    }
+}
@@ -3,29 +3,38 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 public class MissingDotAllCheckStrategy {
     private static final String strProblemDescription = "/s modifier is probably missing (nested tags are not recognized).";
 
-    final static private Pattern regexTagContentPattern;
-    static {
-        regexTagContentPattern = Pattern.compile(".*>\\.(\\*|\\+)\\?<.*");
-    }
-
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (
-            (StringUtils.isEmpty(modifiers) || modifiers.indexOf('s') == -1) &&
-            !StringUtils.isEmpty(pattern) && pattern.indexOf('?') != -1
-        ) {
-            Matcher regexMatcher = regexTagContentPattern.matcher(pattern);
-            if (regexMatcher.matches()) {
-                holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (!regex.hasModifier('s') && regex.getPattern().indexOf('?') != -1) {
+            /* >.*?< or >.+?< */
+            for (final RegexNode node : regex.getNodes()) {
+                if (node.is(RegexNode.Kind.SEQUENCE)) {
+                    final List<RegexNode> items = node.getChildren();
+                    for (int index = 1; index + 1 < items.size(); ++index) {
+                        final RegexNode item = items.get(index);
+                        if (
+                            item.is(RegexNode.Kind.QUANTIFIED) && item.isLazy() && item.getMax() == -1 && item.getMin() <= 1 &&
+                            item.getChildren().get(0).is(RegexNode.Kind.DOT) &&
+                            isLiteral(items.get(index - 1), '>') && isLiteral(items.get(index + 1), '<')
+                        ) {
+                            holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
+                            return;
+                        }
+                    }
+                }
             }
         }
     }
+
+    private static boolean isLiteral(@NotNull RegexNode node, char character) {
+        return node.is(RegexNode.Kind.LITERAL) && node.getCodepoint() == character;
+    }
 }
@@ -3,11 +3,9 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-
-import java.util.regex.Pattern;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -22,30 +20,31 @@ final public class MissingUnicodeModifierStrategy {
     private static final String messageCharacters = "/u modifier is missing (unicode characters found).";
     private static final String messageCodepoints = "/u modifier is missing (unicode codepoints found).";
 
-    final static private Pattern unicodeCharactersPattern;
-    final static private Pattern unicodeCodepointsPattern;
-    static {
-        // Original regex: .*[^\u0000-\u007F]+.*
-        unicodeCharactersPattern = Pattern.compile(".*[^\\u0000-\\u007F]+.*");
-        // Original regex: .*\\[pPX].*
-        unicodeCodepointsPattern = Pattern.compile(".*\\\\[pPX].*");
-    }
-
     static public void apply(
-            @Nullable String modifiers,
-            @Nullable String pattern,
-            @NotNull  StringLiteralExpression target,
-            @NotNull  ProblemsHolder holder
+            @NotNull ParsedRegex regex,
+            @NotNull StringLiteralExpression target,
+            @NotNull ProblemsHolder holder
     ) {
-        if ((modifiers == null || modifiers.indexOf('u') == -1) && !StringUtils.isEmpty(pattern)) {
-            if (unicodeCharactersPattern.matcher(pattern).matches()) {
-                holder.registerProblem(target, messageCharacters, ProblemHighlightType.GENERIC_ERROR);
-            } else {
-                final String normalized = StringUtils.replace(pattern, "\\\\", "");
-                if (unicodeCodepointsPattern.matcher(normalized).matches()) {
-                    holder.registerProblem(target, messageCodepoints, ProblemHighlightType.GENERIC_ERROR);
+        if (!regex.hasModifier('u')) {
+            String message = null;
+            for (final RegexNode node : regex.getNodes()) {
+                if (node.is(RegexNode.Kind.LITERAL)) {
+                    /* characters as they are (quoted ones as well), or \x{...} above a byte */
+                    final boolean isSequence = node.getText().startsWith("\\");
+                    if (!isSequence && node.getCodepoint() > 0x7F) {
+                        message = messageCharacters;
+                        break;
+                    }
+                    if (isSequence && node.getCodepoint() > 0xFF) {
+                        message = messageCodepoints;
+                    }
+                } else if (node.is(RegexNode.Kind.ESCAPE) && "pPX".indexOf(node.getEscape()) != -1) {
+                    message = messageCodepoints;
                 }
             }
+            if (message != null) {
+                holder.registerProblem(target, message, ProblemHighlightType.GENERIC_ERROR);
+            }
         }
     }
 }
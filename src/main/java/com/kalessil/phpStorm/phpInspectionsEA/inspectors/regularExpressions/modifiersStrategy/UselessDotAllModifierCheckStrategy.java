@@ -3,16 +3,16 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
 public class UselessDotAllModifierCheckStrategy {
     private static final String strProblemDescription = "'s' modifier is ambiguous here (no . in given pattern).";
 
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(modifiers) && !StringUtils.isEmpty(pattern) && modifiers.indexOf('s') >= 0) {
-            int countDots = StringUtils.countMatches(pattern, ".") - StringUtils.countMatches(pattern, "\\.");
-            if (0 == countDots) {
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (regex.hasModifier('s') && !regex.getPattern().isEmpty()) {
+            if (!regex.contains(RegexNode.Kind.DOT)) {
                 holder.registerProblem(target, strProblemDescription, ProblemHighlightType.WEAK_WARNING);
             }
         }
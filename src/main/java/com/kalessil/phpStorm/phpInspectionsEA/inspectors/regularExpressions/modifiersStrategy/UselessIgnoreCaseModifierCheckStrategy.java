@@ -3,17 +3,51 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.mod
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
 
 public class UselessIgnoreCaseModifierCheckStrategy {
     private static final String message = "'i' modifier is ambiguous here (no alphabet characters in given pattern).";
 
-    static public void apply(final String modifiers, final String pattern, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
-        if (!StringUtils.isEmpty(modifiers) && !StringUtils.isEmpty(pattern)) {
-            if (-1 != modifiers.indexOf('i') && !pattern.matches(".*\\p{L}.*")) {
-                holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
+    static public void apply(@NotNull final ParsedRegex regex, @NotNull final StringLiteralExpression target, @NotNull final ProblemsHolder holder) {
+        if (regex.hasModifier('i') && !regex.getPattern().isEmpty()) {
+            for (final RegexNode node : regex.getNodes()) {
+                if (isCaseSensitive(node)) {
+                    return;
+                }
             }
+            holder.registerProblem(target, message, ProblemHighlightType.WEAK_WARNING);
         }
     }
+
+    private static boolean isCaseSensitive(@NotNull RegexNode node) {
+        switch (node.getKind()) {
+            case LITERAL:
+                return isCased(node.getCodepoint());
+            case RANGE:
+                final int from = node.getChildren().get(0).getCodepoint();
+                final int to   = node.getChildren().get(1).getCodepoint();
+                for (int codepoint = from; codepoint <= to; ++codepoint) {
+                    if (isCased(codepoint)) {
+                        return true;
+                    }
+                }
+                return false;
+            case ESCAPE:
+                /* unicode properties, e.g. \p{Lu} */
+                return node.getEscape() == 'p' || node.getEscape() == 'P';
+            case POSIX_CLASS:
+                return "upper".equals(node.getName()) || "lower".equals(node.getName());
+            case BACKREFERENCE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /* undecoded escapes are treated as letters */
+    private static boolean isCased(int codepoint) {
+        return codepoint < 0 || Character.toLowerCase(codepoint) != Character.toUpperCase(codepoint);
+    }
 }
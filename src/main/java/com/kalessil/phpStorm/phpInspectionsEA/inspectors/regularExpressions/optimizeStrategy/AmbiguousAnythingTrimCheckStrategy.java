@@ -4,9 +4,13 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.FunctionReference;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 final public class AmbiguousAnythingTrimCheckStrategy {
     private static final String strProblemLeading  = "Leading .* can be removed.";
     private static final String strProblemTrailing = "Trailing .* can be removed.";
@@ -14,26 +18,31 @@ final public class AmbiguousAnythingTrimCheckStrategy {
     static public void apply(
             final String functionName,
             @NotNull final FunctionReference reference,
-            final String pattern,
+            @NotNull final ParsedRegex regex,
             @NotNull final StringLiteralExpression target,
             @NotNull final ProblemsHolder holder
     ) {
         if (
             2 == reference.getParameters().length &&
-            !StringUtils.isEmpty(pattern) &&
             !StringUtils.isEmpty(functionName) && functionName.startsWith("preg_match")
         ) {
-            int countBackRefs = StringUtils.countMatches(pattern, "\\0") - StringUtils.countMatches(pattern, "\\\\0");
-            if (countBackRefs > 0) {
+            /* alternatives and back-references are depending on what .* consumes */
+            final List<RegexNode> items = regex.getSequence();
+            if (items == null || items.isEmpty() || regex.contains(RegexNode.Kind.BACKREFERENCE) || regex.contains(RegexNode.Kind.RECURSION)) {
                 return;
             }
-
-            if (pattern.startsWith(".*")) {
+            if (isAnything(items.get(0))) {
                 holder.registerProblem(target, strProblemLeading, ProblemHighlightType.WEAK_WARNING);
             }
-            if (pattern.endsWith(".*")) {
+            if (items.size() > 1 && isAnything(items.get(items.size() - 1))) {
                 holder.registerProblem(target, strProblemTrailing, ProblemHighlightType.WEAK_WARNING);
             }
         }
     }
+
+    private static boolean isAnything(@NotNull RegexNode item) {
+        final RegexNode operand = item.getOperand();
+        return item.is(RegexNode.Kind.QUANTIFIED) && item.getQuantifier().equals("*") && !item.isPossessive() &&
+               operand != null && operand.is(RegexNode.Kind.DOT);
+    }
 }
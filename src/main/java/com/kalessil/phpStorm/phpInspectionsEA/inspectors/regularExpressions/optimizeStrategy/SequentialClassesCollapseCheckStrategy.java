@@ -3,33 +3,48 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.opt
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.jetbrains.php.lang.psi.elements.StringLiteralExpression;
-import org.apache.commons.lang.StringUtils;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.List;
 
 final public class SequentialClassesCollapseCheckStrategy {
     private static final String strProblemDescription = "'%p%' can be replaced with '%r%{...}'.";
 
-    final static private Pattern regexRepeatedClasses;
-    static {
-        regexRepeatedClasses = Pattern.compile("((\\[([^\\]]+)\\])(\\*|\\+|\\?|\\{[^\\}]+\\})?\\2(\\*|\\+|\\?|\\{[^\\}]+\\})?)+");
-    }
-
     static public void apply(
-            final String pattern,
+            @NotNull final ParsedRegex regex,
             @NotNull final StringLiteralExpression target,
             @NotNull final ProblemsHolder holder
     ) {
-        if (!StringUtils.isEmpty(pattern) && pattern.indexOf('[') >= 0) {
-            Matcher regexMatcher = regexRepeatedClasses.matcher(pattern);
-            if (regexMatcher.find()) {
-                String strError = strProblemDescription
-                        .replace("%p%", regexMatcher.group(0))
-                        .replace("%r%", regexMatcher.group(2));
-                holder.registerProblem(target, strError, ProblemHighlightType.WEAK_WARNING);
+        for (final RegexNode node : regex.getNodes()) {
+            if (node.is(RegexNode.Kind.SEQUENCE)) {
+                /* [seq][seq]..., each of the classes might be quantified */
+                final List<RegexNode> items = node.getChildren();
+                for (int start = 0; start < items.size(); ++start) {
+                    final String set = getSet(items.get(start));
+                    int end          = start;
+                    while (set != null && end + 1 < items.size() && set.equals(getSet(items.get(end + 1)))) {
+                        ++end;
+                    }
+                    if (end > start) {
+                        final String repeated = regex.getPattern().substring(items.get(start).getStart(), items.get(end).getEnd());
+                        holder.registerProblem(
+                            target,
+                            strProblemDescription.replace("%p%", repeated).replace("%r%", set),
+                            ProblemHighlightType.WEAK_WARNING
+                        );
+                        return;
+                    }
+                }
             }
         }
     }
+
+    @Nullable
+    private static String getSet(@NotNull RegexNode item) {
+        final RegexNode set = item.is(RegexNode.Kind.QUANTIFIED) ? item.getOperand() : item;
+        return set != null && set.is(RegexNode.Kind.CLASS) ? set.getText() : null;
+    }
 }
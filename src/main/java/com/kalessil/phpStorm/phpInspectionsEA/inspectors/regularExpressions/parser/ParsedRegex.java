@@ -0,0 +1,135 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * A preg_* pattern split into delimiters, pattern and modifiers, with the pattern parsed. Instances are immutable and
+ * shared by all strategies and all call sites with the same pattern string: validation patterns tend to be repeated
+ * all over a code base, so they are parsed once and kept in a bounded LRU cache.
+ *
+ * Patterns are parsed as written in sources (e.g. '\\' is an escaped backslash), the way strategies report them.
+ */
+final public class ParsedRegex {
+    final private static int cacheSize = 1024;
+
+    final private static Map<String, ParsedRegex> cache = new LinkedHashMap<String, ParsedRegex>(cacheSize, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(@NotNull Map.Entry<String, ParsedRegex> eldest) {
+            return this.size() > cacheSize;
+        }
+    };
+
+    final static private Pattern regexWithModifiers;
+    final static private Pattern regexWithModifiersCurvy;
+    static {
+        /* no DOTALL: multi-line patterns (e.g. commented /x ones) are not analyzed, as before the parser was extracted */
+        regexWithModifiers      = Pattern.compile("^([^\\{])(.*)\\1([a-zA-Z]+)?$");
+        regexWithModifiersCurvy = Pattern.compile("^\\{(.*)\\}([a-zA-Z]+)?$");
+    }
+
+    @NotNull
+    final private String pattern;
+    @Nullable
+    final private String modifiers;
+    @NotNull
+    final private RegexNode root;
+    @NotNull
+    final private List<RegexNode> nodes;
+
+    private ParsedRegex(@NotNull String pattern, @Nullable String modifiers) {
+        this.pattern   = pattern;
+        this.modifiers = modifiers;
+        this.root      = RegexParser.parse(pattern, this.hasModifier('x'));
+        this.nodes     = Collections.unmodifiableList(this.root.getDescendants());
+    }
+
+    /* null if the string is not a delimited pattern */
+    @Nullable
+    static public ParsedRegex of(@NotNull String contents) {
+        synchronized (cache) {
+            if (cache.containsKey(contents)) {
+                return cache.get(contents);
+            }
+        }
+        final ParsedRegex result = create(contents);
+        synchronized (cache) {
+            cache.put(contents, result);
+        }
+        return result;
+    }
+
+    @Nullable
+    private static ParsedRegex create(@NotNull String contents) {
+        if (!contents.isEmpty()) {
+            Matcher matcher = regexWithModifiers.matcher(contents);
+            if (matcher.find()) {
+                return new ParsedRegex(matcher.group(2), matcher.group(3));
+            }
+            matcher = regexWithModifiersCurvy.matcher(contents);
+            if (matcher.find()) {
+                return new ParsedRegex(matcher.group(1), matcher.group(2));
+            }
+        }
+        return null;
+    }
+
+    /* the pattern without delimiters and modifiers */
+    @NotNull
+    public String getPattern() {
+        return this.pattern;
+    }
+
+    @Nullable
+    public String getModifiers() {
+        return this.modifiers;
+    }
+
+    public boolean hasModifier(char modifier) {
+        return this.modifiers != null && this.modifiers.indexOf(modifier) != -1;
+    }
+
+    /* always an ALTERNATION, with at least one branch */
+    @NotNull
+    public RegexNode getRoot() {
+        return this.root;
+    }
+
+    /* all nodes, in source order */
+    @NotNull
+    public List<RegexNode> getNodes() {
+        return this.nodes;
+    }
+
+    public boolean contains(@NotNull RegexNode.Kind kind) {
+        for (final RegexNode node : this.nodes) {
+            if (node.is(kind)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* the top-level items when the pattern has no alternatives, otherwise null */
+    @Nullable
+    public List<RegexNode> getSequence() {
+        final List<RegexNode> branches = this.root.getChildren();
+        return branches.size() == 1 ? branches.get(0).getChildren() : null;
+    }
+}
@@ -0,0 +1,192 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Node of a parsed PCRE pattern. Nodes are shared between inspections (see ParsedRegex) and must not be modified
+ * once the parser has built them. Offsets are pointing into the pattern without delimiters and modifiers.
+ */
+final public class RegexNode {
+    public enum Kind {
+        ALTERNATION,   /* children: the branches, each is a SEQUENCE */
+        SEQUENCE,      /* children: the items */
+        GROUP,         /* children: an optional assertion (conditionals only) and an ALTERNATION */
+        QUANTIFIED,    /* children: the quantified item */
+        CLASS,         /* children: LITERAL, RANGE, ESCAPE and POSIX_CLASS members */
+        RANGE,         /* children: two LITERALs */
+        POSIX_CLASS,   /* [:name:] inside a class */
+        LITERAL,
+        ESCAPE,        /* shorthand classes, unicode properties and assertions: \d, \p{L}, \b, ... */
+        DOT,
+        LINE_START,
+        LINE_END,
+        BACKREFERENCE,
+        RECURSION,     /* (?R), (?1), (?&name), \g<name>, ... */
+        OPTIONS,       /* (?i), (?-x), ... */
+        COMMENT,
+        VERB           /* (*UTF8), (*SKIP), ... */
+    }
+
+    public enum GroupKind {
+        CAPTURING,
+        NAMED,
+        NON_CAPTURING,
+        ATOMIC,
+        BRANCH_RESET,
+        CONDITIONAL,
+        LOOKAHEAD,
+        NEGATIVE_LOOKAHEAD,
+        LOOKBEHIND,
+        NEGATIVE_LOOKBEHIND
+    }
+
+    @NotNull
+    final private Kind kind;
+    @NotNull
+    final private String source;
+    final private int start;
+    int end;
+    @NotNull
+    List<RegexNode> children = Collections.emptyList();
+
+    GroupKind groupKind    = null;
+    String name            = null;
+    int codepoint          = -1;
+    char escape            = 0;
+    boolean escaped        = false;
+    boolean negated        = false;
+    int min                = 0;
+    int max                = 0;
+    int quantifierStart    = 0;
+    int quantifierEnd      = 0;
+    boolean lazy           = false;
+    boolean possessive     = false;
+
+    RegexNode(@NotNull Kind kind, @NotNull String source, int start) {
+        this.kind   = kind;
+        this.source = source;
+        this.start  = start;
+        this.end    = start;
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    public boolean is(@NotNull Kind kind) {
+        return this.kind == kind;
+    }
+
+    public int getStart() {
+        return this.start;
+    }
+
+    public int getEnd() {
+        return this.end;
+    }
+
+    @NotNull
+    public String getText() {
+        return this.source.substring(this.start, this.end);
+    }
+
+    @NotNull
+    public List<RegexNode> getChildren() {
+        return this.children;
+    }
+
+    /* the node itself and all nested nodes, in source order */
+    @NotNull
+    public List<RegexNode> getDescendants() {
+        final List<RegexNode> result = new ArrayList<>();
+        this.collect(result);
+        return result;
+    }
+
+    private void collect(@NotNull List<RegexNode> result) {
+        result.add(this);
+        for (final RegexNode child : this.children) {
+            child.collect(result);
+        }
+    }
+
+    /* GROUP only */
+    @Nullable
+    public GroupKind getGroupKind() {
+        return this.groupKind;
+    }
+
+    public boolean isLookaround() {
+        return this.groupKind == GroupKind.LOOKAHEAD || this.groupKind == GroupKind.NEGATIVE_LOOKAHEAD ||
+               this.groupKind == GroupKind.LOOKBEHIND || this.groupKind == GroupKind.NEGATIVE_LOOKBEHIND;
+    }
+
+    /* NAMED groups, POSIX_CLASS, BACKREFERENCE and RECURSION references as written, options of (?i:...) groups */
+    @Nullable
+    public String getName() {
+        return this.name;
+    }
+
+    /* LITERAL only: the matched character, escape sequences are decoded */
+    public int getCodepoint() {
+        return this.codepoint;
+    }
+
+    /* LITERAL: was written as an escape sequence, ESCAPE: the letter following the backslash */
+    public boolean isEscaped() {
+        return this.escaped;
+    }
+
+    public char getEscape() {
+        return this.escape;
+    }
+
+    /* CLASS and POSIX_CLASS only */
+    public boolean isNegated() {
+        return this.negated;
+    }
+
+    /* QUANTIFIED only: -1 stands for no upper limit */
+    public int getMin() {
+        return this.min;
+    }
+
+    public int getMax() {
+        return this.max;
+    }
+
+    /* QUANTIFIED only: the quantifier as written, without the lazy or possessive suffix */
+    @NotNull
+    public String getQuantifier() {
+        return this.source.substring(this.quantifierStart, this.quantifierEnd);
+    }
+
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    public boolean isPossessive() {
+        return this.possessive;
+    }
+
+    /* QUANTIFIED and GROUP only: the quantified item or the group alternation */
+    @Nullable
+    public RegexNode getOperand() {
+        return this.children.isEmpty() ? null : this.children.get(this.children.size() - 1);
+    }
+}
@@ -0,0 +1,594 @@
+package com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * PCRE syntax parser. Patterns are coming from the sources as they are, so it never fails: whatever PCRE would
+ * reject (unbalanced parentheses, dangling quantifiers, unclosed classes) is parsed as literals or closed at the end.
+ */
+final class RegexParser {
+    @NotNull
+    final private String source;
+    private int offset = 0;
+    private int depth  = 0;
+    private boolean extended;
+
+    private RegexParser(@NotNull String source, boolean extended) {
+        this.source   = source;
+        this.extended = extended;
+    }
+
+    @NotNull
+    static RegexNode parse(@NotNull String source, boolean extended) {
+        final RegexParser parser = new RegexParser(source, extended);
+        return parser.parseAlternation();
+    }
+
+    @NotNull
+    private RegexNode parseAlternation() {
+        final RegexNode node           = new RegexNode(RegexNode.Kind.ALTERNATION, this.source, this.offset);
+        final List<RegexNode> branches = new ArrayList<>();
+        branches.add(this.parseSequence());
+        while (this.offset < this.source.length() && this.source.charAt(this.offset) == '|') {
+            ++this.offset;
+            branches.add(this.parseSequence());
+        }
+        return this.close(node, branches);
+    }
+
+    @NotNull
+    private RegexNode parseSequence() {
+        final RegexNode node        = new RegexNode(RegexNode.Kind.SEQUENCE, this.source, this.offset);
+        final List<RegexNode> items = new ArrayList<>();
+        while (this.offset < this.source.length()) {
+            final char character = this.source.charAt(this.offset);
+            if (character == '|' || (character == ')' && this.depth > 0)) {
+                break;
+            }
+            if (this.extended && Character.isWhitespace(character)) {
+                ++this.offset;
+            } else if (this.extended && character == '#') {
+                final int newLine = this.source.indexOf('\n', this.offset);
+                this.offset       = newLine == -1 ? this.source.length() : newLine + 1;
+            } else if (this.source.startsWith("\\Q", this.offset)) {
+                this.parseQuoted(items);
+            } else if (this.source.startsWith("\\E", this.offset)) {
+                this.offset += 2;
+            } else if (this.isQuantifier() && !items.isEmpty()) {
+                items.add(this.parseQuantifier(items.remove(items.size() - 1)));
+            } else {
+                items.add(this.parseAtom());
+            }
+        }
+        return this.close(node, items);
+    }
+
+    @NotNull
+    private RegexNode parseAtom() {
+        final int start      = this.offset;
+        final char character = this.source.charAt(start);
+        switch (character) {
+            case '.':
+                ++this.offset;
+                return this.close(new RegexNode(RegexNode.Kind.DOT, this.source, start), null);
+            case '^':
+                ++this.offset;
+                return this.close(new RegexNode(RegexNode.Kind.LINE_START, this.source, start), null);
+            case '$':
+                ++this.offset;
+                return this.close(new RegexNode(RegexNode.Kind.LINE_END, this.source, start), null);
+            case '[':
+                return this.parseClass();
+            case '(':
+                return this.parseGroup();
+            case '\\':
+                return this.parseEscape(false);
+            default:
+                return this.parseLiteral();
+        }
+    }
+
+    @NotNull
+    private RegexNode parseLiteral() {
+        final RegexNode node = new RegexNode(RegexNode.Kind.LITERAL, this.source, this.offset);
+        node.codepoint       = this.source.codePointAt(this.offset);
+        this.offset         += Character.charCount(node.codepoint);
+        return this.close(node, null);
+    }
+
+    private void parseQuoted(@NotNull List<RegexNode> items) {
+        this.offset      += 2;
+        final int closing = this.source.indexOf("\\E", this.offset);
+        final int end     = closing == -1 ? this.source.length() : closing;
+        while (this.offset < end) {
+            final RegexNode literal = this.parseLiteral();
+            literal.escaped         = true;
+            items.add(literal);
+        }
+        this.offset = closing == -1 ? end : end + 2;
+    }
+
+    private boolean isQuantifier() {
+        final char character = this.source.charAt(this.offset);
+        if (character == '*' || character == '+' || character == '?') {
+            return true;
+        }
+        if (character == '{') {
+            int cursor = this.skipDigits(this.offset + 1);
+            if (cursor == this.offset + 1) {
+                return false;
+            }
+            if (cursor < this.source.length() && this.source.charAt(cursor) == ',') {
+                cursor = this.skipDigits(cursor + 1);
+            }
+            return cursor < this.source.length() && this.source.charAt(cursor) == '}';
+        }
+        return false;
+    }
+
+    @NotNull
+    private RegexNode parseQuantifier(@NotNull RegexNode operand) {
+        final RegexNode node  = new RegexNode(RegexNode.Kind.QUANTIFIED, this.source, operand.getStart());
+        node.quantifierStart  = this.offset;
+        final char character  = this.source.charAt(this.offset);
+        if (character == '{') {
+            int cursor = this.skipDigits(this.offset + 1);
+            node.min   = this.toNumber(this.offset + 1, cursor);
+            node.max   = node.min;
+            if (this.source.charAt(cursor) == ',') {
+                final int from = cursor + 1;
+                cursor         = this.skipDigits(from);
+                node.max       = cursor == from ? -1 : this.toNumber(from, cursor);
+            }
+            this.offset = cursor + 1;
+        } else {
+            node.min    = character == '+' ? 1 : 0;
+            node.max    = character == '?' ? 1 : -1;
+            this.offset = this.offset + 1;
+        }
+        node.quantifierEnd = this.offset;
+
+        if (this.offset < this.source.length()) {
+            final char suffix = this.source.charAt(this.offset);
+            if (suffix == '?' || suffix == '+') {
+                node.lazy       = suffix == '?';
+                node.possessive = suffix == '+';
+                ++this.offset;
+            }
+        }
+        final List<RegexNode> children = new ArrayList<>();
+        children.add(operand);
+        return this.close(node, children);
+    }
+
+    @NotNull
+    private RegexNode parseGroup() {
+        final RegexNode node = new RegexNode(RegexNode.Kind.GROUP, this.source, this.offset);
+        ++this.offset;
+
+        /* constructs without a body */
+        if (this.source.startsWith("*", this.offset)) {
+            return this.skipToClosing(new RegexNode(RegexNode.Kind.VERB, this.source, node.getStart()), 1);
+        }
+        if (this.source.startsWith("?#", this.offset)) {
+            return this.skipToClosing(new RegexNode(RegexNode.Kind.COMMENT, this.source, node.getStart()), 2);
+        }
+        if (this.source.startsWith("?P=", this.offset)) {
+            return this.skipToClosing(new RegexNode(RegexNode.Kind.BACKREFERENCE, this.source, node.getStart()), 3);
+        }
+        if (this.source.startsWith("?P>", this.offset) || this.source.startsWith("?&", this.offset)) {
+            final int prefix = this.source.charAt(this.offset + 1) == '&' ? 2 : 3;
+            return this.skipToClosing(new RegexNode(RegexNode.Kind.RECURSION, this.source, node.getStart()), prefix);
+        }
+        if (this.source.startsWith("?R)", this.offset) || this.isNumericReference()) {
+            return this.skipToClosing(new RegexNode(RegexNode.Kind.RECURSION, this.source, node.getStart()), 1);
+        }
+
+        final boolean extended         = this.extended;
+        final List<RegexNode> children = new ArrayList<>();
+        if (!this.source.startsWith("?", this.offset)) {
+            node.groupKind = RegexNode.GroupKind.CAPTURING;
+        } else if (this.startsWithAny(":")) {
+            node.groupKind = RegexNode.GroupKind.NON_CAPTURING;
+        } else if (this.startsWithAny(">")) {
+            node.groupKind = RegexNode.GroupKind.ATOMIC;
+        } else if (this.startsWithAny("|")) {
+            node.groupKind = RegexNode.GroupKind.BRANCH_RESET;
+        } else if (this.startsWithAny("=")) {
+            node.groupKind = RegexNode.GroupKind.LOOKAHEAD;
+        } else if (this.startsWithAny("!")) {
+            node.groupKind = RegexNode.GroupKind.NEGATIVE_LOOKAHEAD;
+        } else if (this.startsWithAny("<=")) {
+            node.groupKind = RegexNode.GroupKind.LOOKBEHIND;
+        } else if (this.startsWithAny("<!")) {
+            node.groupKind = RegexNode.GroupKind.NEGATIVE_LOOKBEHIND;
+        } else if (this.startsWithAny("<", "P<", "'")) {
+            node.groupKind = RegexNode.GroupKind.NAMED;
+            final char closing = this.source.charAt(this.offset - 1) == '\'' ? '\'' : '>';
+            final int end      = this.indexOf(closing);
+            node.name          = this.source.substring(this.offset, end);
+            this.offset        = Math.min(end + 1, this.source.length());
+        } else if (this.source.startsWith("?(", this.offset)) {
+            node.groupKind = RegexNode.GroupKind.CONDITIONAL;
+            this.offset   += 1;
+            if (this.source.startsWith("(?=", this.offset) || this.source.startsWith("(?!", this.offset) ||
+                this.source.startsWith("(?<=", this.offset) || this.source.startsWith("(?<!", this.offset)
+            ) {
+                children.add(this.parseGroup());
+            } else {
+                final int end = this.indexOf(')');
+                node.name     = this.source.substring(this.offset + 1, end);
+                this.offset   = Math.min(end + 1, this.source.length());
+            }
+        } else {
+            /* inline options: either till the end of the enclosing group, or scoped with (?options:...) */
+            final RegexNode options = new RegexNode(RegexNode.Kind.OPTIONS, this.source, node.getStart());
+            boolean enable          = true;
+            ++this.offset;
+            while (this.offset < this.source.length()) {
+                final char character = this.source.charAt(this.offset++);
+                if (character == '-') {
+                    enable = false;
+                } else if (character == '^') {
+                    this.extended = false;
+                } else if (character == 'x') {
+                    this.extended = enable;
+                } else if (character == ')') {
+                    options.name = this.source.substring(node.getStart() + 2, this.offset - 1);
+                    return this.close(options, null);
+                } else if (character == ':') {
+                    node.name = this.source.substring(node.getStart() + 2, this.offset - 1);
+                    break;
+                }
+            }
+            node.groupKind = RegexNode.GroupKind.NON_CAPTURING;
+        }
+
+        ++this.depth;
+        children.add(this.parseAlternation());
+        --this.depth;
+        if (this.offset < this.source.length()) {
+            ++this.offset;
+        }
+        this.extended = extended;
+        return this.close(node, children);
+    }
+
+    @NotNull
+    private RegexNode parseClass() {
+        final RegexNode node = new RegexNode(RegexNode.Kind.CLASS, this.source, this.offset);
+        ++this.offset;
+        if (this.offset < this.source.length() && this.source.charAt(this.offset) == '^') {
+            node.negated = true;
+            ++this.offset;
+        }
+
+        final List<RegexNode> members = new ArrayList<>();
+        final int first               = this.offset;
+        while (this.offset < this.source.length()) {
+            final char character = this.source.charAt(this.offset);
+            if (character == ']' && this.offset != first) {
+                ++this.offset;
+                break;
+            }
+            if (this.source.startsWith("\\Q", this.offset)) {
+                this.parseQuoted(members);
+                continue;
+            }
+            if (this.source.startsWith("\\E", this.offset)) {
+                this.offset += 2;
+                continue;
+            }
+            if (this.source.startsWith("[:", this.offset)) {
+                final int end = this.source.indexOf(":]", this.offset + 2);
+                if (end != -1) {
+                    final RegexNode posix = new RegexNode(RegexNode.Kind.POSIX_CLASS, this.source, this.offset);
+                    posix.negated         = this.source.startsWith("^", this.offset + 2);
+                    posix.name            = this.source.substring(this.offset + (posix.negated ? 3 : 2), end);
+                    this.offset           = end + 2;
+                    members.add(this.close(posix, null));
+                    continue;
+                }
+            }
+
+            final RegexNode member = character == '\\' ? this.parseEscape(true) : this.parseLiteral();
+            if (
+                member.is(RegexNode.Kind.LITERAL) && this.offset + 1 < this.source.length() &&
+                this.source.charAt(this.offset) == '-' && this.source.charAt(this.offset + 1) != ']'
+            ) {
+                final int dash     = this.offset++;
+                final RegexNode to = this.source.charAt(this.offset) == '\\' ? this.parseEscape(true) : this.parseLiteral();
+                if (to.is(RegexNode.Kind.LITERAL)) {
+                    final RegexNode range          = new RegexNode(RegexNode.Kind.RANGE, this.source, member.getStart());
+                    final List<RegexNode> children = new ArrayList<>();
+                    children.add(member);
+                    children.add(to);
+                    members.add(this.close(range, children));
+                } else {
+                    /* e.g. [a-\d]: the dash is a literal */
+                    final RegexNode literal = new RegexNode(RegexNode.Kind.LITERAL, this.source, dash);
+                    literal.codepoint       = '-';
+                    literal.end             = dash + 1;
+                    members.add(member);
+                    members.add(literal);
+                    members.add(to);
+                }
+                continue;
+            }
+            members.add(member);
+        }
+        return this.close(node, members);
+    }
+
+    @NotNull
+    private RegexNode parseEscape(boolean inClass) {
+        final int start = this.offset++;
+        if (this.offset >= this.source.length()) {
+            final RegexNode literal = new RegexNode(RegexNode.Kind.LITERAL, this.source, start);
+            literal.codepoint       = '\\';
+            return this.close(literal, null);
+        }
+
+        final char character = this.source.charAt(this.offset);
+        RegexNode escape;
+        switch (character) {
+            case 'd': case 'D': case 's': case 'S': case 'w': case 'W':
+            case 'h': case 'H': case 'v': case 'V': case 'R': case 'X': case 'C':
+            case 'B': case 'A': case 'z': case 'Z': case 'G': case 'K':
+                ++this.offset;
+                escape = new RegexNode(RegexNode.Kind.ESCAPE, this.source, start);
+                break;
+            case 'b':
+                ++this.offset;
+                if (inClass) {
+                    return this.literal(start, 0x08);
+                }
+                escape = new RegexNode(RegexNode.Kind.ESCAPE, this.source, start);
+                break;
+            case 'N':
+                ++this.offset;
+                if (this.source.startsWith("{", this.offset)) {
+                    /* \N{U+hh..} is a character */
+                    final int end   = this.indexOf('}');
+                    final int value = this.toHex(this.offset + 3, end);
+                    this.offset     = Math.min(end + 1, this.source.length());
+                    return this.literal(start, value);
+                }
+                escape = new RegexNode(RegexNode.Kind.ESCAPE, this.source, start);
+                break;
+            case 'p': case 'P':
+                ++this.offset;
+                escape = new RegexNode(RegexNode.Kind.ESCAPE, this.source, start);
+                if (this.source.startsWith("{", this.offset)) {
+                    final int end = this.indexOf('}');
+                    escape.name   = this.source.substring(this.offset + 1, end);
+                    this.offset   = Math.min(end + 1, this.source.length());
+                } else if (this.offset < this.source.length()) {
+                    escape.name = this.source.substring(this.offset, ++this.offset);
+                }
+                break;
+            case 'x':
+                ++this.offset;
+                if (this.source.startsWith("{", this.offset)) {
+                    final int end   = this.indexOf('}');
+                    final int value = this.toHex(this.offset + 1, end);
+                    this.offset     = Math.min(end + 1, this.source.length());
+                    return this.literal(start, value);
+                }
+                final int hex = this.offset;
+                while (this.offset < this.source.length() && this.offset - hex < 2 && Character.digit(this.source.charAt(this.offset), 16) != -1) {
+                    ++this.offset;
+                }
+                return this.literal(start, this.toHex(hex, this.offset));
+            case 'o':
+                ++this.offset;
+                if (this.source.startsWith("{", this.offset)) {
+                    final int end   = this.indexOf('}');
+                    final int value = this.toOctal(this.offset + 1, end);
+                    this.offset     = Math.min(end + 1, this.source.length());
+                    return this.literal(start, value);
+                }
+                return this.literal(start, 'o');
+            case 'c':
+                ++this.offset;
+                if (this.offset < this.source.length()) {
+                    return this.literal(start, Character.toUpperCase(this.source.charAt(this.offset++)) ^ 0x40);
+                }
+                return this.literal(start, 'c');
+            case 'a':
+                ++this.offset;
+                return this.literal(start, 0x07);
+            case 'e':
+                ++this.offset;
+                return this.literal(start, 0x1B);
+            case 'f':
+                ++this.offset;
+                return this.literal(start, '\f');
+            case 'n':
+                ++this.offset;
+                return this.literal(start, '\n');
+            case 'r':
+                ++this.offset;
+                return this.literal(start, '\r');
+            case 't':
+                ++this.offset;
+                return this.literal(start, '\t');
+            case 'g':
+                ++this.offset;
+                if (this.source.startsWith("<", this.offset) || this.source.startsWith("'", this.offset)) {
+                    final int end = this.indexOf(this.source.charAt(this.offset) == '<' ? '>' : '\'');
+                    escape        = new RegexNode(RegexNode.Kind.RECURSION, this.source, start);
+                    escape.name   = this.source.substring(this.offset + 1, end);
+                    this.offset   = Math.min(end + 1, this.source.length());
+                } else {
+                    escape = new RegexNode(RegexNode.Kind.BACKREFERENCE, this.source, start);
+                    if (this.source.startsWith("{", this.offset)) {
+                        final int end = this.indexOf('}');
+                        escape.name   = this.source.substring(this.offset + 1, end);
+                        this.offset   = Math.min(end + 1, this.source.length());
+                    } else {
+                        final int number = this.offset;
+                        if (this.source.startsWith("-", this.offset)) {
+                            ++this.offset;
+                        }
+                        this.offset = this.skipDigits(this.offset);
+                        escape.name = this.source.substring(number, this.offset);
+                    }
+                }
+                break;
+            case 'k':
+                ++this.offset;
+                if (this.offset < this.source.length() && "<'{".indexOf(this.source.charAt(this.offset)) != -1) {
+                    final char opening = this.source.charAt(this.offset);
+                    final int end      = this.indexOf(opening == '<' ? '>' : (opening == '{' ? '}' : '\''));
+                    escape             = new RegexNode(RegexNode.Kind.BACKREFERENCE, this.source, start);
+                    escape.name        = this.source.substring(this.offset + 1, end);
+                    this.offset        = Math.min(end + 1, this.source.length());
+                    break;
+                }
+                return this.literal(start, 'k');
+            case '0':
+                final int octal = this.offset;
+                while (this.offset < this.source.length() && this.offset - octal < 3 && Character.digit(this.source.charAt(this.offset), 8) != -1) {
+                    ++this.offset;
+                }
+                return this.literal(start, this.toOctal(octal, this.offset));
+            case '1': case '2': case '3': case '4': case '5': case '6': case '7': case '8': case '9':
+                final int digits = this.offset;
+                if (inClass) {
+                    while (this.offset < this.source.length() && this.offset - digits < 3 && Character.digit(this.source.charAt(this.offset), 8) != -1) {
+                        ++this.offset;
+                    }
+                    if (this.offset == digits) {
+                        return this.literal(start, this.source.charAt(this.offset++));
+                    }
+                    return this.literal(start, this.toOctal(digits, this.offset));
+                }
+                this.offset = this.skipDigits(this.offset);
+                escape      = new RegexNode(RegexNode.Kind.BACKREFERENCE, this.source, start);
+                escape.name = this.source.substring(digits, this.offset);
+                break;
+            default:
+                final int codepoint = this.source.codePointAt(this.offset);
+                this.offset        += Character.charCount(codepoint);
+                return this.literal(start, codepoint);
+        }
+        escape.escape = character;
+        return this.close(escape, null);
+    }
+
+    @NotNull
+    private RegexNode literal(int start, int codepoint) {
+        final RegexNode node = new RegexNode(RegexNode.Kind.LITERAL, this.source, start);
+        node.codepoint       = codepoint;
+        node.escaped         = true;
+        return this.close(node, null);
+    }
+
+    @NotNull
+    private RegexNode close(@NotNull RegexNode node, @Nullable List<RegexNode> children) {
+        node.end = this.offset;
+        if (children != null && !children.isEmpty()) {
+            node.children = children;
+        }
+        return node;
+    }
+
+    /* bodiless constructs, e.g. (?&name): the name follows the prefix after '(' */
+    @NotNull
+    private RegexNode skipToClosing(@NotNull RegexNode node, int prefix) {
+        final int end = this.indexOf(')');
+        node.name     = this.source.substring(Math.min(this.offset + prefix, end), end);
+        this.offset   = Math.min(end + 1, this.source.length());
+        return this.close(node, null);
+    }
+
+    private boolean isNumericReference() {
+        if (!this.source.startsWith("?", this.offset)) {
+            return false;
+        }
+        int cursor = this.offset + 1;
+        if (cursor < this.source.length() && (this.source.charAt(cursor) == '+' || this.source.charAt(cursor) == '-')) {
+            ++cursor;
+        }
+        final int end = this.skipDigits(cursor);
+        return end > cursor && end < this.source.length() && this.source.charAt(end) == ')';
+    }
+
+    /* consumes the '?'-prefixed group opening when matched */
+    private boolean startsWithAny(@NotNull String... prefixes) {
+        for (final String prefix : prefixes) {
+            if (this.source.startsWith(prefix, this.offset + 1)) {
+                this.offset += prefix.length() + 1;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(char character) {
+        final int position = this.source.indexOf(character, this.offset + 1);
+        return position == -1 ? this.source.length() : position;
+    }
+
+    private int skipDigits(int from) {
+        int cursor = from;
+        while (cursor < this.source.length() && Character.isDigit(this.source.charAt(cursor))) {
+            ++cursor;
+        }
+        return cursor;
+    }
+
+    /* quantifier limits are capped, PCRE rejects anything above 65535 anyway */
+    private int toNumber(int from, int to) {
+        int result = 0;
+        for (int cursor = from; cursor < to; ++cursor) {
+            result = Math.min(result * 10 + Character.digit(this.source.charAt(cursor), 10), 65535);
+        }
+        return result;
+    }
+
+    /* -1 for malformed digits and for values beyond the unicode range */
+    private int toHex(int from, int to) {
+        int result = 0;
+        for (int cursor = from; cursor < to; ++cursor) {
+            final int digit = Character.digit(this.source.charAt(cursor), 16);
+            if (digit == -1) {
+                return -1;
+            }
+            result = result * 16 + digit;
+            if (result > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+        }
+        return result;
+    }
+
+    private int toOctal(int from, int to) {
+        int result = 0;
+        for (int cursor = from; cursor < to; ++cursor) {
+            final int digit = Character.digit(this.source.charAt(cursor), 8);
+            if (digit == -1) {
+                return -1;
+            }
+            result = result * 8 + digit;
+            if (result > Character.MAX_CODE_POINT) {
+                return -1;
+            }
+        }
+        return result;
+    }
+}
@@ -70,6 +70,10 @@ public class CryptographicallySecureAlgorithmsInspector extends BasePhpInspectio
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        if (FileSystemUtil.isTestFile(holder.getFile())) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
         return new BasePhpElementVisitor() {
             @Override
             public void visitPhpConstantReference(@NotNull ConstantReference reference) {
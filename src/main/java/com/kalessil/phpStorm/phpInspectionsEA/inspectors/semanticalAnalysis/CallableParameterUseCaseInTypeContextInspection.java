@@ -6,13 +6,12 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.codeInsight.PhpScopeHolder;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiControlFlowUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
@@ -64,9 +63,8 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
             }
 
             private void inspectUsages(@NotNull Parameter[] parameters, @NotNull PhpScopeHolder scopeHolder) {
-                final Project project                     = holder.getProject();
-                final PhpIndex index                      = PhpIndex.getInstance(project);
-                final PhpEntryPointInstruction entryPoint = scopeHolder.getControlFlow().getEntryPoint();
+                final Project project = holder.getProject();
+                final PhpIndex index  = PhpIndex.getInstance(project);
 
                 for (final Parameter parameter : parameters) {
                     /* normalize parameter types, skip analysis when mixed or object appears */
@@ -89,7 +87,7 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
                     /* now find instructions operating on the parameter and perform analysis */
                     final String parameterName = parameter.getName();
                     final PhpAccessVariableInstruction[] usages
-                        = PhpControlFlowUtil.getFollowingVariableAccessInstructions(entryPoint, parameterName, false);
+                        = OpenapiControlFlowUtil.getFollowingVariableAccessInstructions(scopeHolder, parameterName);
                     for (final PhpAccessVariableInstruction instruction : usages) {
                         final PsiElement parent        = instruction.getAnchor().getParent();
                         final PsiElement callCandidate = null == parent ? null : parent.getParent();
@@ -209,7 +207,7 @@ public class CallableParameterUseCaseInTypeContextInspection extends BasePhpInsp
                 final Set<String> possibleTypes = new HashSet<>();
                 if (type.startsWith("\\")) {
                     index.getAnyByFQN(type).forEach(
-                            clazz -> InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true).stream()
+                            clazz -> InterfacesExtractUtil.getInheritanceClosure(clazz, true).stream()
                                         .map(PhpNamedElement::getFQN)
                                         .forEach(possibleTypes::add)
                     );
@@ -5,9 +5,7 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiWhiteSpace;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.config.PhpLanguageFeature;
 import com.jetbrains.php.config.PhpLanguageLevel;
 import com.jetbrains.php.config.PhpProjectConfigurationFacade;
@@ -18,12 +16,14 @@ import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiControlFlowUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -52,12 +52,6 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
         legalizedMismatchingFunctions.add("method_exists");
     }
 
-    private final static ConcurrentHashMap<Function, HashSet<PsiElement>> reportedIssues = new ConcurrentHashMap<>();
-    private static HashSet<PsiElement> getFunctionReportingRegistry(Function key) {
-        reportedIssues.putIfAbsent(key, new HashSet<>());
-        return reportedIssues.get(key);
-    }
-
     @NotNull
     public String getShortName() {
         return "ReferenceMismatchInspection";
@@ -67,6 +61,14 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
         return new BasePhpElementVisitor() {
+            /* lives as long as the inspection session of the file: nothing is pinned across files or projects */
+            final private Map<Function, Set<PsiElement>> reportedIssues = new ConcurrentHashMap<>();
+
+            @NotNull
+            private Set<PsiElement> getFunctionReportingRegistry(@NotNull Function key) {
+                return this.reportedIssues.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+            }
+
             /**
              * TODO: checkReferenceReturnedByCallable - ternary operator, argument usages ?
              */
@@ -96,10 +98,7 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
                 this.checkParameters(function.getParameters(), function);
             }
             private void checkParameters(Parameter[] arrParameters, Function objScopeHolder) {
-                PhpEntryPointInstruction objEntryPoint = objScopeHolder.getControlFlow().getEntryPoint();
-
-                HashSet<PsiElement> emptyReportedItemsRegistry =
-                        ReferenceMismatchInspector.getFunctionReportingRegistry(objScopeHolder);
+                final Set<PsiElement> emptyReportedItemsRegistry = this.getFunctionReportingRegistry(objScopeHolder);
 
                 for (Parameter parameter : arrParameters) {
                     /* skip un-discoverable and non-reference parameters */
@@ -108,7 +107,7 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
                         continue;
                     }
 
-                    inspectScopeForReferenceMissUsages(objEntryPoint, strParameterName, emptyReportedItemsRegistry);
+                    inspectScopeForReferenceMissUsages(objScopeHolder, strParameterName, emptyReportedItemsRegistry);
                 }
 
                 emptyReportedItemsRegistry.clear();
@@ -143,8 +142,8 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
                         Function scope = ExpressionSemanticUtil.getScope(assignmentExpression);
                         if (null != scope) {
                             // report items, but ensure no duplicated messages
-                            HashSet<PsiElement> reportedItemsRegistry = ReferenceMismatchInspector.getFunctionReportingRegistry(scope);
-                            inspectScopeForReferenceMissUsages(scope.getControlFlow().getEntryPoint(), strVariable, reportedItemsRegistry);
+                            final Set<PsiElement> reportedItemsRegistry = this.getFunctionReportingRegistry(scope);
+                            inspectScopeForReferenceMissUsages(scope, strVariable, reportedItemsRegistry);
                         }
                     }
                 }
@@ -198,9 +197,9 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
                         Function scope = ExpressionSemanticUtil.getScope(foreach);
                         if (null != scope) {
                             // report items, but ensure no duplicated messages
-                            HashSet<PsiElement> reportedItemsRegistry = ReferenceMismatchInspector.getFunctionReportingRegistry(scope);
+                            final Set<PsiElement> reportedItemsRegistry = this.getFunctionReportingRegistry(scope);
                             reportedItemsRegistry.add(objForeachValue);
-                            inspectScopeForReferenceMissUsages(scope.getControlFlow().getEntryPoint(), strVariable, reportedItemsRegistry);
+                            inspectScopeForReferenceMissUsages(scope, strVariable, reportedItemsRegistry);
                         }
                     }
                 }
@@ -208,7 +207,7 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
 
 
             private void inspectScopeForReferenceMissUsages(
-                @NotNull PhpEntryPointInstruction objEntryPoint,
+                @NotNull Function scope,
                 @NotNull String strParameterName,
                 @NotNull Set<PsiElement> reportedItemsRegistry
             ) {
@@ -216,7 +215,7 @@ public class ReferenceMismatchInspector extends BasePhpInspection {
                 PsiElement objExpression = null;
 
                 /* find usage inside scope */
-                PhpAccessVariableInstruction[] arrUsages = PhpControlFlowUtil.getFollowingVariableAccessInstructions(objEntryPoint, strParameterName, false);
+                PhpAccessVariableInstruction[] arrUsages = OpenapiControlFlowUtil.getFollowingVariableAccessInstructions(scope, strParameterName);
                 for (final PhpAccessVariableInstruction objInstruction : arrUsages) {
                     previous      = objExpression;
                     objExpression = objInstruction.getAnchor().getParent();
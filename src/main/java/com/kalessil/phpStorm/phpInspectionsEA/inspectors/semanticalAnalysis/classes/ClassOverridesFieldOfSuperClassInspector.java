@@ -41,6 +41,10 @@ public class ClassOverridesFieldOfSuperClassInspector extends BasePhpInspection
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        if (FileSystemUtil.isTestFile(holder.getFile())) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
         return new BasePhpElementVisitor() {
             public void visitPhpField(Field ownField) {
                 /* skip un-explorable and test classes */
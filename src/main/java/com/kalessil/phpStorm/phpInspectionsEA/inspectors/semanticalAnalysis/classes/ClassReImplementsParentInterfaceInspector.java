@@ -5,22 +5,27 @@ import com.intellij.codeInspection.ProblemDescriptor;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiWhiteSpace;
 import com.jetbrains.php.lang.psi.elements.ClassReference;
 import com.jetbrains.php.lang.psi.elements.ImplementsList;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchDependencies;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.DependenciesAwareInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-public class ClassReImplementsParentInterfaceInspector extends BasePhpInspection {
+public class ClassReImplementsParentInterfaceInspector extends BasePhpInspection implements DependenciesAwareInspection {
     private static final String patternReImplementsParent = "%i% is already announced in %c%.";
     private static final String messageAlreadyImplements  = "Class cannot implement previously implemented interface";
 
@@ -29,6 +34,12 @@ public class ClassReImplementsParentInterfaceInspector extends BasePhpInspection
         return "ClassReImplementsParentInterfaceInspection";
     }
 
+    @Override
+    @NotNull
+    public Collection<VirtualFile> getDependencies(@NotNull PsiFile file) {
+        return BatchDependencies.ofHierarchies(file);
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
@@ -54,7 +54,7 @@ public class EmptyClassInspector extends BasePhpInspection {
                             result = true;
                         } else {
                             /* an exception */
-                            for (final PhpClass candidate : InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true)) {
+                            for (final PhpClass candidate : InterfacesExtractUtil.getInheritanceClosure(clazz, true)) {
                                 if (candidate.getFQN().equals("\\Exception")) {
                                     result = true;
                                     break;
@@ -2,19 +2,26 @@ package com.kalessil.phpStorm.phpInspectionsEA.inspectors.semanticalAnalysis.cla
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchDependencies;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.DependenciesAwareInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.FileSystemUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.NamedElementUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
-public class LongInheritanceChainInspector extends BasePhpInspection {
+public class LongInheritanceChainInspector extends BasePhpInspection implements DependenciesAwareInspection {
     private static final String messagePattern = "Class has %c% parent classes, consider using appropriate design patterns.";
 
     private static final Set<String> showStoppers = new HashSet<>();
@@ -44,9 +51,19 @@ public class LongInheritanceChainInspector extends BasePhpInspection {
         return "LongInheritanceChainInspection";
     }
 
+    @Override
+    @NotNull
+    public Collection<VirtualFile> getDependencies(@NotNull PsiFile file) {
+        return BatchDependencies.ofHierarchies(file);
+    }
+
     @Override
     @NotNull
     public PsiElementVisitor buildVisitor(@NotNull final ProblemsHolder holder, boolean isOnTheFly) {
+        if (FileSystemUtil.isTestFile(holder.getFile())) {
+            return PsiElementVisitor.EMPTY_VISITOR;
+        }
+
         return new BasePhpElementVisitor() {
             public void visitPhpClass(PhpClass clazz) {
                 final PsiElement psiClassName = NamedElementUtil.getNameIdentifier(clazz);
@@ -56,21 +73,18 @@ public class LongInheritanceChainInspector extends BasePhpInspection {
                     return;
                 }
 
-                PhpClass classToCheck = clazz;
-                PhpClass parent       = classToCheck.getSuperClass();
+                final List<PhpClass> parents = InterfacesExtractUtil.getParentClasses(clazz);
                 /* false-positives: abstract class implementation */
-                if (null != parent && !classToCheck.isAbstract() && parent.isAbstract()) {
+                if (!parents.isEmpty() && !clazz.isAbstract() && parents.get(0).isAbstract()) {
                     return;
                 }
 
                 int parentsCount = 0;
-                /* in source code class CAN extend itself, PS will report it but data structure is incorrect still */
-                while (null != parent && clazz != parent) {
-                    classToCheck = parent;
-                    parent       = classToCheck.getSuperClass();
+                for (int index = 0; index < parents.size(); ++index) {
                     ++parentsCount;
 
-                    if (null != parent) {
+                    if (index + 1 < parents.size()) {
+                        final PhpClass parent = parents.get(index + 1);
                         /* show-stoppers: frameworks god classes */
                         if (showStoppers.contains(parent.getFQN())) {
                             ++parentsCount;
@@ -5,9 +5,7 @@ import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.jetbrains.php.lang.psi.resolve.types.PhpType;
@@ -60,8 +58,7 @@ final public class NullableVariablesStrategy {
         }
 
         /* check if the variable has been written only once, inspect when null/void values are possible */
-        final PhpEntryPointInstruction controlFlowStart = function.getControlFlow().getEntryPoint();
-        final Project project                           = holder.getProject();
+        final Project project = holder.getProject();
         for (final String variableName : assignments.keySet()) {
             final List<AssignmentExpression> variableAssignments = assignments.get(variableName);
             if (variableAssignments.size() == 1) {
@@ -77,7 +74,7 @@ final public class NullableVariablesStrategy {
                             types.remove(Types.strNull);
                             types.remove(Types.strVoid);
                             if (types.stream().filter(t -> !t.startsWith("\\") && !objectTypes.contains(t)).count() == 0) {
-                                apply(variableName, assignment, controlFlowStart, holder);
+                                apply(variableName, assignment, function, holder);
                             }
                         }
                     }
@@ -89,7 +86,6 @@ final public class NullableVariablesStrategy {
     }
 
     public static void applyToParameters(@NotNull Function function, @NotNull ProblemsHolder holder) {
-        final PhpEntryPointInstruction controlFlowStart = function.getControlFlow().getEntryPoint();
         for (final Parameter parameter : function.getParameters()) {
             final Set<String> declaredTypes =
                     parameter.getDeclaredType().getTypes().stream()
@@ -107,7 +103,7 @@ final public class NullableVariablesStrategy {
                 }
 
                 if (isObject) {
-                    apply(parameter.getName(), null, controlFlowStart, holder);
+                    apply(parameter.getName(), null, function, holder);
                 }
             }
             declaredTypes.clear();
@@ -117,11 +113,11 @@ final public class NullableVariablesStrategy {
     private static void apply(
         @NotNull String variableName,
         @Nullable AssignmentExpression variableDeclaration,
-        @NotNull PhpEntryPointInstruction controlFlowStart,
+        @NotNull Function function,
         @NotNull ProblemsHolder holder
     ) {
         final PhpAccessVariableInstruction[] uses
-                = PhpControlFlowUtil.getFollowingVariableAccessInstructions(controlFlowStart, variableName, false);
+                = OpenapiControlFlowUtil.getFollowingVariableAccessInstructions(function, variableName);
         for (final PhpAccessVariableInstruction instruction : uses) {
             final PhpPsiElement variable = instruction.getAnchor();
             final PsiElement parent      = variable.getParent();
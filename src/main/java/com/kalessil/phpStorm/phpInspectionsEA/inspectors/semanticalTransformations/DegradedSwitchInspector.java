@@ -5,11 +5,12 @@ import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.psi.elements.PhpCase;
 import com.jetbrains.php.lang.psi.elements.PhpSwitch;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.FileLocalInspection;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpElementVisitor;
 import com.kalessil.phpStorm.phpInspectionsEA.openApi.BasePhpInspection;
 import org.jetbrains.annotations.NotNull;
 
-public class DegradedSwitchInspector extends BasePhpInspection {
+public class DegradedSwitchInspector extends BasePhpInspection implements FileLocalInspection {
     private static final String strProblemDegraded    = "Switch construct behaves as if-else, consider refactoring.";
     private static final String strProblemOnlyDefault = "Switch construct has default case only, consider leaving only the default case's body.";
 
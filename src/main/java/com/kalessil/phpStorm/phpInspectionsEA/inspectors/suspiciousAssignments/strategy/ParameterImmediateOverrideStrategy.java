@@ -4,11 +4,10 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
 import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
-import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpEntryPointInstruction;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiControlFlowUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.FileSystemUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.jetbrains.annotations.NotNull;
@@ -42,7 +41,6 @@ final public class ParameterImmediateOverrideStrategy {
             }
         }
 
-        final PhpEntryPointInstruction start = function.getControlFlow().getEntryPoint();
         for (Parameter param : params) {
             /* overriding params by reference is totally fine */
             if (param.isPassByRef()) {
@@ -50,7 +48,7 @@ final public class ParameterImmediateOverrideStrategy {
             }
 
             final String parameterName          = param.getName();
-            PhpAccessVariableInstruction[] uses = PhpControlFlowUtil.getFollowingVariableAccessInstructions(start, parameterName, false);
+            PhpAccessVariableInstruction[] uses = OpenapiControlFlowUtil.getFollowingVariableAccessInstructions(function, parameterName);
             /* at least 2 uses expected: override and any other operation */
             if (uses.length < 2) {
                 continue;
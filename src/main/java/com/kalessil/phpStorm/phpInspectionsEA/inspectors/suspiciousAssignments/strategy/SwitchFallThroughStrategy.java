@@ -10,7 +10,9 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiTypesUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -25,7 +27,8 @@ final public class SwitchFallThroughStrategy {
     private static final String message = "Overrides value from a preceding case (perhaps a 'break' is missing there).";
 
     static public void apply(@NotNull PhpSwitch switchStatement, @NotNull ProblemsHolder holder) {
-        final List<PsiElement> written = new ArrayList<>();
+        /* HashSet is not working here, hence grouping by structural hash and manual checks inside a group */
+        final Map<Integer, List<PsiElement>> written = new HashMap<>();
         for (PhpCase oneCase : switchStatement.getAllCases()) {
             final GroupStatement body = ExpressionSemanticUtil.getGroupStatement(oneCase);
             if (null == body || 0 == ExpressionSemanticUtil.countExpressionsInGroup(body)) {
@@ -41,17 +44,9 @@ final public class SwitchFallThroughStrategy {
 
                 if (expression instanceof MultiassignmentExpression) {
                     for (PsiElement variable : ((MultiassignmentExpression) expression).getVariables()) {
-                        /* HashSet is not working here, hence manual checks */
-                        boolean isOverridden = false;
-                        for (final PsiElement writtenVariable : written) {
-                            if (OpeanapiEquivalenceUtil.areEqual(writtenVariable, variable)) {
-                                isOverridden = true;
-                                holder.registerProblem(variable, message, ProblemHighlightType.GENERIC_ERROR);
-
-                                break;
-                            }
-                        }
-                        if (!isOverridden) {
+                        if (isWritten(written, variable)) {
+                            holder.registerProblem(variable, message, ProblemHighlightType.GENERIC_ERROR);
+                        } else {
                             writtenLocally.add(variable);
                         }
                     }
@@ -69,17 +64,9 @@ final public class SwitchFallThroughStrategy {
                             }
                         }
 
-                        /* HashSet is not working here, hence manual checks */
-                        boolean isOverridden = false;
-                        for (final PsiElement writtenVariable : written) {
-                            if (OpeanapiEquivalenceUtil.areEqual(writtenVariable, variable)) {
-                                isOverridden = true;
-                                holder.registerProblem(variable, message, ProblemHighlightType.GENERIC_ERROR);
-
-                                break;
-                            }
-                        }
-                        if (!isOverridden) {
+                        if (isWritten(written, variable)) {
+                            holder.registerProblem(variable, message, ProblemHighlightType.GENERIC_ERROR);
+                        } else {
                             writtenLocally.add(variable);
                         }
                     }
@@ -88,17 +75,11 @@ final public class SwitchFallThroughStrategy {
             }
 
 
-            /* now flush local writes into shared one; manually as HashSet is not working */
+            /* now flush local writes into shared one */
             for (PsiElement localVariable : writtenLocally) {
-                boolean isAddedAlready = false;
-                for (final PsiElement sharedVariable : written) {
-                    if (OpeanapiEquivalenceUtil.areEqual(localVariable, sharedVariable)) {
-                        isAddedAlready = true;
-                        break;
-                    }
-                }
-                if (!isAddedAlready) {
-                    written.add(localVariable);
+                if (!isWritten(written, localVariable)) {
+                    written.computeIfAbsent(OpeanapiEquivalenceUtil.getStructuralHash(localVariable), hash -> new ArrayList<>())
+                           .add(localVariable);
                 }
             }
             writtenLocally.clear();
@@ -120,4 +101,16 @@ final public class SwitchFallThroughStrategy {
         }
         written.clear();
     }
+
+    static private boolean isWritten(@NotNull Map<Integer, List<PsiElement>> written, @NotNull PsiElement variable) {
+        final List<PsiElement> candidates = written.get(OpeanapiEquivalenceUtil.getStructuralHash(variable));
+        if (candidates != null) {
+            for (final PsiElement writtenVariable : candidates) {
+                if (OpeanapiEquivalenceUtil.areEqual(writtenVariable, variable)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
@@ -1,6 +1,36 @@
 package com.kalessil.phpStorm.phpInspectionsEA.openApi;
 
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiElementVisitor;
 import com.jetbrains.php.lang.inspections.PhpInspection;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.profiling.InspectionsProfiler;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.profiling.InspectionsThrottler;
+import org.jetbrains.annotations.NotNull;
 
 public abstract class BasePhpInspection extends PhpInspection {
+    @NotNull
+    @Override
+    public PsiElementVisitor buildVisitor(
+        @NotNull ProblemsHolder holder,
+        boolean isOnTheFly,
+        @NotNull LocalInspectionToolSession session
+    ) {
+        PsiElementVisitor visitor = super.buildVisitor(holder, isOnTheFly, session);
+        if (isOnTheFly && InspectionsThrottler.isEnabled()) {
+            visitor = InspectionsThrottler.wrap(this.getShortName(), holder.getFile(), session, visitor);
+            if (visitor == null) {
+                return PsiElementVisitor.EMPTY_VISITOR;
+            }
+        }
+        return InspectionsProfiler.isEnabled() ? InspectionsProfiler.wrap(this.getShortName(), visitor) : visitor;
+    }
+
+    @Override
+    public void inspectionFinished(@NotNull LocalInspectionToolSession session, @NotNull ProblemsHolder holder) {
+        super.inspectionFinished(session, holder);
+        if (holder.isOnTheFly() && InspectionsThrottler.isEnabled()) {
+            InspectionsThrottler.inspectionFinished(this.getShortName(), holder.getFile(), session);
+        }
+    }
 }
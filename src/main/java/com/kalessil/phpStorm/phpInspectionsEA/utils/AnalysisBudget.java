@@ -0,0 +1,70 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * Work limit of one recursive analysis: each step checks for cancellation, so highlighting gets cancelled promptly, and
+ * once steps or depth are exhausted the analysis stops and returns what has been found so far. Not thread-safe, an
+ * instance is used by one analysis only.
+ */
+final public class AnalysisBudget {
+    final private int depthLimit;
+    private int stepsLeft;
+    private int depth         = 0;
+    private boolean exhausted = false;
+
+    public AnalysisBudget(int stepsLimit, int depthLimit) {
+        this.stepsLeft  = stepsLimit;
+        this.depthLimit = depthLimit;
+    }
+
+    @NotNull
+    static public AnalysisBudget create() {
+        final EASettings settings = EASettings.getInstance();
+        return new AnalysisBudget(settings.getAnalysisStepsLimit(), settings.getAnalysisDepthLimit());
+    }
+
+    /* one step of work on the current level, false when no steps are left */
+    public boolean consume() {
+        ProgressManager.checkCanceled();
+        if (this.stepsLeft > 0) {
+            --this.stepsLeft;
+            return true;
+        }
+        this.exhausted = true;
+        return false;
+    }
+
+    /* one step of work one level deeper, false when no steps are left or too deep; leave() is needed on success only */
+    public boolean enter() {
+        if (this.depth >= this.depthLimit) {
+            this.exhausted = true;
+            return false;
+        }
+        if (this.consume()) {
+            ++this.depth;
+            return true;
+        }
+        return false;
+    }
+
+    public void leave() {
+        --this.depth;
+    }
+
+    /* true when a step or level has been denied: results are partial, so absence of findings proves nothing */
+    public boolean isExhausted() {
+        return this.exhausted;
+    }
+}
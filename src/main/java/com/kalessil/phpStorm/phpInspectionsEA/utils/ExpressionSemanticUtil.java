@@ -3,7 +3,6 @@ package com.kalessil.phpStorm.phpInspectionsEA.utils;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.tree.IElementType;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocType;
 import com.jetbrains.php.lang.lexer.PhpTokenTypes;
@@ -244,19 +243,12 @@ final public class ExpressionSemanticUtil {
                 if (null != scope) {
                     final Set<AssignmentExpression> matched = new HashSet<>();
 
-                    Collection<AssignmentExpression> assignments
-                            = PsiTreeUtil.findChildrenOfType(scope, AssignmentExpression.class);
                     /* collect self-assignments as well */
-                    for (final AssignmentExpression assignment : assignments) {
-                        final PhpPsiElement container = assignment.getVariable();
-                        if (container instanceof Variable && assignment.getValue() instanceof StringLiteralExpression) {
-                            final String name = container.getName();
-                            if (name != null && name.equals(variable)) {
-                                matched.add(assignment);
-                            }
+                    for (final AssignmentExpression assignment : FunctionAssignmentsUtil.getVariableAssignments(scope, variable)) {
+                        if (assignment.getValue() instanceof StringLiteralExpression) {
+                            matched.add(assignment);
                         }
                     }
-                    assignments.clear();
 
                     if (matched.size() == 1) {
                         StringLiteralExpression result = (StringLiteralExpression) matched.iterator().next().getValue();
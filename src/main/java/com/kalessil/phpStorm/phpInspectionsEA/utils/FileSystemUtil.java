@@ -1,18 +1,98 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
 
 final public class FileSystemUtil {
+    /* classified once per class until the next PSI modification or test settings change */
     public static boolean isTestClass(@NotNull PhpClass clazz) {
+        final EASettings settings = EASettings.getInstance();
+        if (settings == null) {
+            return classify(clazz, null);
+        }
+        return CachedValuesManager.getCachedValue(
+            clazz,
+            () -> CachedValueProvider.Result.create(
+                classify(clazz, settings),
+                PsiModificationTracker.MODIFICATION_COUNT,
+                settings.getTestsConfigurationTracker()
+            )
+        );
+    }
+
+    /* the file is located in one of configured test roots: inspections can skip it without visiting PSI at all */
+    public static boolean isTestFile(@NotNull PsiFile file) {
+        final EASettings settings = EASettings.getInstance();
+        if (settings == null || settings.getTestRoots().isEmpty()) {
+            return false;
+        }
+        return CachedValuesManager.getCachedValue(
+            file,
+            () -> CachedValueProvider.Result.create(
+                isInTestRoots(file, settings.getTestRoots()),
+                PsiModificationTracker.MODIFICATION_COUNT,
+                settings.getTestsConfigurationTracker()
+            )
+        );
+    }
+
+    private static boolean classify(@NotNull PhpClass clazz, @Nullable EASettings settings) {
         /* first criteria - file name */
-        final String fileName = clazz.getContainingFile().getName();
+        final PsiFile file    = clazz.getContainingFile();
+        final String fileName = file.getName();
         if (fileName.endsWith("Test.php") || fileName.endsWith("Spec.php") || fileName.endsWith(".phpt")) {
             return true;
         }
 
         /* second criteria: FQN containing \Test[s]\ or ends with Test */
         final String classFqn = clazz.getFQN();
-        return classFqn.endsWith("Test") || classFqn.contains("\\Tests\\") || classFqn.contains("\\Test\\");
+        if (classFqn.endsWith("Test") || classFqn.contains("\\Tests\\") || classFqn.contains("\\Test\\")) {
+            return true;
+        }
+
+        /* third criteria: configured test roots and test base classes */
+        if (settings != null) {
+            if (!settings.getTestRoots().isEmpty() && isTestFile(file)) {
+                return true;
+            }
+            final Set<String> baseClasses = settings.getTestBaseClasses();
+            if (!baseClasses.isEmpty()) {
+                for (final PhpClass parent : InterfacesExtractUtil.getParentClasses(clazz)) {
+                    if (baseClasses.contains(parent.getFQN())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInTestRoots(@NotNull PsiFile file, @NotNull Set<String> roots) {
+        final VirtualFile virtualFile = file.getOriginalFile().getVirtualFile();
+        if (virtualFile == null) {
+            return false;
+        }
+
+        final String path     = virtualFile.getPath();
+        final String basePath = file.getProject().getBasePath();
+        for (final String root : roots) {
+            /* absolute paths as they are, other paths relative to the project directory */
+            final boolean isAbsolute = root.startsWith("/") || (root.length() > 1 && root.charAt(1) == ':');
+            final String rootPath    = isAbsolute ? root : (basePath == null ? null : basePath + '/' + root);
+            if (rootPath != null && path.startsWith(rootPath.endsWith("/") ? rootPath : rootPath + '/')) {
+                return true;
+            }
+        }
+        return false;
     }
 }
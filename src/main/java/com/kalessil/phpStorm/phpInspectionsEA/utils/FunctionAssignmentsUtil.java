@@ -0,0 +1,80 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+final public class FunctionAssignmentsUtil {
+    /* collected in one traversal per function until it gets modified: lookups are repeated for every discovered name */
+    final static private class Index {
+        final private Map<String, List<AssignmentExpression>> variables = new HashMap<>();
+        final private Map<String, List<AssignmentExpression>> fields    = new HashMap<>();
+        final private Map<String, PsiElement> defaults                  = new HashMap<>();
+
+        private Index(@NotNull Function function) {
+            for (final Parameter parameter : function.getParameters()) {
+                final PsiElement defaultValue = parameter.getDefaultValue();
+                if (defaultValue != null) {
+                    this.defaults.putIfAbsent(parameter.getName(), defaultValue);
+                }
+            }
+
+            for (final AssignmentExpression assignment : PsiTreeUtil.findChildrenOfType(function, AssignmentExpression.class)) {
+                final PsiElement container = assignment.getVariable();
+                if (container instanceof Variable) {
+                    final String name = ((Variable) container).getName();
+                    if (name != null && !name.isEmpty()) {
+                        this.variables.computeIfAbsent(name, key -> new ArrayList<>()).add(assignment);
+                    }
+                } else if (container instanceof FieldReference) {
+                    final String name = ((FieldReference) container).getName();
+                    if (name != null && !name.isEmpty()) {
+                        this.fields.computeIfAbsent(name, key -> new ArrayList<>()).add(assignment);
+                    }
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static Index getIndex(@NotNull Function function) {
+        return CachedValuesManager.getCachedValue(
+            function,
+            () -> CachedValueProvider.Result.create(new Index(function), function)
+        );
+    }
+
+    /* shared and immutable: assignments (including self-assignments) to the variable, in source order */
+    @NotNull
+    public static List<AssignmentExpression> getVariableAssignments(@NotNull Function function, @NotNull String name) {
+        final List<AssignmentExpression> result = getIndex(function).variables.get(name);
+        return result == null ? Collections.emptyList() : Collections.unmodifiableList(result);
+    }
+
+    /* shared and immutable: assignments (including self-assignments) to fields with the name, of any object */
+    @NotNull
+    public static List<AssignmentExpression> getFieldAssignments(@NotNull Function function, @NotNull String name) {
+        final List<AssignmentExpression> result = getIndex(function).fields.get(name);
+        return result == null ? Collections.emptyList() : Collections.unmodifiableList(result);
+    }
+
+    @Nullable
+    public static PsiElement getParameterDefault(@NotNull Function function, @NotNull String name) {
+        return getIndex(function).defaults.get(name);
+    }
+}
@@ -2,9 +2,21 @@ package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
 import com.intellij.codeInsight.PsiEquivalenceUtil;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /*
  * This file is part of the Php Inspections (EA Extended) package.
  *
@@ -18,9 +30,10 @@ final public class OpeanapiEquivalenceUtil {
     public static boolean areEqual(@NotNull PsiElement first, @NotNull PsiElement second) {
         boolean result;
         try {
-            result = PsiEquivalenceUtil.areElementsEquivalent(first, second);
-            if (!result) {
-                result = first.getClass() == second.getClass() && first.getText().equals(second.getText());
+            /* different structural hashes guarantee non-equivalence, so we skip the expensive comparison */
+            result = first.getClass() == second.getClass() && getStructuralHash(first) == getStructuralHash(second);
+            if (result && !PsiEquivalenceUtil.areElementsEquivalent(first, second)) {
+                result = first.getText().equals(second.getText());
             }
         } catch (Throwable error) {
             if (error instanceof ProcessCanceledException) {
@@ -30,4 +43,39 @@ final public class OpeanapiEquivalenceUtil {
         }
         return result;
     }
+
+    /* structural hash => elements in encounter order: pairwise scans need to compare elements of the same group only */
+    @NotNull
+    public static <T extends PsiElement> Map<Integer, List<T>> groupByStructuralHash(@NotNull Collection<T> elements) {
+        final Map<Integer, List<T>> groups = new LinkedHashMap<>();
+        for (final T element : elements) {
+            if (element != null) {
+                groups.computeIfAbsent(getStructuralHash(element), hash -> new ArrayList<>()).add(element);
+            }
+        }
+        return groups;
+    }
+
+    /* hash of meaningful leaves text: whitespaces and comments are ignored, as PsiEquivalenceUtil does */
+    public static int getStructuralHash(@NotNull PsiElement expression) {
+        return CachedValuesManager.getCachedValue(
+            expression,
+            () -> CachedValueProvider.Result.create(computeStructuralHash(expression, expression.getClass().hashCode()), expression)
+        );
+    }
+
+    private static int computeStructuralHash(@NotNull PsiElement expression, int hash) {
+        PsiElement child = expression.getFirstChild();
+        if (child == null) {
+            final CharSequence text = expression.getNode().getChars();
+            return text.length() == 0 ? hash : 31 * hash + StringUtil.stringHashCode(text);
+        }
+        while (child != null) {
+            if (!(child instanceof PsiWhiteSpace) && !(child instanceof PsiComment) && !(child instanceof PsiErrorElement)) {
+                hash = computeStructuralHash(child, hash);
+            }
+            child = child.getNextSibling();
+        }
+        return hash;
+    }
 }
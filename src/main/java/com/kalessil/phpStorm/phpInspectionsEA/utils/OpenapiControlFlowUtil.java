@@ -1,5 +1,61 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.jetbrains.php.codeInsight.PhpScopeHolder;
+import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
+import com.jetbrains.php.codeInsight.controlFlow.PhpInstructionProcessor;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
 final public class OpenapiControlFlowUtil {
-    /* TODO: isolate PhpControlFlowUtil.getFollowingVariableAccessInstructions */
+    final private static PhpAccessVariableInstruction[] none = new PhpAccessVariableInstruction[0];
+
+    /* variable name => accesses; shared by all inspections asking about the same scope, dropped on scope modification */
+    @NotNull
+    static public PhpAccessVariableInstruction[] getFollowingVariableAccessInstructions(
+        @NotNull PhpScopeHolder scope,
+        @NotNull String variableName
+    ) {
+        final Map<String, PhpAccessVariableInstruction[]> index = CachedValuesManager.getCachedValue(
+            scope,
+            () -> CachedValueProvider.Result.create(buildIndex(scope), scope)
+        );
+        final PhpAccessVariableInstruction[] result = index.get(variableName);
+        return result == null ? none : result;
+    }
+
+    /* one walk from the entry point for all variables, visiting instructions as the per-variable platform lookup does */
+    @NotNull
+    private static Map<String, PhpAccessVariableInstruction[]> buildIndex(@NotNull PhpScopeHolder scope) {
+        final Map<String, List<PhpAccessVariableInstruction>> accesses = new HashMap<>();
+        PhpControlFlowUtil.processSuccessors(scope.getControlFlow().getEntryPoint(), false, new PhpInstructionProcessor() {
+            @Override
+            public boolean processAccessVariableInstruction(PhpAccessVariableInstruction instruction) {
+                final CharSequence name = instruction.getVariableName();
+                if (name != null) {
+                    accesses.computeIfAbsent(name.toString(), key -> new ArrayList<>()).add(instruction);
+                }
+                return super.processAccessVariableInstruction(instruction);
+            }
+        });
+
+        final Map<String, PhpAccessVariableInstruction[]> index = new HashMap<>(accesses.size());
+        accesses.forEach((name, instructions) -> index.put(name, instructions.toArray(none)));
+        return index;
+    }
 }
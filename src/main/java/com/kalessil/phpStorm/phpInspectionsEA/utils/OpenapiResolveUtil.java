@@ -3,7 +3,11 @@ package com.kalessil.phpStorm.phpInspectionsEA.utils;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiReference;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.jetbrains.php.lang.psi.elements.PhpTypedElement;
@@ -13,6 +17,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
         /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -24,8 +31,49 @@ import java.util.Collection;
  */
 
 final public class OpenapiResolveUtil {
+    /* the same references are resolved by many inspections: results are shared until the next PSI modification */
+    final static private class ResolveCache {
+        final static private Object NULL = new Object();
+
+        final private Map<PsiElement, Object> references = new ConcurrentHashMap<>();
+        final private Map<PsiElement, Object> types      = new ConcurrentHashMap<>();
+
+        @Nullable
+        private <T> T get(@NotNull Map<PsiElement, Object> cache, @NotNull PsiElement key, @NotNull Supplier<T> resolver) {
+            Object result = cache.get(key);
+            if (result == null) {
+                final T resolved = resolver.get();
+                result           = resolved == null ? NULL : resolved;
+                cache.putIfAbsent(key, result);
+            }
+            //noinspection unchecked
+            return result == NULL ? null : (T) result;
+        }
+    }
+
+    /* null for non-physical files: their modifications are not tracked by the PSI modification count */
+    @Nullable
+    static private ResolveCache getResolveCache(@NotNull PsiElement element) {
+        final PsiFile file = element.getContainingFile();
+        if (file == null || !file.isPhysical()) {
+            return null;
+        }
+        return CachedValuesManager.getCachedValue(
+            file,
+            () -> CachedValueProvider.Result.create(new ResolveCache(), PsiModificationTracker.MODIFICATION_COUNT)
+        );
+    }
+
     @Nullable
     static public PsiElement resolveReference(@NotNull PsiReference reference) {
+        final ResolveCache cache = reference instanceof PsiElement ? getResolveCache((PsiElement) reference) : null;
+        return cache == null
+                ? resolveReferenceUncached(reference)
+                : cache.get(cache.references, (PsiElement) reference, () -> resolveReferenceUncached(reference));
+    }
+
+    @Nullable
+    static private PsiElement resolveReferenceUncached(@NotNull PsiReference reference) {
         try {
             return reference.resolve();
         } catch (Throwable error) {
@@ -38,6 +86,17 @@ final public class OpenapiResolveUtil {
 
     @Nullable
     static public PhpType resolveType(@NotNull PhpTypedElement expression, @NotNull Project project) {
+        final ResolveCache cache = getResolveCache(expression);
+        if (cache == null) {
+            return resolveTypeUncached(expression, project);
+        }
+        /* PhpType is mutable, callers are getting their own copy */
+        final PhpType resolved = cache.get(cache.types, expression, () -> resolveTypeUncached(expression, project));
+        return resolved == null ? null : new PhpType().add(resolved);
+    }
+
+    @Nullable
+    static private PhpType resolveTypeUncached(@NotNull PhpTypedElement expression, @NotNull Project project) {
         try {
             return expression.getType().global(project);
         } catch (Throwable error) {
@@ -1,7 +1,6 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.psi.elements.*;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
@@ -23,8 +22,14 @@ import java.util.stream.Collectors;
 public class PossibleValuesDiscoveryUtil {
     @NotNull
     static public Set<PsiElement> discover(@NotNull PsiElement expression) {
+        return discover(expression, AnalysisBudget.create());
+    }
+
+    /* expressions which were not expanded due to the exhausted budget are returned as they are */
+    @NotNull
+    static public Set<PsiElement> discover(@NotNull PsiElement expression, @NotNull AnalysisBudget budget) {
         final Set<PsiElement> processed      = new HashSet<>();
-        final Set<PsiElement> result         = discover(expression, processed);
+        final Set<PsiElement> result         = discover(expression, processed, budget);
         final Set<PsiElement> filteredResult = result.stream().filter(Objects::nonNull).collect(Collectors.toSet());
         processed.clear();
         result.clear();
@@ -32,7 +37,9 @@ public class PossibleValuesDiscoveryUtil {
     }
 
     @NotNull
-    static private Set<PsiElement> discover(@NotNull PsiElement expression, @NotNull Set<PsiElement> processed) {
+    static private Set<PsiElement> discover(
+            @NotNull PsiElement expression, @NotNull Set<PsiElement> processed, @NotNull AnalysisBudget budget
+    ) {
         /* un-wrap parenthesises to avoid false-positives */
         expression = ExpressionSemanticUtil.getExpressionTroughParenthesis(expression);
 
@@ -43,37 +50,47 @@ public class PossibleValuesDiscoveryUtil {
         }
         processed.add(expression);
 
-        /* Case 1: ternary, recursively check variants */
-        if (expression instanceof TernaryExpression) {
-            handleTernary((TernaryExpression) expression, result, processed);
+        /* out of budget: keep the expression as it is, so callers are treating it as an unknown value */
+        if (!budget.enter()) {
+            result.add(expression);
             return result;
         }
+        try {
+            /* Case 1: ternary, recursively check variants */
+            if (expression instanceof TernaryExpression) {
+                handleTernary((TernaryExpression) expression, result, processed, budget);
+                return result;
+            }
 
-        /* Case 2: parameter defaults, assignments */
-        if (expression instanceof Variable) {
-            handleVariable((Variable) expression, result, processed);
-            return result;
-        }
+            /* Case 2: parameter defaults, assignments */
+            if (expression instanceof Variable) {
+                handleVariable((Variable) expression, result, processed, budget);
+                return result;
+            }
 
-        /* Case 3: default value discovery */
-        if (expression instanceof FieldReference) {
-            handleClassFieldReference((FieldReference) expression, result, processed);
-            return result;
-        }
+            /* Case 3: default value discovery */
+            if (expression instanceof FieldReference) {
+                handleClassFieldReference((FieldReference) expression, result, processed, budget);
+                return result;
+            }
 
-        /* Case 4: constants value discovery */
-        if (expression instanceof ClassConstantReference) {
-            handleClassConstantReference((ClassConstantReference) expression, result);
+            /* Case 4: constants value discovery */
+            if (expression instanceof ClassConstantReference) {
+                handleClassConstantReference((ClassConstantReference) expression, result);
+                return result;
+            }
+
+            /* default case: add expression itself */
+            result.add(expression);
             return result;
+        } finally {
+            budget.leave();
         }
-
-        /* default case: add expression itself */
-        result.add(expression);
-        return result;
     }
 
     static private void handleVariable(
-            @NotNull Variable variable, @NotNull Set<PsiElement> result, @NotNull Set<PsiElement> processed
+            @NotNull Variable variable, @NotNull Set<PsiElement> result, @NotNull Set<PsiElement> processed,
+            @NotNull AnalysisBudget budget
     ) {
         final String variableName = variable.getName();
         final Function callable   = StringUtils.isEmpty(variableName) ? null : ExpressionSemanticUtil.getScope(variable);
@@ -82,31 +99,23 @@ public class PossibleValuesDiscoveryUtil {
         }
 
         /* collect default value if variable is a parameter */
-        for (Parameter parameter : callable.getParameters()) {
-            final PsiElement defaultValue = parameter.getDefaultValue();
-            if (null != defaultValue && parameter.getName().equals(variableName)) {
-                result.add(defaultValue);
-                break;
-            }
+        final PsiElement defaultValue = FunctionAssignmentsUtil.getParameterDefault(callable, variableName);
+        if (null != defaultValue) {
+            result.add(defaultValue);
         }
 
-        final GroupStatement body = ExpressionSemanticUtil.getGroupStatement(callable);
-        for (AssignmentExpression expression : PsiTreeUtil.findChildrenOfType(body, AssignmentExpression.class)) {
+        for (AssignmentExpression expression : FunctionAssignmentsUtil.getVariableAssignments(callable, variableName)) {
             /* TODO: probable bug - self-assignment does not override instance of */
             if (expression instanceof SelfAssignmentExpression) {
                 continue;
             }
 
-            final PsiElement container   = expression.getVariable();
             final PsiElement storedValue = expression.getValue();
-            if (null != storedValue && container instanceof Variable) {
-                final String containerName = ((Variable) container).getName();
-                if (containerName.equals(variableName)) {
-                    final Set<PsiElement> discoveredWrites = discover(storedValue, processed);
-                    if (discoveredWrites.size() > 0) {
-                        result.addAll(discoveredWrites);
-                        discoveredWrites.clear();
-                    }
+            if (null != storedValue) {
+                final Set<PsiElement> discoveredWrites = discover(storedValue, processed, budget);
+                if (discoveredWrites.size() > 0) {
+                    result.addAll(discoveredWrites);
+                    discoveredWrites.clear();
                 }
             }
         }
@@ -127,7 +136,8 @@ public class PossibleValuesDiscoveryUtil {
     }
 
     static private void handleClassFieldReference(
-            @NotNull FieldReference reference, @NotNull Set<PsiElement> result, @NotNull Set<PsiElement> processed
+            @NotNull FieldReference reference, @NotNull Set<PsiElement> result, @NotNull Set<PsiElement> processed,
+            @NotNull AnalysisBudget budget
     ) {
         final String fieldName             = reference.getName();
         final PsiElement resolvedReference = StringUtils.isEmpty(fieldName) ? null : OpenapiResolveUtil.resolveReference(reference);
@@ -142,9 +152,8 @@ public class PossibleValuesDiscoveryUtil {
 
         /* TODO: inspect own constructor for overriding property there */
         final Function callable = ExpressionSemanticUtil.getScope(reference);
-        if (null != callable) {
-            final GroupStatement body = ExpressionSemanticUtil.getGroupStatement(callable);
-            for (AssignmentExpression expression : PsiTreeUtil.findChildrenOfType(body, AssignmentExpression.class)) {
+        if (null != callable && !StringUtils.isEmpty(fieldName)) {
+            for (AssignmentExpression expression : FunctionAssignmentsUtil.getFieldAssignments(callable, fieldName)) {
                 /* TODO: probable bug - self-assignment does not override instance of */
                 /* TODO: multi-assignments */
                 if (expression instanceof SelfAssignmentExpression) {
@@ -153,17 +162,11 @@ public class PossibleValuesDiscoveryUtil {
 
                 final PsiElement container   = expression.getVariable();
                 final PsiElement storedValue = expression.getValue();
-                if (null != storedValue && container instanceof FieldReference) {
-                    final String containerName = ((FieldReference) container).getName();
-                    if (
-                        null != containerName && containerName.equals(fieldName) &&
-                        OpeanapiEquivalenceUtil.areEqual(container, reference)
-                    ) {
-                        final Set<PsiElement> discoveredWrites = discover(storedValue, processed);
-                        if (discoveredWrites.size() > 0) {
-                            result.addAll(discoveredWrites);
-                            discoveredWrites.clear();
-                        }
+                if (null != storedValue && null != container && OpeanapiEquivalenceUtil.areEqual(container, reference)) {
+                    final Set<PsiElement> discoveredWrites = discover(storedValue, processed, budget);
+                    if (discoveredWrites.size() > 0) {
+                        result.addAll(discoveredWrites);
+                        discoveredWrites.clear();
                     }
                 }
             }
@@ -171,19 +174,20 @@ public class PossibleValuesDiscoveryUtil {
     }
 
     static private void handleTernary(
-            @NotNull TernaryExpression ternary, @NotNull Set<PsiElement> result, @NotNull Set<PsiElement> processed
+            @NotNull TernaryExpression ternary, @NotNull Set<PsiElement> result, @NotNull Set<PsiElement> processed,
+            @NotNull AnalysisBudget budget
     ) {
         final PsiElement trueVariant  = ternary.getTrueVariant();
         final PsiElement falseVariant = ternary.getFalseVariant();
         if (trueVariant != null && falseVariant != null) {
             /* discover true and false branches */
-            final Set<PsiElement> trueVariants = discover(trueVariant, processed);
+            final Set<PsiElement> trueVariants = discover(trueVariant, processed, budget);
             if (!trueVariants.isEmpty()) {
                 result.addAll(trueVariants);
                 trueVariants.clear();
             }
 
-            final Set<PsiElement> falseVariants = discover(falseVariant, processed);
+            final Set<PsiElement> falseVariants = discover(falseVariant, processed, budget);
             if (!falseVariants.isEmpty()) {
                 result.addAll(falseVariants);
                 falseVariants.clear();
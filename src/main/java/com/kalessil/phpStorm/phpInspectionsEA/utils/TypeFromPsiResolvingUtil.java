@@ -1,5 +1,6 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.tree.IElementType;
@@ -13,16 +14,21 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
 
 final public class TypeFromPsiResolvingUtil {
 
     /** adds type, handling | and #, invoking signatures resolving */
-    private static void storeAsTypeWithSignaturesImport(String typeToImport, @Nullable Function scope, @NotNull PhpIndex index, @NotNull Set<String> typesSet) {
+    private static void storeAsTypeWithSignaturesImport(
+        String typeToImport,
+        @Nullable Function scope,
+        @NotNull PhpIndex index,
+        @NotNull Project project,
+        @NotNull Set<String> typesSet
+    ) {
         if (typeToImport.contains("|")) {
             for (String oneType : typeToImport.split("\\|")) {
-                storeAsTypeWithSignaturesImport(Types.getType(oneType), scope, index, typesSet);
+                storeAsTypeWithSignaturesImport(Types.getType(oneType), scope, index, project, typesSet);
             }
             return;
         }
@@ -32,7 +38,7 @@ final public class TypeFromPsiResolvingUtil {
         }
 
         if (typeToImport.contains("#")) {
-            TypeFromSignatureResolvingUtil.resolveSignature(typeToImport, scope, index, typesSet);
+            TypeFromSignatureResolvingUtil.resolveSignature(typeToImport, scope, index, project, typesSet);
             return;
         }
 
@@ -40,7 +46,7 @@ final public class TypeFromPsiResolvingUtil {
     }
 
     /** high-level resolving logic */
-    public static void resolveExpressionType(PsiElement objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
+    public static void resolveExpressionType(PsiElement objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
         objSubjectExpression = ExpressionSemanticUtil.getExpressionTroughParenthesis(objSubjectExpression);
 
         if (objSubjectExpression instanceof ArrayCreationExpression) {
@@ -83,7 +89,7 @@ final public class TypeFromPsiResolvingUtil {
                 !StringUtils.isEmpty(strVariableName) && strVariableName.charAt(0) == '_' &&
                 ExpressionCostEstimateUtil.predefinedVars.contains(strVariableName)
             ) {
-                storeAsTypeWithSignaturesImport(Types.strArray, objScope, objIndex, objTypesSet);
+                storeAsTypeWithSignaturesImport(Types.strArray, objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
                 return;
             }
 //
@@ -96,7 +102,7 @@ final public class TypeFromPsiResolvingUtil {
 //            }
 
             /* try with signature */
-            storeAsTypeWithSignaturesImport(((Variable) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(((Variable) objSubjectExpression).getSignature(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
             /* try with PS itself, makes e.g. parameters resolves happen */
             if (objTypesSet.isEmpty()) {
                 for (String resolvedType : ((Variable) objSubjectExpression).getType().filterUnknown().getTypes()) {
@@ -115,7 +121,7 @@ final public class TypeFromPsiResolvingUtil {
             if ((var instanceof PhpTypedElement) && ((PhpTypedElement) var).getType().equals(PhpType.STRING)) {
                 objTypesSet.add(Types.strString);
             }
-            storeAsTypeWithSignaturesImport(((ArrayAccessExpression) objSubjectExpression).getType().toString(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(((ArrayAccessExpression) objSubjectExpression).getType().toString(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
             return;
         }
 
@@ -129,26 +135,26 @@ final public class TypeFromPsiResolvingUtil {
         if (objSubjectExpression instanceof PsiReference) {
             PsiElement target = OpenapiResolveUtil.resolveReference((PsiReference) objSubjectExpression);
             if (target instanceof PhpTypedElement) {
-                storeAsTypeWithSignaturesImport(((PhpTypedElement) target).getType().toString(), objScope, objIndex, objTypesSet);
+                storeAsTypeWithSignaturesImport(((PhpTypedElement) target).getType().toString(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
                 return;
             }
         }
 
         // fallback if not resolved
         if (objSubjectExpression instanceof ClassConstantReference) {
-            storeAsTypeWithSignaturesImport(((ClassConstantReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(((ClassConstantReference) objSubjectExpression).getSignature(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
             return;
         }
         if (objSubjectExpression instanceof FieldReference) {
-            storeAsTypeWithSignaturesImport(((FieldReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(((FieldReference) objSubjectExpression).getSignature(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
             return;
         }
         if (objSubjectExpression instanceof MethodReference) {
-            storeAsTypeWithSignaturesImport(((MethodReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(((MethodReference) objSubjectExpression).getSignature(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
             return;
         }
         if (objSubjectExpression instanceof FunctionReference) {
-            storeAsTypeWithSignaturesImport(((FunctionReference) objSubjectExpression).getSignature(), objScope, objIndex, objTypesSet);
+            storeAsTypeWithSignaturesImport(((FunctionReference) objSubjectExpression).getSignature(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
             return;
         }
 
@@ -165,16 +171,16 @@ final public class TypeFromPsiResolvingUtil {
         /* TODO: check which case is not worked out */
     }
 
-    private static void checkCallables(ArrayCreationExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
+    private static void checkCallables(ArrayCreationExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
         final PsiElement[] children = objSubjectExpression.getChildren();
         if ((children.length == 2) && (children[0] instanceof PhpPsiElement) && (children[1] instanceof PhpPsiElement)) {
-            HashSet<String> itemMethodType = new HashSet<>();
+            final Set<String> itemMethodType = new TypesSet();
             resolveExpressionType(((PhpPsiElement) children[1]).getFirstPsiChild(), objScope, objIndex, itemMethodType);
             if (!itemMethodType.contains(Types.strString)) {
                 return;
             }
 
-            HashSet<String> itemClassType = new HashSet<>();
+            final Set<String> itemClassType = new TypesSet();
             resolveExpressionType(((PhpPsiElement) children[0]).getFirstPsiChild(), objScope, objIndex, itemClassType);
             if (!itemClassType.contains(Types.strString)) {
                 boolean isObject = false;
@@ -194,17 +200,17 @@ final public class TypeFromPsiResolvingUtil {
     }
 
     /** resolve numbers and exotic structures, eg list() = .... */
-    private static void resolvePhpExpression(PhpExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+    private static void resolvePhpExpression(PhpExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
     }
 
     /** Will resolve self-assignments */
-    private static void resolveSelfAssignmentExpression(SelfAssignmentExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+    private static void resolveSelfAssignmentExpression(SelfAssignmentExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
     }
 
     /** Will resolve type of new expression */
-    private static void resolveNewExpression(NewExpression objSubjectExpression, HashSet<String> objTypesSet) {
+    private static void resolveNewExpression(NewExpression objSubjectExpression, Set<String> objTypesSet) {
         ClassReference objClassRef = objSubjectExpression.getClassReference();
         if (null == objClassRef || null == objClassRef.getFQN()) {
             objTypesSet.add(Types.strResolvingAbortedOnPsiLevel);
@@ -215,7 +221,7 @@ final public class TypeFromPsiResolvingUtil {
     }
 
     /** resolve some of binary expressions . | && | || */
-    private static void resolveBinaryExpression (BinaryExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
+    private static void resolveBinaryExpression (BinaryExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
         PsiElement objOperation = objSubjectExpression.getOperation();
         if (null == objOperation) {
             return;
@@ -230,11 +236,11 @@ final public class TypeFromPsiResolvingUtil {
             return;
         }
 
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
     }
 
     /** Resolve type casting expressions */
-    private static void resolveUnaryExpression (UnaryExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
+    private static void resolveUnaryExpression (UnaryExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
         PsiElement objOperation = objSubjectExpression.getOperation();
         if (null == objOperation) {
             return;
@@ -258,11 +264,11 @@ final public class TypeFromPsiResolvingUtil {
             return;
         }
 
-        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(objSubjectExpression.getType().toString(), objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
     }
 
     /** Will resolve constants references */
-    private static void resolveConstantReference (ConstantReference objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
+    private static void resolveConstantReference (ConstantReference objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
         if (PhpLanguageUtil.isBoolean(objSubjectExpression)) {
             objTypesSet.add(Types.strBoolean);
             return;
@@ -281,11 +287,11 @@ final public class TypeFromPsiResolvingUtil {
             types = objSubjectExpression.getType().toString();
         }
 
-        storeAsTypeWithSignaturesImport(types, objScope, objIndex, objTypesSet);
+        storeAsTypeWithSignaturesImport(types, objScope, objIndex, objSubjectExpression.getProject(), objTypesSet);
     }
 
     /** Will resolve ternary operator */
-    private static void resolveTernaryOperator (TernaryExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, HashSet<String> objTypesSet) {
+    private static void resolveTernaryOperator (TernaryExpression objSubjectExpression, @Nullable Function objScope, PhpIndex objIndex, Set<String> objTypesSet) {
         if (null != objSubjectExpression.getTrueVariant()) {
             resolveExpressionType(objSubjectExpression.getTrueVariant(), objScope, objIndex, objTypesSet);
         }
@@ -1,35 +1,92 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 final class TypeFromSignatureResolvingUtil {
+    /* scope-independent index lookups, shared by all callers until the next PSI modification */
+    final static private Key<CachedValue<Map<String, List<String>>>> functionsTypesKey = Key.create("EA.functionsTypes");
+    final static private Key<CachedValue<Map<String, Set<String>>>> slotsTypesKey      = Key.create("EA.slotsTypes");
+
+    /* resolved outside of the map, so index lookups don't hold its locks: a race costs a duplicate lookup only */
+    @NotNull
+    static private <T> T getCached(
+        @NotNull Project project,
+        @NotNull Key<CachedValue<Map<String, T>>> key,
+        @NotNull String entry,
+        @NotNull Supplier<T> resolver
+    ) {
+        final Map<String, T> cache = CachedValuesManager.getManager(project).getCachedValue(
+            project,
+            key,
+            () -> CachedValueProvider.Result.create(new ConcurrentHashMap<String, T>(), PsiModificationTracker.MODIFICATION_COUNT),
+            false
+        );
+        T result = cache.get(entry);
+        if (result == null) {
+            final T resolved = resolver.get();
+            result           = cache.putIfAbsent(entry, resolved);
+            if (result == null) {
+                result = resolved;
+            }
+        }
+        return result;
+    }
 
     static void resolveSignature(
             @Nullable String signatureToResolve,
             @Nullable Function scope,
             @NotNull PhpIndex projectIndex,
+            @NotNull Project project,
             @NotNull Set<String> extractedTypes
     ) {
         Set<String> processedSignatures = new HashSet<>();
-        resolveSignature(signatureToResolve, scope, projectIndex, extractedTypes, processedSignatures);
+        resolveSignature(signatureToResolve, scope, projectIndex, project, extractedTypes, processedSignatures, AnalysisBudget.create());
         processedSignatures.clear();
     }
 
-    static private void resolveSignature (
+    static private void resolveSignature(
+            @Nullable String strSignatureToResolve,
+            @Nullable Function objScope,
+            @NotNull PhpIndex objIndex,
+            @NotNull Project project,
+            @NotNull Set<String> extractedTypesSet,
+            @NotNull Set<String> processedSignatures,
+            @NotNull AnalysisBudget budget
+    ) {
+        /* out of budget: the type stays unknown, as it happens when PSI-level resolving gets aborted */
+        if (!budget.enter()) {
+            extractedTypesSet.add(Types.strResolvingAbortedOnPsiLevel);
+            return;
+        }
+        try {
+            resolveSignatureVariant(strSignatureToResolve, objScope, objIndex, project, extractedTypesSet, processedSignatures, budget);
+        } finally {
+            budget.leave();
+        }
+    }
+
+    static private void resolveSignatureVariant(
             @Nullable String strSignatureToResolve,
             @Nullable Function objScope,
             @NotNull PhpIndex objIndex,
+            @NotNull Project project,
             @NotNull Set<String> extractedTypesSet,
-            @NotNull Set<String> processedSignatures
+            @NotNull Set<String> processedSignatures,
+            @NotNull AnalysisBudget budget
     ) {
         /* do nothing with empty signatures and already processed signatures */
         if (StringUtils.isEmpty(strSignatureToResolve) || processedSignatures.contains(strSignatureToResolve)) {
@@ -40,7 +97,7 @@ final class TypeFromSignatureResolvingUtil {
         /* re-dispatch poly-variants to single-variant processing */
         if (strSignatureToResolve.contains("|")) {
             for (String strOneVariantFromSplitToResolve : strSignatureToResolve.split("\\|")) {
-                resolveSignature(strOneVariantFromSplitToResolve, objScope, objIndex, extractedTypesSet, processedSignatures);
+                resolveSignature(strOneVariantFromSplitToResolve, objScope, objIndex, project, extractedTypesSet, processedSignatures, budget);
             }
             return;
         }
@@ -65,17 +122,12 @@ final class TypeFromSignatureResolvingUtil {
 
         /* resolve functions */
         if (charTypeOfSignature == 'F') {
-            String strFunctionName = strSignatureToResolve.replace("#F", "");
-            Collection<Function> objFunctionsCollection = objIndex.getFunctionsByName(strFunctionName);
-            for (Function objFunction : objFunctionsCollection) {
-                /*
-                 * infinity loop was discovered for drupal 7 (drupal_find_base_themes)
-                 * IDE for some reason resolved type including self-reference of this function
-                 */
-                String strTypeWithoutLoop = objFunction.getType().toString().replace("#F" + strFunctionName, "");
-                resolveSignature(strTypeWithoutLoop, objScope, objIndex, extractedTypesSet, processedSignatures);
+            final String strFunctionName     = strSignatureToResolve.replace("#F", "");
+            final List<String> functionTypes
+                    = getCached(project, functionsTypesKey, strFunctionName, () -> resolveFunctionsTypes(strFunctionName, objIndex));
+            for (final String strTypeWithoutLoop : functionTypes) {
+                resolveSignature(strTypeWithoutLoop, objScope, objIndex, project, extractedTypesSet, processedSignatures, budget);
             }
-            objFunctionsCollection.clear();
 
             return;
         }
@@ -86,7 +138,7 @@ final class TypeFromSignatureResolvingUtil {
             if (null != objScope) {
                 for (Parameter objParam : objScope.getParameters()) {
                     if (objParam.getName().equals(strParameterOrVariableName)) {
-                        resolveSignature(objParam.getType().toString(), objScope, objIndex, extractedTypesSet, processedSignatures);
+                        resolveSignature(objParam.getType().toString(), objScope, objIndex, project, extractedTypesSet, processedSignatures, budget);
                         return;
                     }
                 }
@@ -128,7 +180,7 @@ final class TypeFromSignatureResolvingUtil {
             String[] arrChain = arrInternalsAndChain[1].split("\\.");
             String strClassResolved = null;
 
-            HashSet<String> typesOfSlotSet = null;
+            Set<String> typesOfSlotSet = null;
             boolean isLastPair;
             boolean isPolyVariant;
 
@@ -147,7 +199,7 @@ final class TypeFromSignatureResolvingUtil {
                 }
 
                 /* resolve pair */
-                typesOfSlotSet = resolveSlot(strClassResolved, strSlot, objIndex, charTypeOfSignature);
+                typesOfSlotSet = resolveSlotCached(strClassResolved, strSlot, objIndex, project, charTypeOfSignature);
 
 
                 /*
@@ -178,14 +230,12 @@ final class TypeFromSignatureResolvingUtil {
                 /* break on poly-variant/no-variant in middle of chain */
                 isPolyVariant = (intCountNotMixedTypes > 1);
                 if (!isLastPair && (isPolyVariant || StringUtils.isEmpty(strClassResolved))) {
-                    typesOfSlotSet.add(Types.strClassNotResolved);
                     return;
                 }
 
                 /* break looking up if pair is not resolved */
                 //noinspection ConstantConditions
                 if (strClassResolved.equals(Types.strClassNotResolved)) {
-                    typesOfSlotSet.add(Types.strClassNotResolved);
                     return;
                 }
             }
@@ -194,13 +244,38 @@ final class TypeFromSignatureResolvingUtil {
             if (null != typesOfSlotSet && typesOfSlotSet.size() > 0) {
                 /* store resolved types by re-running resolving */
                 for (String strType : typesOfSlotSet) {
-                    resolveSignature(strType, objScope, objIndex, extractedTypesSet, processedSignatures);
+                    resolveSignature(strType, objScope, objIndex, project, extractedTypesSet, processedSignatures, budget);
                 }
-                typesOfSlotSet.clear();
             }
         }
     }
 
+    @NotNull
+    private static List<String> resolveFunctionsTypes(@NotNull String strFunctionName, @NotNull PhpIndex objIndex) {
+        final List<String> result                         = new ArrayList<>();
+        final Collection<Function> objFunctionsCollection = objIndex.getFunctionsByName(strFunctionName);
+        for (final Function objFunction : objFunctionsCollection) {
+            /*
+             * infinity loop was discovered for drupal 7 (drupal_find_base_themes)
+             * IDE for some reason resolved type including self-reference of this function
+             */
+            result.add(objFunction.getType().toString().replace("#F" + strFunctionName, ""));
+        }
+        objFunctionsCollection.clear();
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /* the cached set is shared, hence read-only */
+    private static Set<String> resolveSlotCached(String strClass, String strSlot, PhpIndex objIndex, Project project, char type) {
+        return getCached(
+            project,
+            slotsTypesKey,
+            type + strClass + '.' + strSlot,
+            () -> Collections.unmodifiableSet(resolveSlot(strClass, strSlot, objIndex, type))
+        );
+    }
+
     private static HashSet<String> resolveSlot(String strClass, String strSlot, PhpIndex objIndex, char type) {
         HashSet<String> resolvedTypesSet = new HashSet<>();
 
@@ -26,68 +26,79 @@ final public class Types {
     final static public String strResolvingAbortedOnPsiLevel = "\\aborted-on-psi-level";
     final static public String strClassNotResolved           = "\\class-not-resolved";
 
-    static private Map<String, String> mapTypes = null;
-    static private Map<String, String> getTypesMap () {
-        if (null == mapTypes) {
-            mapTypes = new HashMap<>();
+    /* interned primitive types: ids are bit positions in TypesSet */
+    final static private String[] primitives = {
+        strArray, strIterable, strString, strBoolean, strInteger, strFloat, strNumber, strNull, strVoid, strMixed,
+        strCallable, strResource, strStatic, strSelf, strObject, strEmptySet,
+        strResolvingAbortedOnPsiLevel, strClassNotResolved
+    };
+    final static private Map<String, Integer> primitivesIds = new HashMap<>();
+
+    final static private Map<String, String> mapTypes = new HashMap<>();
+    static private int mapTypesMaxKeyLength           = 0;
+    static {
+        for (int id = 0; id < primitives.length; ++id) {
+            primitivesIds.put(primitives[id], id);
+        }
 
-            mapTypes.put(strArray,     strArray);
-            mapTypes.put("\\array",    strArray);
+        mapTypes.put(strArray,     strArray);
+        mapTypes.put("\\array",    strArray);
 
-            mapTypes.put(strIterable,  strIterable);
-            mapTypes.put("\\iterable", strIterable);
+        mapTypes.put(strIterable,  strIterable);
+        mapTypes.put("\\iterable", strIterable);
 
-            mapTypes.put(strString,    strString);
-            mapTypes.put("\\string",   strString);
+        mapTypes.put(strString,    strString);
+        mapTypes.put("\\string",   strString);
 
-            mapTypes.put(strBoolean,   strBoolean);
-            mapTypes.put("\\bool",     strBoolean);
-            mapTypes.put("boolean",    strBoolean);
-            mapTypes.put("\\boolean",  strBoolean);
-            mapTypes.put("false",      strBoolean);
-            mapTypes.put("\\false",    strBoolean);
-            mapTypes.put("true",       strBoolean);
-            mapTypes.put("\\true",     strBoolean);
+        mapTypes.put(strBoolean,   strBoolean);
+        mapTypes.put("\\bool",     strBoolean);
+        mapTypes.put("boolean",    strBoolean);
+        mapTypes.put("\\boolean",  strBoolean);
+        mapTypes.put("false",      strBoolean);
+        mapTypes.put("\\false",    strBoolean);
+        mapTypes.put("true",       strBoolean);
+        mapTypes.put("\\true",     strBoolean);
 
-            mapTypes.put(strInteger,   strInteger);
-            mapTypes.put("\\int",      strInteger);
-            mapTypes.put("integer",    strInteger);
-            mapTypes.put("\\integer",  strInteger);
+        mapTypes.put(strInteger,   strInteger);
+        mapTypes.put("\\int",      strInteger);
+        mapTypes.put("integer",    strInteger);
+        mapTypes.put("\\integer",  strInteger);
 
-            mapTypes.put(strFloat,     strFloat);
-            mapTypes.put("\\float",    strFloat);
+        mapTypes.put(strFloat,     strFloat);
+        mapTypes.put("\\float",    strFloat);
 
-            mapTypes.put(strNumber,    strNumber);
-            mapTypes.put("\\number",   strNumber);
+        mapTypes.put(strNumber,    strNumber);
+        mapTypes.put("\\number",   strNumber);
 
-            mapTypes.put(strNull,      strNull);
-            mapTypes.put("\\null",     strNull);
+        mapTypes.put(strNull,      strNull);
+        mapTypes.put("\\null",     strNull);
 
-            mapTypes.put(strVoid,      strVoid);
-            mapTypes.put("\\void",     strVoid);
+        mapTypes.put(strVoid,      strVoid);
+        mapTypes.put("\\void",     strVoid);
 
-            mapTypes.put(strMixed,     strMixed);
-            mapTypes.put("\\mixed",    strMixed);
+        mapTypes.put(strMixed,     strMixed);
+        mapTypes.put("\\mixed",    strMixed);
 
-            mapTypes.put(strCallable,  strCallable);
-            mapTypes.put("\\callable", strCallable);
-            mapTypes.put("\\closure",  strCallable);
+        mapTypes.put(strCallable,  strCallable);
+        mapTypes.put("\\callable", strCallable);
+        mapTypes.put("\\closure",  strCallable);
 
-            mapTypes.put(strResource,  strResource);
-            mapTypes.put("\\resource", strResource);
+        mapTypes.put(strResource,  strResource);
+        mapTypes.put("\\resource", strResource);
 
-            mapTypes.put(strStatic,    strStatic);
-            mapTypes.put("\\static",   strStatic);
-            mapTypes.put("$this",      strStatic);
+        mapTypes.put(strStatic,    strStatic);
+        mapTypes.put("\\static",   strStatic);
+        mapTypes.put("$this",      strStatic);
 
-            mapTypes.put(strSelf,      strSelf);
-            mapTypes.put("\\self",     strSelf);
+        mapTypes.put(strSelf,      strSelf);
+        mapTypes.put("\\self",     strSelf);
 
-            mapTypes.put(strObject,    strObject);
-            mapTypes.put("\\object",   strObject);
-        }
+        mapTypes.put(strObject,    strObject);
+        mapTypes.put("\\object",   strObject);
 
-        return mapTypes;
+        for (final String key : mapTypes.keySet()) {
+            mapTypesMaxKeyLength = Math.max(mapTypesMaxKeyLength, key.length());
+        }
     }
 
     public static String getType (@NotNull String givenType) {
@@ -96,11 +107,26 @@ final public class Types {
             return strArray;
         }
 
-        final String resolvedType = getTypesMap().get(givenType.toLowerCase());
+        /* lower-casing only when the exact spelling is unknown and could still be a primitive */
+        String resolvedType = mapTypes.get(givenType);
+        if (null == resolvedType && givenType.length() <= mapTypesMaxKeyLength) {
+            resolvedType = mapTypes.get(givenType.toLowerCase());
+        }
         if (null != resolvedType) {
             return resolvedType;
         }
 
         return givenType;
     }
+
+    /* -1 for classes and everything else not interned */
+    static int getPrimitiveId(@NotNull String normalizedType) {
+        final Integer id = primitivesIds.get(normalizedType);
+        return null == id ? -1 : id;
+    }
+
+    @NotNull
+    static String getPrimitive(int id) {
+        return primitives[id];
+    }
 }
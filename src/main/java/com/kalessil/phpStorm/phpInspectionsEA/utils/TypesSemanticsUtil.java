@@ -1,11 +1,23 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils;
 
-import java.util.HashSet;
+import java.util.Set;
 
 final public class TypesSemanticsUtil {
+    final static private int nullType         = 1 << Types.getPrimitiveId(Types.strNull);
+    final static private int classNotResolved = 1 << Types.getPrimitiveId(Types.strClassNotResolved);
+    final static private int resolvingAborted = 1 << Types.getPrimitiveId(Types.strResolvingAbortedOnPsiLevel);
 
     /** check if nullable object interfaces */
-    public static boolean isNullableObjectInterface(HashSet<String> resolvedTypesSet) {
+    public static boolean isNullableObjectInterface(Set<String> resolvedTypesSet) {
+        /* bit masks instead of strings scanning */
+        if (resolvedTypesSet instanceof TypesSet) {
+            final TypesSet types = (TypesSet) resolvedTypesSet;
+            final int primitives = types.getPrimitives();
+            return (primitives & ~(nullType | classNotResolved | resolvingAborted)) == 0 &&
+                   (types.getClassesCount() > 0 || (primitives & resolvingAborted) != 0) &&
+                   types.hasOnlyClassReferences();
+        }
+
         int intCountTypesToInspect = resolvedTypesSet.size();
         if (resolvedTypesSet.contains(Types.strClassNotResolved)) {
             --intCountTypesToInspect;
@@ -0,0 +1,129 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* normalized types: primitives are kept as bits of Types ids, only class FQNs are stored as strings */
+final public class TypesSet extends AbstractSet<String> {
+    private int primitives      = 0;
+    private Set<String> classes = null;
+
+    @Override
+    public boolean add(@NotNull String type) {
+        final int id = Types.getPrimitiveId(type);
+        if (id >= 0) {
+            final int before = this.primitives;
+            this.primitives |= (1 << id);
+            return before != this.primitives;
+        }
+
+        if (null == this.classes) {
+            this.classes = new HashSet<>();
+        }
+        return this.classes.add(type);
+    }
+
+    @Override
+    public boolean contains(Object type) {
+        if (!(type instanceof String)) {
+            return false;
+        }
+
+        final int id = Types.getPrimitiveId((String) type);
+        if (id >= 0) {
+            return (this.primitives & (1 << id)) != 0;
+        }
+        return null != this.classes && this.classes.contains(type);
+    }
+
+    @Override
+    public boolean remove(Object type) {
+        if (!(type instanceof String)) {
+            return false;
+        }
+
+        final int id = Types.getPrimitiveId((String) type);
+        if (id >= 0) {
+            final int before = this.primitives;
+            this.primitives &= ~(1 << id);
+            return before != this.primitives;
+        }
+        return null != this.classes && this.classes.remove(type);
+    }
+
+    @Override
+    public int size() {
+        return Integer.bitCount(this.primitives) + (null == this.classes ? 0 : this.classes.size());
+    }
+
+    @Override
+    public void clear() {
+        this.primitives = 0;
+        if (null != this.classes) {
+            this.classes.clear();
+        }
+    }
+
+    /* bit mask of primitive types ids, see Types.getPrimitiveId */
+    int getPrimitives() {
+        return this.primitives;
+    }
+
+    int getClassesCount() {
+        return null == this.classes ? 0 : this.classes.size();
+    }
+
+    /* non-interned types are not necessarily classes, e.g. 'double' or 'real' */
+    boolean hasOnlyClassReferences() {
+        return null == this.classes || this.classes.stream().allMatch(type -> type.charAt(0) == '\\');
+    }
+
+    @NotNull
+    @Override
+    public Iterator<String> iterator() {
+        final Iterator<String> classesIterator = null == this.classes ? Collections.emptyIterator() : this.classes.iterator();
+        return new Iterator<String>() {
+            private int remaining            = primitives;
+            private int lastPrimitive        = -1;
+            private boolean lastWasPrimitive = false;
+
+            @Override
+            public boolean hasNext() {
+                return this.remaining != 0 || classesIterator.hasNext();
+            }
+
+            @Override
+            public String next() {
+                if (this.remaining != 0) {
+                    this.lastPrimitive    = Integer.numberOfTrailingZeros(this.remaining);
+                    this.remaining       &= ~(1 << this.lastPrimitive);
+                    this.lastWasPrimitive = true;
+                    return Types.getPrimitive(this.lastPrimitive);
+                }
+
+                this.lastWasPrimitive = false;
+                return classesIterator.next();
+            }
+
+            @Override
+            public void remove() {
+                if (this.lastWasPrimitive) {
+                    primitives &= ~(1 << this.lastPrimitive);
+                    this.lastWasPrimitive = false;
+                } else {
+                    classesIterator.remove();
+                }
+            }
+        };
+    }
+}
@@ -1,31 +1,81 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy;
 
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 final public class InterfacesExtractUtil {
-    @NotNull
-    public static HashSet<PhpClass> getCrawlInheritanceTree(@NotNull PhpClass clazz, boolean withClasses) {
-        final HashSet<PhpClass> processedItems = new HashSet<>();
+    /* crawled once per class until the next PSI modification: parents usually live in other files */
+    final static private class Hierarchy {
+        @NotNull
+        final private Set<PhpClass> withClasses;
+        @NotNull
+        final private Set<PhpClass> interfaces;
+        @NotNull
+        final private List<PhpClass> parents;
+
+        private Hierarchy(@NotNull PhpClass clazz) {
+            final Set<PhpClass> processedItems = new HashSet<>();
+            if (clazz.isInterface()) {
+                processInterface(clazz, processedItems);
+            } else {
+                processClass(clazz, processedItems);
+            }
+
+            final Set<PhpClass> interfaces = new HashSet<>();
+            for (final PhpClass candidate : processedItems) {
+                if (candidate.isInterface()) {
+                    interfaces.add(candidate);
+                }
+            }
+
+            final List<PhpClass> parents = new ArrayList<>();
+            PhpClass parent              = clazz.getSuperClass();
+            /* in source code class CAN extend itself, PS will report it but data structure is incorrect still */
+            while (parent != null && parent != clazz && !parents.contains(parent)) {
+                parents.add(parent);
+                parent = parent.getSuperClass();
+            }
 
-        if (clazz.isInterface()) {
-            processInterface(clazz, processedItems);
-        } else {
-            processClass(clazz, processedItems, withClasses);
+            this.withClasses = Collections.unmodifiableSet(processedItems);
+            this.interfaces  = Collections.unmodifiableSet(interfaces);
+            this.parents     = Collections.unmodifiableList(parents);
         }
+    }
+
+    @NotNull
+    private static Hierarchy getHierarchy(@NotNull PhpClass clazz) {
+        return CachedValuesManager.getCachedValue(
+            clazz,
+            () -> CachedValueProvider.Result.create(new Hierarchy(clazz), PsiModificationTracker.MODIFICATION_COUNT)
+        );
+    }
 
-        return processedItems;
+    /* shared and immutable: the class itself (unless it's an interface and classes are excluded), parents and interfaces */
+    @NotNull
+    public static Set<PhpClass> getInheritanceClosure(@NotNull PhpClass clazz, boolean withClasses) {
+        final Hierarchy hierarchy = getHierarchy(clazz);
+        return withClasses ? hierarchy.withClasses : hierarchy.interfaces;
     }
 
-    private static void processClass(@NotNull PhpClass clazz, @NotNull Set<PhpClass> processedItems, boolean withClasses) {
-        if (!clazz.isInterface()) {
-            if (withClasses) {
-                processedItems.add(clazz);
-            }
+    /* shared and immutable: parent classes, the nearest first */
+    @NotNull
+    public static List<PhpClass> getParentClasses(@NotNull PhpClass clazz) {
+        return getHierarchy(clazz).parents;
+    }
+
+    /* a modifiable copy of getInheritanceClosure */
+    @NotNull
+    public static HashSet<PhpClass> getCrawlInheritanceTree(@NotNull PhpClass clazz, boolean withClasses) {
+        return new HashSet<>(getInheritanceClosure(clazz, withClasses));
+    }
 
+    private static void processClass(@NotNull PhpClass clazz, @NotNull Set<PhpClass> processedItems) {
+        if (!clazz.isInterface() && processedItems.add(clazz)) {
             /* re-delegate interface handling */
             for (final PhpClass interfacee : clazz.getImplementedInterfaces()) {
                 processInterface(interfacee, processedItems);
@@ -34,7 +84,7 @@ final public class InterfacesExtractUtil {
             /* handle parent class */
             final PhpClass parent = clazz.getSuperClass();
             if (parent != null && clazz != parent) {
-                processClass(parent, processedItems, withClasses);
+                processClass(parent, processedItems);
             }
         }
     }
@@ -0,0 +1,140 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils.phpDoc;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.StubBasedPsiElement;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpFileType;
+import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
+import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocType;
+import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
+import com.jetbrains.php.lang.psi.PhpFile;
+import com.jetbrains.php.lang.psi.elements.Method;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* method FQN => FQNs declared in @throws; inherited tags can not be resolved per-file, hence stored as a marker */
+public class ThrowsIndex extends FileBasedIndexExtension<String, List<String>> {
+    public static final ID<String, List<String>> NAME = ID.create("com.kalessil.phpStorm.phpInspectionsEA.throws");
+    static final String INHERIT_DOC                   = "@inheritdoc";
+
+    @NotNull
+    @Override
+    public ID<String, List<String>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<String>, FileContent> getIndexer() {
+        return inputData -> {
+            final Map<String, List<String>> result = new HashMap<>();
+            final PsiFile file                     = inputData.getPsiFile();
+            if (file instanceof PhpFile) {
+                for (final Method method : PsiTreeUtil.findChildrenOfType(file, Method.class)) {
+                    final PhpDocComment annotations = method.getDocComment();
+                    if (annotations != null) {
+                        final List<String> declared = new ArrayList<>();
+                        for (final PhpDocTag candidate : PsiTreeUtil.findChildrenOfType(annotations, PhpDocTag.class)) {
+                            if (candidate.getName().equalsIgnoreCase("@throws")) {
+                                for (final PhpDocType type : PsiTreeUtil.findChildrenOfType(candidate, PhpDocType.class)) {
+                                    final String fqn = type.getFQN();
+                                    if (fqn != null && fqn.startsWith("\\") && !declared.contains(fqn)) {
+                                        declared.add(fqn);
+                                    }
+                                }
+                            }
+                        }
+                        if (annotations.hasInheritDocTag()) {
+                            declared.add(INHERIT_DOC);
+                        }
+                        result.put(method.getFQN(), declared);
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<String>> getValueExternalizer() {
+        return new DataExternalizer<List<String>>() {
+            @Override
+            public void save(@NotNull DataOutput out, List<String> value) throws IOException {
+                out.writeInt(value.size());
+                for (final String fqn : value) {
+                    out.writeUTF(fqn);
+                }
+            }
+
+            @Override
+            public List<String> read(@NotNull DataInput in) throws IOException {
+                final int size            = in.readInt();
+                final List<String> result = new ArrayList<>(size);
+                for (int index = 0; index < size; ++index) {
+                    result.add(in.readUTF());
+                }
+                return result;
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> file.getFileType() == PhpFileType.INSTANCE;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    /* the index pays off only while the method is stub-backed: once AST is loaded, reading the doc-block is cheaper */
+    static boolean isApplicable(@NotNull Method method) {
+        if (!(method instanceof StubBasedPsiElement) || ((StubBasedPsiElement) method).getStub() == null) {
+            return false;
+        }
+        final PsiFile file = method.getContainingFile();
+        return file != null && file.getVirtualFile() != null && file.getVirtualFile().getFileType() == PhpFileType.INSTANCE;
+    }
+
+    /* null when the method has no doc-block at all */
+    @Nullable
+    static List<String> getDeclaredThrows(@NotNull Method method) {
+        final PsiFile file = method.getContainingFile();
+        final List<List<String>> values
+            = FileBasedIndex.getInstance().getValues(NAME, method.getFQN(), GlobalSearchScope.fileScope(file));
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -1,7 +1,11 @@
 package com.kalessil.phpStorm.phpInspectionsEA.utils.phpDoc;
 
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocComment;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocType;
 import com.jetbrains.php.lang.documentation.phpdoc.psi.tags.PhpDocTag;
@@ -10,8 +14,11 @@ import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /*
@@ -28,10 +35,32 @@ final public class ThrowsResolveUtil {
         @NotNull Method method,
         @NotNull Collection<PhpClass> exceptionsRegistry
     ) {
+        /* the summary is shared by all inspections and dropped on any PSI change (inherited doc-blocks can be anywhere) */
+        final ThrowsSummary summary = CachedValuesManager.getCachedValue(
+            method,
+            () -> CachedValueProvider.Result.create(buildSummary(method), PsiModificationTracker.MODIFICATION_COUNT)
+        );
+        exceptionsRegistry.addAll(summary.exceptions);
+        return summary.isAnnotated;
+    }
+
+    @NotNull
+    static private ThrowsSummary buildSummary(@NotNull Method method) {
+        final Set<PhpClass> exceptions     = new HashSet<>();
         final Set<Method> processedMethods = new HashSet<>(); /* SOE was reported, hence the this was introduced */
-        final boolean result               = collectThrownAndInherited(method, exceptionsRegistry, processedMethods);
+        final boolean isAnnotated          = collectThrownAndInherited(method, exceptions, processedMethods);
         processedMethods.clear();
-        return result;
+        return new ThrowsSummary(isAnnotated, exceptions);
+    }
+
+    static private class ThrowsSummary {
+        final private boolean isAnnotated;
+        final private Set<PhpClass> exceptions;
+
+        ThrowsSummary(boolean isAnnotated, @NotNull Set<PhpClass> exceptions) {
+            this.isAnnotated = isAnnotated;
+            this.exceptions  = exceptions.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(exceptions);
+        }
     }
 
     static private boolean collectThrownAndInherited(
@@ -40,6 +69,37 @@ final public class ThrowsResolveUtil {
         @NotNull Collection<Method> processedMethods
     ) {
         processedMethods.add(method);
+
+        /* stub-backed methods: answer from the index, so e.g. vendor methods are not parsed into AST */
+        if (ThrowsIndex.isApplicable(method)) {
+            final List<String> declared = ThrowsIndex.getDeclaredThrows(method);
+            if (declared == null) {
+                return false;
+            }
+            final PhpIndex index          = PhpIndex.getInstance(method.getProject());
+            final List<PhpClass> resolved = new ArrayList<>();
+            boolean isAmbiguous           = false;
+            for (final String fqn : declared) {
+                if (!fqn.equals(ThrowsIndex.INHERIT_DOC)) {
+                    final Collection<PhpClass> classes = new HashSet<>(OpenapiResolveUtil.resolveClassesByFQN(fqn, index));
+                    classes.addAll(OpenapiResolveUtil.resolveInterfacesByFQN(fqn, index));
+                    /* duplicated FQNs: only the doc-block reference resolving knows which class is meant */
+                    isAmbiguous = classes.size() > 1;
+                    if (isAmbiguous) {
+                        break;
+                    }
+                    resolved.addAll(classes);
+                }
+            }
+            if (!isAmbiguous) {
+                exceptionsRegistry.addAll(resolved);
+                if (declared.contains(ThrowsIndex.INHERIT_DOC)) {
+                    collectInherited(method, exceptionsRegistry, processedMethods);
+                }
+                return true;
+            }
+        }
+
         boolean result                  = false;
         final PhpDocComment annotations = method.getDocComment();
         if (annotations != null) {
@@ -5,6 +5,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.AnalysisBudget;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeFromPlatformResolverUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
@@ -18,6 +19,32 @@ import java.util.Map;
 
 final public class CollectPossibleThrowsUtil {
     static public HashMap<PhpClass, HashSet<PsiElement>> collectNestedAndWorkflowExceptions(PsiElement scope, HashSet<PsiElement> processed, @NotNull final ProblemsHolder holder) {
+        return collectNestedAndWorkflowExceptions(scope, processed, holder, AnalysisBudget.create());
+    }
+
+    /* results are partial when the budget gets exhausted, check it before reporting absence of exceptions */
+    static public HashMap<PhpClass, HashSet<PsiElement>> collectNestedAndWorkflowExceptions(
+            PsiElement scope,
+            HashSet<PsiElement> processed,
+            @NotNull final ProblemsHolder holder,
+            @NotNull AnalysisBudget budget
+    ) {
+        if (!budget.enter()) {
+            return new HashMap<>();
+        }
+        try {
+            return collectScopeExceptions(scope, processed, holder, budget);
+        } finally {
+            budget.leave();
+        }
+    }
+
+    static private HashMap<PhpClass, HashSet<PsiElement>> collectScopeExceptions(
+            PsiElement scope,
+            HashSet<PsiElement> processed,
+            @NotNull final ProblemsHolder holder,
+            @NotNull AnalysisBudget budget
+    ) {
         final HashMap<PhpClass, HashSet<PsiElement>> exceptions = new HashMap<>();
 
         /* recursively invoke and analyse nested try-catches checks */
@@ -26,7 +53,7 @@ final public class CollectPossibleThrowsUtil {
             for (Try nestedTry : tryStatements) {
                 if (!processed.contains(nestedTry)) {
                     /* process nested workflow */
-                    final HashMap<PhpClass, HashSet<PsiElement>> nestedTryExceptions = collectNestedAndWorkflowExceptions(nestedTry, processed, holder);
+                    final HashMap<PhpClass, HashSet<PsiElement>> nestedTryExceptions = collectNestedAndWorkflowExceptions(nestedTry, processed, holder, budget);
 //holder.registerProblem(nestedTry.getFirstChild(), "Nested: " + nestedTryExceptions.toString(), ProblemHighlightType.WEAK_WARNING);
                     if (nestedTryExceptions.size() > 0) {
                         for (Map.Entry<PhpClass, HashSet<PsiElement>> nestedTryExceptionsPair : nestedTryExceptions.entrySet()) {
@@ -53,7 +80,7 @@ final public class CollectPossibleThrowsUtil {
         /* process try-catch */
         if (scope instanceof Try) {
             /* extract workflow exceptions */
-            HashMap<PhpClass, HashSet<PsiElement>> tryWorkflowExceptions = collectTryWorkflowExceptions((Try) scope, processed, holder);
+            HashMap<PhpClass, HashSet<PsiElement>> tryWorkflowExceptions = collectTryWorkflowExceptions((Try) scope, processed, holder, budget);
 //holder.registerProblem(scope.getFirstChild(), "Throws: " + tryWorkflowExceptions.toString(), ProblemHighlightType.WEAK_WARNING);
 
             /* mark processed and exit, as try-catch handled in special way */
@@ -71,6 +98,9 @@ final public class CollectPossibleThrowsUtil {
                 if (processed.contains(newExpression)) {
                     continue;
                 }
+                if (!budget.consume()) {
+                    break;
+                }
 //holder.registerProblem(newExpression, "New expression wil be analyzed", ProblemHighlightType.WEAK_WARNING);
 
                 /* skip what can not be resolved */
@@ -139,6 +169,9 @@ final public class CollectPossibleThrowsUtil {
                 if (processed.contains(throwExpression)) {
                     continue;
                 }
+                if (!budget.consume()) {
+                    break;
+                }
 
                 /* resolve argument */
                 PsiElement argument = throwExpression.getArgument();
@@ -185,6 +218,9 @@ final public class CollectPossibleThrowsUtil {
                 if (processed.contains(call)) {
                     continue;
                 }
+                if (!budget.consume()) {
+                    break;
+                }
 
                 PsiElement methodResolved = OpenapiResolveUtil.resolveReference(call);
                 if (methodResolved instanceof Method) {
@@ -213,11 +249,16 @@ final public class CollectPossibleThrowsUtil {
         return exceptions;
     }
 
-    static private HashMap<PhpClass, HashSet<PsiElement>> collectTryWorkflowExceptions(Try scope, HashSet<PsiElement> processed, @NotNull final ProblemsHolder holder) {
+    static private HashMap<PhpClass, HashSet<PsiElement>> collectTryWorkflowExceptions(
+            Try scope,
+            HashSet<PsiElement> processed,
+            @NotNull final ProblemsHolder holder,
+            @NotNull AnalysisBudget budget
+    ) {
         final HashMap<PhpClass, HashSet<PsiElement>> exceptions = new HashMap<>();
 
         /* resolve try-body */
-        final HashMap<PhpClass, HashSet<PsiElement>> unhandledInTry = collectNestedAndWorkflowExceptions(scope.getStatement(), processed, holder);
+        final HashMap<PhpClass, HashSet<PsiElement>> unhandledInTry = collectNestedAndWorkflowExceptions(scope.getStatement(), processed, holder, budget);
 
         /* resolve all catches */
         final HashMap<PhpClass, HashSet<PsiElement>> unhandledInCatches = new HashMap<>();
@@ -265,7 +306,7 @@ final public class CollectPossibleThrowsUtil {
             catchClassReferences.clear();
 
             /* resolve catch-body and mark as processed */
-            final HashMap<PhpClass, HashSet<PsiElement>> catchBodyExceptions = collectNestedAndWorkflowExceptions(catchInTry, processed, holder);
+            final HashMap<PhpClass, HashSet<PsiElement>> catchBodyExceptions = collectNestedAndWorkflowExceptions(catchInTry, processed, holder, budget);
             if (catchBodyExceptions.size() > 0) {
                 for (Map.Entry<PhpClass, HashSet<PsiElement>> catchBodyExceptionsPair : catchBodyExceptions.entrySet()) {
                     /* extract pairs Exception class => source expressions */
@@ -0,0 +1,103 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils.profiling;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* opt-in local profiler: the data never leaves the machine, it's only dumped into the IDE logs folder */
+final public class InspectionsProfiler {
+    final private static Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        final EASettings settings = EASettings.getInstance();
+        return settings != null && settings.isProfilingEnabled();
+    }
+
+    @NotNull
+    public static PsiElementVisitor wrap(@NotNull String inspection, @NotNull PsiElementVisitor visitor) {
+        if (visitor == PsiElementVisitor.EMPTY_VISITOR) {
+            return visitor;
+        }
+        final Statistics target = statistics.computeIfAbsent(inspection, key -> new Statistics());
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                final long allocatedBefore = getAllocatedBytes();
+                final long start           = System.nanoTime();
+                try {
+                    element.accept(visitor);
+                } finally {
+                    final long allocated = getAllocatedBytes() - allocatedBefore;
+                    target.wallTime.add(System.nanoTime() - start);
+                    target.invocations.increment();
+                    if (allocated > 0) {
+                        target.allocatedBytes.add(allocated);
+                    }
+                }
+            }
+        };
+    }
+
+    public static void reset() {
+        statistics.clear();
+    }
+
+    @NotNull
+    public static File dump() throws IOException {
+        final List<Map.Entry<String, Statistics>> entries = new ArrayList<>(statistics.entrySet());
+        entries.sort((first, second) -> Long.compare(second.getValue().wallTime.sum(), first.getValue().wallTime.sum()));
+
+        final StringBuilder json = new StringBuilder("{\n  \"inspections\": [");
+        for (int index = 0; index < entries.size(); ++index) {
+            final Map.Entry<String, Statistics> entry = entries.get(index);
+            json.append(index == 0 ? "\n" : ",\n").append(String.format(
+                "    {\"shortName\": \"%s\", \"wallTimeMs\": %d, \"invocations\": %d, \"allocatedBytes\": %d}",
+                entry.getKey(),
+                entry.getValue().wallTime.sum() / 1_000_000L,
+                entry.getValue().invocations.sum(),
+                entry.getValue().allocatedBytes.sum()
+            ));
+        }
+        json.append("\n  ]\n}\n");
+
+        final File target = new File(PathManager.getLogPath(), "ea-inspections-profile.json");
+        Files.write(target.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+        return target;
+    }
+
+    private static long getAllocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static class Statistics {
+        final private LongAdder wallTime       = new LongAdder();
+        final private LongAdder invocations    = new LongAdder();
+        final private LongAdder allocatedBytes = new LongAdder();
+    }
+}
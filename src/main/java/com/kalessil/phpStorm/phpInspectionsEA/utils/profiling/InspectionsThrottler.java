@@ -0,0 +1,134 @@
+package com.kalessil.phpStorm.phpInspectionsEA.utils.profiling;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.codeInspection.LocalInspectionToolSession;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/*
+ * On-the-fly only: inspections which exceeded the per-file budget are skipped while the file is being edited and
+ * re-run by restarting highlighting once editing paused for the configured deferral period.
+ */
+final public class InspectionsThrottler {
+    /* kept as file user data, so nothing outlives the file or pins it */
+    final private static class FileState {
+        final private Set<String> expensive     = ConcurrentHashMap.newKeySet();
+        final private AtomicBoolean isScheduled = new AtomicBoolean();
+        private long stamp                      = -1;
+        private long editedAt                   = 0;
+
+        /* true during the deferral period after a modification stamp change, the first observed stamp is not an edit */
+        synchronized private boolean isBeingEdited(long stamp, long now, long deferral) {
+            if (this.stamp != stamp) {
+                this.editedAt = this.stamp == -1 ? 0 : now;
+                this.stamp    = stamp;
+            }
+            return this.editedAt > 0 && now - this.editedAt < deferral;
+        }
+    }
+
+    final private static Key<FileState> stateKey              = Key.create("EA.throttlingState");
+    final private static Key<Map<String, LongAdder>> spentKey = Key.create("EA.throttlingSpent");
+
+    public static boolean isEnabled() {
+        final EASettings settings = EASettings.getInstance();
+        return settings != null && settings.isThrottlingEnabled();
+    }
+
+    /* returns null if the inspection needs to be deferred */
+    @Nullable
+    public static PsiElementVisitor wrap(
+        @NotNull String inspection,
+        @NotNull PsiFile file,
+        @NotNull LocalInspectionToolSession session,
+        @NotNull PsiElementVisitor visitor
+    ) {
+        final VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null || visitor == PsiElementVisitor.EMPTY_VISITOR) {
+            return visitor;
+        }
+
+        final long deferral         = EASettings.getInstance().getThrottlingDeferralMs();
+        final FileState state       = getState(virtualFile);
+        final boolean isBeingEdited = state.isBeingEdited(file.getModificationStamp(), System.currentTimeMillis(), deferral);
+        if (isBeingEdited && state.expensive.contains(inspection)) {
+            scheduleDeferredRun(file, state, deferral);
+            return null;
+        }
+
+        final LongAdder spent = new LongAdder();
+        session.putUserDataIfAbsent(spentKey, new ConcurrentHashMap<>()).put(inspection, spent);
+        return new PsiElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                final long start = System.nanoTime();
+                try {
+                    element.accept(visitor);
+                } finally {
+                    spent.add(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    public static void inspectionFinished(@NotNull String inspection, @NotNull PsiFile file, @NotNull LocalInspectionToolSession session) {
+        final Map<String, LongAdder> spentByInspection = session.getUserData(spentKey);
+        final LongAdder spent                          = spentByInspection == null ? null : spentByInspection.get(inspection);
+        final VirtualFile virtualFile                  = file.getVirtualFile();
+        if (spent != null && virtualFile != null) {
+            final Set<String> expensive = getState(virtualFile).expensive;
+            if (spent.sum() > TimeUnit.MILLISECONDS.toNanos(EASettings.getInstance().getThrottlingBudgetMs())) {
+                expensive.add(inspection);
+            } else {
+                expensive.remove(inspection);
+            }
+        }
+    }
+
+    @NotNull
+    private static FileState getState(@NotNull VirtualFile file) {
+        final FileState state = file.getUserData(stateKey);
+        return state == null ? file.putUserDataIfAbsent(stateKey, new FileState()) : state;
+    }
+
+    private static void scheduleDeferredRun(@NotNull PsiFile file, @NotNull FileState state, long deferral) {
+        if (state.isScheduled.compareAndSet(false, true)) {
+            final Project project = file.getProject();
+            AppExecutorUtil.getAppScheduledExecutorService().schedule(
+                () -> ApplicationManager.getApplication().invokeLater(() -> {
+                    state.isScheduled.set(false);
+                    if (!project.isDisposed() && file.isValid()) {
+                        DaemonCodeAnalyzer.getInstance(project).restart(file);
+                    }
+                }),
+                deferral,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+}
@@ -10,12 +10,13 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeFromPsiResolvingUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSemanticsUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /*
  * This file is part of the Php Inspections (EA Extended) package.
@@ -40,7 +41,7 @@ final public class ClassInStringContextStrategy {
         final PhpIndex index = PhpIndex.getInstance(holder.getProject());
         final Function scope = ExpressionSemanticUtil.getScope(nonStringOperand);
 
-        final HashSet<String> resolvedTypes = new HashSet<>();
+        final Set<String> resolvedTypes = new TypesSet();
         TypeFromPsiResolvingUtil.resolveExpressionType(nonStringOperand, scope, index, resolvedTypes);
         if (!TypesSemanticsUtil.isNullableObjectInterface(resolvedTypes)) {
             return false;
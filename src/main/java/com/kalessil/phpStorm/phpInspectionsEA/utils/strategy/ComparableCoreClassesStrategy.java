@@ -9,12 +9,14 @@ import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PhpIndexUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeFromPsiResolvingUtil;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSemanticsUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSet;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.hierarhy.InterfacesExtractUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Set;
 
 final public class ComparableCoreClassesStrategy {
     private final static HashSet<String> comparableObjects = new HashSet<>();
@@ -45,7 +47,7 @@ final public class ComparableCoreClassesStrategy {
 
     private static boolean isComparableObject(@NotNull PsiElement operand, @NotNull Function scope, @NotNull PhpIndex projectIndex) {
         /* extract types of operand, check if classes are/inherited from \DateTime */
-        final HashSet<String> operandTypes = new HashSet<>();
+        final Set<String> operandTypes = new TypesSet();
         TypeFromPsiResolvingUtil.resolveExpressionType(operand, scope, projectIndex, operandTypes);
         if (!TypesSemanticsUtil.isNullableObjectInterface(operandTypes)) {
             operandTypes.clear();
@@ -63,13 +65,12 @@ final public class ComparableCoreClassesStrategy {
 
         /* inspect classes for being a/child of special once */
         for (PhpClass clazz : operandClasses) {
-            final HashSet<PhpClass> hierarchy = InterfacesExtractUtil.getCrawlInheritanceTree(clazz, true);
+            final Set<PhpClass> hierarchy = InterfacesExtractUtil.getInheritanceClosure(clazz, true);
             for (PhpClass oneClass : hierarchy){
                 if (comparableObjects.contains(oneClass.getFQN())) {
                     return true;
                 }
             }
-            hierarchy.clear();
         }
         operandClasses.clear();
 
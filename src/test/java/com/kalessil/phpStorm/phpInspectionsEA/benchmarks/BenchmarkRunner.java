@@ -0,0 +1,92 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* a minimalistic JMH-alike harness: warm-up, then ops/sec and allocated bytes/op of the current thread */
+final class BenchmarkRunner {
+    final private static int warmupIterations      = Integer.getInteger("ea.benchmarks.warmup", 5);
+    final private static int measurementIterations = Integer.getInteger("ea.benchmarks.iterations", 10);
+    final private static long iterationNanos       = Long.getLong("ea.benchmarks.iterationMillis", 1000L) * 1_000_000L;
+
+    /* results are consumed here, so the JIT can not eliminate the benchmarked work as dead code */
+    final static class Blackhole {
+        private volatile Object sink;
+
+        void consume(Object value) {
+            this.sink = value;
+        }
+    }
+
+    static boolean isEnabled() {
+        return Boolean.getBoolean("ea.benchmarks");
+    }
+
+    /* the setup runs before each invocation and is excluded from measurements (e.g. fresh PSI, dropped caches) */
+    @NotNull
+    static <T> String run(@NotNull String name, @NotNull Supplier<T> setup, @NotNull BiConsumer<T, Blackhole> operation) {
+        final Blackhole blackhole = new Blackhole();
+        for (int iteration = 0; iteration < warmupIterations; ++iteration) {
+            measure(setup, operation, blackhole);
+        }
+
+        double operationsPerSecond = 0;
+        double bytesPerOperation   = 0;
+        for (int iteration = 0; iteration < measurementIterations; ++iteration) {
+            final double[] sample = measure(setup, operation, blackhole);
+            operationsPerSecond  += sample[0];
+            bytesPerOperation    += sample[1];
+        }
+
+        final String report = String.format(
+            "%-60s %12.1f ops/s %12.1f B/op",
+            name,
+            operationsPerSecond / measurementIterations,
+            bytesPerOperation / measurementIterations
+        );
+        System.out.println(report);
+        return report;
+    }
+
+    @NotNull
+    private static <T> double[] measure(
+        @NotNull Supplier<T> setup,
+        @NotNull BiConsumer<T, Blackhole> operation,
+        @NotNull Blackhole blackhole
+    ) {
+        long allocated  = 0;
+        long elapsed    = 0;
+        long operations = 0;
+        do {
+            final T state              = setup.get();
+            final long allocatedBefore = getAllocatedBytes();
+            final long start           = System.nanoTime();
+            operation.accept(state, blackhole);
+            elapsed   += System.nanoTime() - start;
+            allocated += getAllocatedBytes() - allocatedBefore;
+            ++operations;
+        } while (elapsed < iterationNanos);
+
+        return new double[]{operations * 1_000_000_000D / elapsed, allocated < 0 ? 0 : (double) allocated / operations};
+    }
+
+    private static long getAllocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,131 @@
+package com.kalessil.phpStorm.phpInspectionsEA.benchmarks;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Pair;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.impl.PsiModificationTrackerImpl;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.ifs.utils.ExpressionCostEstimateUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.phpUnit.PhpUnitTestsInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.NotOptimalRegularExpressionsInspector;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.ExpressionSemanticUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeFromPsiResolvingUtil;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * This file is part of the Php Inspections (EA Extended) package.
+ *
+ * (c) Vladimir Reznichenko <kalessil@gmail.com>
+ *
+ * For the full copyright and license information, please view the LICENSE
+ * file that was distributed with this source code.
+ */
+
+/* not a part of the regular test suite: run with -Dea.benchmarks=true, results are printed to stdout */
+final public class UtilsBenchmark extends PhpCodeInsightFixtureTestCase {
+    public void testExpressionSemanticUtil() {
+        if (BenchmarkRunner.isEnabled()) {
+            final PsiFile file = this.load("fixtures/ifs/if-optimal-conditions.php");
+            BenchmarkRunner.run("ExpressionSemanticUtil.getConditions", () -> this.fresh(file, If.class), (state, blackhole) -> {
+                for (final If ifStatement : state.second) {
+                    blackhole.consume(ExpressionSemanticUtil.getConditions(ifStatement.getCondition(), null));
+                }
+            });
+        }
+    }
+
+    public void testExpressionCostEstimateUtil() {
+        if (BenchmarkRunner.isEnabled()) {
+            final PsiFile file = this.load("fixtures/ifs/if-optimal-conditions.php");
+            BenchmarkRunner.run("ExpressionCostEstimateUtil.getExpressionCost", () -> this.fresh(file, If.class), (state, blackhole) -> {
+                for (final If ifStatement : state.second) {
+                    blackhole.consume(ExpressionCostEstimateUtil.getExpressionCost(ifStatement.getCondition(), new HashSet<>()));
+                }
+            });
+        }
+    }
+
+    public void testTypeFromPsiResolvingUtil() {
+        if (BenchmarkRunner.isEnabled()) {
+            final PsiFile file   = this.load("fixtures/types/type-unsafe-comparison.php");
+            final PhpIndex index = PhpIndex.getInstance(myFixture.getProject());
+            BenchmarkRunner.run("TypeFromPsiResolvingUtil.resolveExpressionType", () -> this.fresh(file, PhpTypedElement.class), (state, blackhole) -> {
+                for (final PhpTypedElement target : state.second) {
+                    final Set<String> types = new HashSet<>();
+                    TypeFromPsiResolvingUtil.resolveExpressionType(target, ExpressionSemanticUtil.getScope(target), index, types);
+                    blackhole.consume(types);
+                }
+            });
+        }
+    }
+
+    public void testPossibleValuesDiscoveryUtil() {
+        if (BenchmarkRunner.isEnabled()) {
+            final PsiFile file = this.load("fixtures/controlFlow/explode-misuse.php");
+            BenchmarkRunner.run("PossibleValuesDiscoveryUtil.discover", () -> this.fresh(file, Variable.class), (state, blackhole) -> {
+                for (final Variable variable : state.second) {
+                    blackhole.consume(PossibleValuesDiscoveryUtil.discover(variable));
+                }
+            });
+        }
+    }
+
+    public void testRegularExpressionsStrategies() {
+        if (BenchmarkRunner.isEnabled()) {
+            final PsiFile file              = this.load("fixtures/regularExpressions/greedy-character-sets.php");
+            final InspectionManager manager = InspectionManager.getInstance(myFixture.getProject());
+            /* a fresh holder per invocation: otherwise reported problems pile up and skew allocations */
+            BenchmarkRunner.run("NotOptimalRegularExpressionsInspector strategies", () -> this.fresh(file, FunctionReference.class), (state, blackhole) -> {
+                final ProblemsHolder holder     = new ProblemsHolder(manager, state.first, false);
+                final PsiElementVisitor visitor = new NotOptimalRegularExpressionsInspector().buildVisitor(holder, false);
+                for (final FunctionReference call : state.second) {
+                    call.accept(visitor);
+                }
+                blackhole.consume(holder.getResults());
+            });
+        }
+    }
+
+    public void testPhpUnitAssertStrategies() {
+        if (BenchmarkRunner.isEnabled()) {
+            final PsiFile file              = this.load("fixtures/phpUnit/assert-normalization.php");
+            final InspectionManager manager = InspectionManager.getInstance(myFixture.getProject());
+            BenchmarkRunner.run("PhpUnitTestsInspector strategies", () -> this.fresh(file, MethodReference.class), (state, blackhole) -> {
+                final ProblemsHolder holder     = new ProblemsHolder(manager, state.first, false);
+                final PsiElementVisitor visitor = new PhpUnitTestsInspector().buildVisitor(holder, false);
+                for (final MethodReference call : state.second) {
+                    call.accept(visitor);
+                }
+                blackhole.consume(holder.getResults());
+            });
+        }
+    }
+
+    private PsiFile load(String fixture) {
+        final PsiFile file = myFixture.configureByFile(fixture);
+        assertNotNull(file);
+        return file;
+    }
+
+    /* a fresh PSI copy and dropped PSI-dependent caches: otherwise after warm-up mostly cached values get measured */
+    private <T extends PsiElement> Pair<PsiFile, Collection<T>> fresh(PsiFile file, Class<T> type) {
+        final PsiManager manager = PsiManager.getInstance(myFixture.getProject());
+        ApplicationManager.getApplication().runWriteAction(
+            () -> ((PsiModificationTrackerImpl) manager.getModificationTracker()).incCounter()
+        );
+        final PsiFile copy = (PsiFile) file.copy();
+        return Pair.create(copy, PsiTreeUtil.findChildrenOfType(copy, type));
+    }
+}
@@ -0,0 +1,206 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.batch;
+
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchInspectionRunner;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchOptions;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchProblem;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchReporter;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchReportsMerger;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchResultsCache;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.BatchShard;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.JsonLinesReporter;
+import com.kalessil.phpStorm.phpInspectionsEA.batch.SarifReporter;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.apiUsage.AliasFunctionsUsageInspector;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+final public class BatchInspectionRunnerTest extends PhpCodeInsightFixtureTestCase {
+    public void testProblemsAreReportedPerFile() throws Exception {
+        final VirtualFile first  = myFixture.addFileToProject("first.php", "<?php\n\n$x = is_integer($y);\n").getVirtualFile();
+        final VirtualFile second = myFixture.addFileToProject("second.php", "<?php\n$x = is_int($y);\n").getVirtualFile();
+
+        final Map<String, List<BatchProblem>> reported = Collections.synchronizedMap(new HashMap<>());
+        final BatchReporter reporter = new BatchReporter() {
+            @Override
+            public void report(@NotNull String path, @NotNull List<BatchProblem> problems) {
+                reported.put(path, problems);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final List<LocalInspectionTool> tools = Collections.singletonList(new AliasFunctionsUsageInspector());
+        final long count = new BatchInspectionRunner(myFixture.getProject(), tools, 2).run(Arrays.asList(first, second), reporter);
+        assertEquals(1, count);
+        assertEquals(2, reported.size());
+
+        final List<BatchProblem> problems = new ArrayList<>();
+        reported.values().forEach(problems::addAll);
+        assertEquals(1, problems.size());
+        assertEquals("AliasFunctionsUsageInspection", problems.get(0).getInspection());
+        assertEquals(3, problems.get(0).getLine());
+        assertTrue(problems.get(0).getPath().endsWith("first.php"));
+    }
+
+    public void testResultsAreCached() throws Exception {
+        final PsiFile file             = myFixture.addFileToProject("cached.php", "<?php\n$x = is_integer($y);\n");
+        final List<VirtualFile> files  = Collections.singletonList(file.getVirtualFile());
+        final LocalInspectionTool tool = new AliasFunctionsUsageInspector();
+        final Path directory           = Files.createTempDirectory("ea-batch-cache");
+
+        final BatchResultsCache cache      = new BatchResultsCache(directory, "1.0.0", files);
+        final BatchInspectionRunner runner = new BatchInspectionRunner(myFixture.getProject(), Collections.singletonList(tool), 1, cache);
+        final List<BatchProblem> inspected = runner.inspect(file.getVirtualFile());
+        assertEquals(1, inspected.size());
+
+        /* next runs are served from the disk, unless the plugin version changes */
+        final String path                 = inspected.get(0).getPath();
+        final List<BatchProblem> fromDisk = new BatchResultsCache(directory, "1.0.0", files).get(tool, path, file);
+        assertNotNull(fromDisk);
+        assertEquals(1, fromDisk.size());
+        assertEquals(inspected.get(0).getLine(), fromDisk.get(0).getLine());
+        assertEquals(inspected.get(0).getMessage(), fromDisk.get(0).getMessage());
+        assertNull(new BatchResultsCache(directory, "1.0.1", files).get(tool, path, file));
+
+        /* so as unless the plugin settings change */
+        final EASettings settings = EASettings.getInstance();
+        try {
+            settings.setTestBaseClasses(Collections.singletonList("Base"));
+            assertNull(new BatchResultsCache(directory, "1.0.0", files).get(tool, path, file));
+        } finally {
+            settings.setTestBaseClasses(Collections.emptyList());
+        }
+        assertNotNull(new BatchResultsCache(directory, "1.0.0", files).get(tool, path, file));
+
+        /* cached results are used as they are */
+        cache.put(tool, path, file, Collections.emptyList());
+        assertEquals(0, runner.inspect(file.getVirtualFile()).size());
+    }
+
+    public void testStreamingReporters() throws Exception {
+        final List<BatchProblem> problems = Arrays.asList(
+            new BatchProblem("SecondInspection", "src/a.php", 3, "Same \"message\"."),
+            new BatchProblem("FirstInspection", "src/a.php", 5, "Other message."),
+            new BatchProblem("SecondInspection", "src/a.php", 7, "Same \"message\".")
+        );
+
+        final StringWriter jsonl = new StringWriter();
+        try (final BatchReporter reporter = new JsonLinesReporter(jsonl)) {
+            reporter.report("src/a.php", problems);
+        }
+        final String[] lines = jsonl.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"inspection\":\"SecondInspection\",\"path\":\"src/a.php\",\"line\":3,\"message\":\"Same \\\"message\\\".\""));
+        /* identical findings are told apart, shifted lines are keeping fingerprints */
+        assertFalse(getFingerprint(lines[0]).equals(getFingerprint(lines[2])));
+        final StringWriter shifted = new StringWriter();
+        try (final BatchReporter reporter = new JsonLinesReporter(shifted)) {
+            reporter.report("src/a.php", Collections.singletonList(new BatchProblem("SecondInspection", "src/a.php", 10, "Same \"message\".")));
+        }
+        assertEquals(getFingerprint(lines[0]), getFingerprint(shifted.toString()));
+
+        final StringWriter sarif = new StringWriter();
+        try (final BatchReporter reporter = new SarifReporter(sarif, "1.0.0")) {
+            reporter.report("src/a.php", problems);
+        }
+        final String report = sarif.toString();
+        assertTrue(report.contains("\"version\":\"2.1.0\""));
+        assertTrue(report.indexOf("\"ruleId\":\"FirstInspection\"") < report.indexOf("\"ruleId\":\"SecondInspection\""));
+        assertTrue(report.contains("\"region\":{\"startLine\":7}"));
+        assertEquals(3, report.split("eaFingerprint/v1").length - 1);
+    }
+
+    public void testShardsArePartitioningFiles() {
+        final List<BatchShard> shards = Arrays.asList(BatchShard.parse("1/3"), BatchShard.parse("2/3"), BatchShard.parse("3/3"));
+        for (int index = 0; index < 100; ++index) {
+            final String path = "src/Package" + index + "/Class.php";
+            int owners        = 0;
+            for (final BatchShard shard : shards) {
+                owners += shard.contains(path) ? 1 : 0;
+            }
+            assertEquals(1, owners);
+            assertEquals(shards.get(0).contains(path), BatchShard.parse("1/3").contains(path.replace('/', '\\')));
+        }
+        for (final String invalid : Arrays.asList("0/3", "4/3", "1/0", "1", "a/b")) {
+            try {
+                BatchShard.parse(invalid);
+                fail("Expected to fail: " + invalid);
+            } catch (IllegalArgumentException expected) {
+                /* expected */
+            }
+        }
+    }
+
+    public void testShardReportsMerging() throws Exception {
+        final Path directory = Files.createTempDirectory("ea-batch-shards");
+        final Path first     = directory.resolve("shard-1.jsonl");
+        final Path second    = directory.resolve("shard-2.jsonl");
+        try (final Writer output = Files.newBufferedWriter(first, StandardCharsets.UTF_8)) {
+            final BatchReporter reporter = new JsonLinesReporter(output);
+            reporter.report("a.php", Arrays.asList(
+                new BatchProblem("FirstInspection", "a.php", 1, "Message."),
+                new BatchProblem("SecondInspection", "a.php", 2, "Message.")
+            ));
+            reporter.close();
+        }
+        try (final Writer output = Files.newBufferedWriter(second, StandardCharsets.UTF_8)) {
+            final BatchReporter reporter = new JsonLinesReporter(output);
+            /* a re-tried shard reporting the same finding again */
+            reporter.report("a.php", Collections.singletonList(new BatchProblem("FirstInspection", "a.php", 1, "Message.")));
+            reporter.report("b.php", Collections.singletonList(new BatchProblem("FirstInspection", "b.php", 1, "Message.")));
+            reporter.close();
+        }
+
+        final StringWriter merged            = new StringWriter();
+        final SortedMap<String, Long> totals = BatchReportsMerger.merge(Arrays.asList(first, second), merged);
+        assertEquals(3, merged.toString().split("\n").length);
+        assertEquals(Long.valueOf(2), totals.get("FirstInspection"));
+        assertEquals(Long.valueOf(1), totals.get("SecondInspection"));
+    }
+
+    public void testOptionsParsing() {
+        final BatchOptions options = BatchOptions.parse(new String[]{"ea-inspect", "/project", "--threads=4", "--profile=CI"});
+        assertEquals("/project", options.getProjectPath());
+        assertEquals(4, options.getThreads());
+        assertEquals("CI", options.getProfile());
+        assertNull(options.getOutput());
+        assertNull(options.getCache());
+        assertEquals("text", options.getFormat());
+        assertEquals("sarif", BatchOptions.parse(new String[]{"ea-inspect", "/project", "--format=sarif"}).getFormat());
+        assertNull(options.getShard());
+        assertEquals(2, BatchOptions.parse(new String[]{"ea-inspect", "/project", "--shard=2/4"}).getShard().getIndex());
+        assertEquals("/tmp/ea", BatchOptions.parse(new String[]{"ea-inspect", "/project", "--cache=/tmp/ea"}).getCache());
+
+        for (final String[] invalid : Arrays.asList(
+            new String[]{"ea-inspect"},
+            new String[]{"ea-inspect", "/project", "--threads=0"},
+            new String[]{"ea-inspect", "/project", "--format=xml"},
+            new String[]{"ea-inspect", "/project", "--shard=5/4"},
+            new String[]{"ea-inspect", "/project", "--unknown"}
+        )) {
+            try {
+                BatchOptions.parse(invalid);
+                fail("Expected to fail: " + String.join(" ", invalid));
+            } catch (IllegalArgumentException expected) {
+                /* expected */
+            }
+        }
+    }
+
+    @NotNull
+    private static String getFingerprint(@NotNull String line) {
+        return line.substring(line.indexOf("\"fingerprint\":")).trim();
+    }
+}
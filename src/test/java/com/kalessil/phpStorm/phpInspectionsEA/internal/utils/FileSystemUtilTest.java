@@ -0,0 +1,52 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.EASettings;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.FileSystemUtil;
+
+import java.util.Collections;
+
+final public class FileSystemUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testNamingCriteria() {
+        PsiFile file = myFixture.addFileToProject("src/ServiceTest.php", "<?php class Service {}");
+        assertTrue(FileSystemUtil.isTestClass(PsiTreeUtil.findChildOfType(file, PhpClass.class)));
+
+        file = myFixture.addFileToProject("src/Service.php", "<?php namespace App\\Tests; class Service {}");
+        assertTrue(FileSystemUtil.isTestClass(PsiTreeUtil.findChildOfType(file, PhpClass.class)));
+
+        file = myFixture.addFileToProject("src/Other.php", "<?php namespace App; class Other {}");
+        assertFalse(FileSystemUtil.isTestClass(PsiTreeUtil.findChildOfType(file, PhpClass.class)));
+        assertFalse(FileSystemUtil.isTestFile(file));
+    }
+
+    public void testConfiguredCriteria() {
+        final EASettings settings = EASettings.getInstance();
+        final PsiFile rooted      = myFixture.addFileToProject("specs/unit/Checks.php", "<?php class Checks {}");
+        final PsiFile inherited   = myFixture.addFileToProject("src/Checks.php", "<?php class Base {} class Inherited extends Base {}");
+        final PhpClass clazz      = PsiTreeUtil.findChildrenOfType(inherited, PhpClass.class).stream()
+                .filter(candidate -> candidate.getName().equals("Inherited")).findFirst().orElse(null);
+        assertNotNull(clazz);
+
+        assertFalse(FileSystemUtil.isTestFile(rooted));
+        assertFalse(FileSystemUtil.isTestClass(clazz));
+        try {
+            final String root = rooted.getVirtualFile().getParent().getParent().getPath();
+            settings.setTestRoots(Collections.singletonList(root + "/"));
+            settings.setTestBaseClasses(Collections.singletonList("Base"));
+
+            assertTrue(FileSystemUtil.isTestFile(rooted));
+            assertTrue(FileSystemUtil.isTestClass(PsiTreeUtil.findChildOfType(rooted, PhpClass.class)));
+            assertFalse(FileSystemUtil.isTestFile(inherited));
+            assertTrue(FileSystemUtil.isTestClass(clazz));
+        } finally {
+            settings.setTestRoots(Collections.emptyList());
+            settings.setTestBaseClasses(Collections.emptyList());
+        }
+
+        assertFalse(FileSystemUtil.isTestFile(rooted));
+        assertFalse(FileSystemUtil.isTestClass(clazz));
+    }
+}
@@ -0,0 +1,27 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
+import com.jetbrains.php.lang.psi.elements.*;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.FunctionAssignmentsUtil;
+
+import java.util.List;
+
+final public class FunctionAssignmentsUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testAssignmentsIndex() {
+        String pattern    = "function test($x = 0, $y) { $x = 1; $z = 2; $x .= 3; $this->x = 4; return $x; }";
+        Function callable = PhpPsiElementFactory.createFromText(myFixture.getProject(), Function.class, pattern);
+        assertNotNull(callable);
+
+        List<AssignmentExpression> assignments = FunctionAssignmentsUtil.getVariableAssignments(callable, "x");
+        assertEquals(2, assignments.size());
+        assertEquals("$x = 1", assignments.get(0).getText());
+        assertInstanceOf(assignments.get(1), SelfAssignmentExpression.class);
+        assertEquals(1, FunctionAssignmentsUtil.getVariableAssignments(callable, "z").size());
+        assertEmpty(FunctionAssignmentsUtil.getVariableAssignments(callable, "y"));
+        assertEquals(1, FunctionAssignmentsUtil.getFieldAssignments(callable, "x").size());
+
+        assertNotNull(FunctionAssignmentsUtil.getParameterDefault(callable, "x"));
+        assertNull(FunctionAssignmentsUtil.getParameterDefault(callable, "y"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.BinaryExpression;
+import com.jetbrains.php.lang.psi.elements.Variable;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpeanapiEquivalenceUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+final public class OpeanapiEquivalenceUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testEquivalence() {
+        final PsiFile file                   = myFixture.configureByText("test.php", "<?php $x = $a + /* one */ 1; $y = $a+1; $z = $a + 2;");
+        final List<BinaryExpression> binaries = new ArrayList<>(PsiTreeUtil.findChildrenOfType(file, BinaryExpression.class));
+        assertEquals(3, binaries.size());
+
+        /* whitespaces and comments are ignored */
+        assertTrue(OpeanapiEquivalenceUtil.areEqual(binaries.get(0), binaries.get(1)));
+        assertEquals(OpeanapiEquivalenceUtil.getStructuralHash(binaries.get(0)), OpeanapiEquivalenceUtil.getStructuralHash(binaries.get(1)));
+        /* different operands and different node types */
+        assertFalse(OpeanapiEquivalenceUtil.areEqual(binaries.get(0), binaries.get(2)));
+        assertFalse(OpeanapiEquivalenceUtil.areEqual(binaries.get(0), binaries.get(0).getLeftOperand()));
+
+        final Map<Integer, List<BinaryExpression>> groups = OpeanapiEquivalenceUtil.groupByStructuralHash(binaries);
+        assertEquals(2, groups.size());
+        assertEquals(2, groups.get(OpeanapiEquivalenceUtil.getStructuralHash(binaries.get(0))).size());
+    }
+
+    public void testHashCollisions() {
+        /* "Aa" and "BB" are having the same string hash, hence the variables are having the same structural hash */
+        final PsiFile file             = myFixture.configureByText("test.php", "<?php $Aa = 0; $BB = 0; $Aa = 1;");
+        final List<Variable> variables = new ArrayList<>(PsiTreeUtil.findChildrenOfType(file, Variable.class));
+        assertEquals(3, variables.size());
+
+        final PsiElement first  = variables.get(0);
+        final PsiElement second = variables.get(1);
+        final PsiElement third  = variables.get(2);
+        assertEquals(OpeanapiEquivalenceUtil.getStructuralHash(first), OpeanapiEquivalenceUtil.getStructuralHash(second));
+        assertFalse(OpeanapiEquivalenceUtil.areEqual(first, second));
+        assertTrue(OpeanapiEquivalenceUtil.areEqual(first, third));
+
+        /* colliding elements are landing in the same group and still need to be compared */
+        final Map<Integer, List<Variable>> groups = OpeanapiEquivalenceUtil.groupByStructuralHash(variables);
+        assertEquals(1, groups.size());
+        assertEquals(variables, groups.values().iterator().next());
+    }
+}
@@ -0,0 +1,50 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.codeInsight.controlFlow.PhpControlFlowUtil;
+import com.jetbrains.php.codeInsight.controlFlow.instructions.PhpAccessVariableInstruction;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.jetbrains.php.lang.psi.elements.Variable;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiControlFlowUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final public class OpenapiControlFlowUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testSameAccessesAsPlatformLookup() {
+        final PsiFile file = myFixture.configureByText(
+            "test.php",
+            "<?php function outer($x, $y) { " +
+                "echo $x; " +
+                "$closure = function ($z) use ($x, &$y) { $x = $z; $y = function () use ($x) { return $x + 1; }; return $y; }; " +
+                "if ($y) { return $closure($x); } " +
+                "foreach ($y as $x) { $y[] = $x; } " +
+                "$x = 1; $inner = function ($x) use ($y) { return $x + $y; }; " +
+                "unset($x); " +
+                "return [$x, $y, $closure, $inner]; " +
+            "}"
+        );
+
+        /* the outer function and the nested closures, for every variable name met in the file and an absent one */
+        final Collection<Function> scopes = PsiTreeUtil.findChildrenOfType(file, Function.class);
+        final Set<String> names           = PsiTreeUtil.findChildrenOfType(file, Variable.class).stream()
+                .map(Variable::getName)
+                .collect(Collectors.toSet());
+        names.add("absent");
+        assertEquals(4, scopes.size());
+
+        for (final Function scope : scopes) {
+            for (final String name : names) {
+                final PhpAccessVariableInstruction[] expected
+                    = PhpControlFlowUtil.getFollowingVariableAccessInstructions(scope.getControlFlow().getEntryPoint(), name, false);
+                final PhpAccessVariableInstruction[] actual
+                    = OpenapiControlFlowUtil.getFollowingVariableAccessInstructions(scope, name);
+                assertEquals(scope.getName() + ": $" + name, Arrays.asList(expected), Arrays.asList(actual));
+            }
+        }
+    }
+}
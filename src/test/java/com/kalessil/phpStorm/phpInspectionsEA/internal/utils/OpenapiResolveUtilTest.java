@@ -0,0 +1,33 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.lang.psi.elements.FunctionReference;
+import com.jetbrains.php.lang.psi.elements.Variable;
+import com.jetbrains.php.lang.psi.resolve.types.PhpType;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+
+final public class OpenapiResolveUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testSharedResolution() {
+        final PsiFile file = myFixture.configureByText("test.php", "<?php function x() {} $x = ''; x($x);");
+        final Variable variable = PsiTreeUtil.findChildrenOfType(file, Variable.class).stream()
+                .reduce((first, second) -> second).orElse(null);
+        final FunctionReference reference = PsiTreeUtil.findChildOfType(file, FunctionReference.class);
+        assertNotNull(variable);
+        assertNotNull(reference);
+
+        /* types are cached, but callers are getting own copies */
+        final PhpType first  = OpenapiResolveUtil.resolveType(variable, myFixture.getProject());
+        final PhpType second = OpenapiResolveUtil.resolveType(variable, myFixture.getProject());
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotSame(first, second);
+        assertEquals(first.getTypes(), second.getTypes());
+        first.add(PhpType.INT);
+        assertFalse(OpenapiResolveUtil.resolveType(variable, myFixture.getProject()).getTypes().contains("\\int"));
+
+        assertNotNull(OpenapiResolveUtil.resolveReference(reference));
+        assertSame(OpenapiResolveUtil.resolveReference(reference), OpenapiResolveUtil.resolveReference(reference));
+    }
+}
@@ -5,6 +5,7 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.psi.PhpPsiElementFactory;
 import com.jetbrains.php.lang.psi.elements.*;
 import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.AnalysisBudget;
 import com.kalessil.phpStorm.phpInspectionsEA.utils.PossibleValuesDiscoveryUtil;
 
 import java.util.Set;
@@ -93,4 +94,33 @@ final public class PossibleValuesDiscoveryUtilTest extends PhpCodeInsightFixture
         assertEquals(1, values.size());
         assertInstanceOf(values.iterator().next(), ConstantReference.class);
     }
+
+    public void testDiscoveryWithinBudget() {
+        String pattern    = "function test() { $x = $y ? ($z ? 1 : 2) : 3; return $x; }";
+        Function callable = PhpPsiElementFactory.createFromText(myFixture.getProject(), Function.class, pattern);
+        assertNotNull(callable);
+
+        PsiElement expression = PsiTreeUtil.findChildOfType(callable, PhpReturn.class);
+        assertNotNull(expression);
+        expression = PsiTreeUtil.findChildOfType(expression, Variable.class);
+        assertNotNull(expression);
+
+        AnalysisBudget budget  = new AnalysisBudget(100, 100);
+        Set<PsiElement> values = PossibleValuesDiscoveryUtil.discover(expression, budget);
+        assertEquals(3, values.size());
+        assertFalse(budget.isExhausted());
+
+        /* the nested ternary is too deep: it's returned as it is */
+        budget = new AnalysisBudget(100, 2);
+        values = PossibleValuesDiscoveryUtil.discover(expression, budget);
+        assertEquals(2, values.size());
+        assertTrue(budget.isExhausted());
+
+        /* no steps at all: the expression itself is returned */
+        budget = new AnalysisBudget(0, 100);
+        values = PossibleValuesDiscoveryUtil.discover(expression, budget);
+        assertEquals(1, values.size());
+        assertSame(expression, values.iterator().next());
+        assertTrue(budget.isExhausted());
+    }
 }
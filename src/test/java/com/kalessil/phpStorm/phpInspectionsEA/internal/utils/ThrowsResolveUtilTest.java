@@ -0,0 +1,67 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.documentation.phpdoc.psi.PhpDocType;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.OpenapiResolveUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.phpDoc.ThrowsResolveUtil;
+
+import java.util.HashSet;
+import java.util.Set;
+
+final public class ThrowsResolveUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testInheritedThrowsWithDuplicatedClasses() {
+        /* the exception class is declared twice, the parent method is stub-backed (its file is never opened) */
+        myFixture.addFileToProject("first.php", "<?php namespace Domain; class Failure extends \\Exception {}");
+        myFixture.addFileToProject("second.php", "<?php namespace Domain; class Failure extends \\Exception {}");
+        myFixture.addFileToProject(
+            "parent.php",
+            "<?php namespace Domain; class Base { /** @throws Failure */ public function run() {} }"
+        );
+        myFixture.configureByText(
+            "child.php",
+            "<?php namespace Domain; class Child extends Base { /** @inheritdoc */ public function run() {} }"
+        );
+
+        final Method child = PsiTreeUtil.findChildOfType(myFixture.getFile(), Method.class);
+        assertNotNull(child);
+        final Set<PhpClass> thrown = new HashSet<>();
+        assertTrue(ThrowsResolveUtil.resolveThrownExceptions(child, thrown));
+
+        /* the outcome must match resolving the doc-block reference of the parent method */
+        final PhpClass base = PhpIndex.getInstance(myFixture.getProject()).getClassesByFQN("\\Domain\\Base").iterator().next();
+        final Method parent = base.findOwnMethodByName("run");
+        assertNotNull(parent);
+        final PhpDocType type = PsiTreeUtil.findChildOfType(parent.getDocComment(), PhpDocType.class);
+        assertNotNull(type);
+        final Set<PhpClass> expected = new HashSet<>();
+        final PsiElement resolved    = OpenapiResolveUtil.resolveReference(type);
+        if (resolved instanceof PhpClass) {
+            expected.add((PhpClass) resolved);
+        }
+        assertEquals(expected, thrown);
+    }
+
+    public void testInheritedThrowsFromStubs() {
+        myFixture.addFileToProject("failure.php", "<?php namespace Domain; class Failure extends \\Exception {}");
+        myFixture.addFileToProject(
+            "parent.php",
+            "<?php namespace Domain; class Base { /** @throws Failure */ public function run() {} }"
+        );
+        myFixture.configureByText(
+            "child.php",
+            "<?php namespace Domain; class Child extends Base { /** @inheritdoc */ public function run() {} }"
+        );
+
+        final Method child = PsiTreeUtil.findChildOfType(myFixture.getFile(), Method.class);
+        assertNotNull(child);
+        final Set<PhpClass> thrown = new HashSet<>();
+        assertTrue(ThrowsResolveUtil.resolveThrownExceptions(child, thrown));
+        assertEquals(1, thrown.size());
+        assertEquals("\\Domain\\Failure", thrown.iterator().next().getFQN());
+    }
+}
@@ -0,0 +1,57 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.psi.elements.Function;
+import com.jetbrains.php.lang.psi.elements.Variable;
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypeFromPsiResolvingUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+final public class TypeFromSignatureResolvingUtilTest extends PhpCodeInsightFixtureTestCase {
+    public void testSlotTypesCaching() {
+        myFixture.configureByText(
+            "test.php",
+            "<?php class Holder { /** @return string */ public function get() { return ''; } } " +
+            "function f(Holder $holder) { $value = $holder->get(); return $value; }"
+        );
+
+        /* repeated lookups are served from the cache and are not affected by previous callers */
+        assertEquals(Collections.singleton(Types.strString), this.resolve());
+        assertEquals(Collections.singleton(Types.strString), this.resolve());
+
+        /* the cache is dropped on PSI modification */
+        final Document document = myFixture.getEditor().getDocument();
+        final int offset        = document.getText().indexOf("string */");
+        WriteCommandAction.runWriteCommandAction(myFixture.getProject(), () -> {
+            document.replaceString(offset, offset + "string".length(), "int");
+            PsiDocumentManager.getInstance(myFixture.getProject()).commitAllDocuments();
+        });
+        assertEquals(Collections.singleton(Types.strInteger), this.resolve());
+    }
+
+    private Set<String> resolve() {
+        /* the returned variable gets resolved by its signature, which is a method of the parameter class */
+        final PsiFile file      = myFixture.getFile();
+        final Variable variable = PsiTreeUtil.findChildrenOfType(file, Variable.class).stream()
+                .reduce((first, second) -> second).orElse(null);
+        assertNotNull(variable);
+
+        final Set<String> result = new HashSet<>();
+        TypeFromPsiResolvingUtil.resolveExpressionType(
+            variable,
+            PsiTreeUtil.getParentOfType(variable, Function.class),
+            PhpIndex.getInstance(myFixture.getProject()),
+            result
+        );
+        return result;
+    }
+}
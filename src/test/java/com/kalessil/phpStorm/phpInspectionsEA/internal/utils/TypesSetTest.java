@@ -0,0 +1,73 @@
+package com.kalessil.phpStorm.phpInspectionsEA.internal.utils;
+
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.Types;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSemanticsUtil;
+import com.kalessil.phpStorm.phpInspectionsEA.utils.TypesSet;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+final public class TypesSetTest extends PhpCodeInsightFixtureTestCase {
+    public void testSetOperations() {
+        final Set<String> types = new TypesSet();
+        assertTrue(types.add(Types.strNull));
+        assertFalse(types.add(Types.strNull));
+        assertTrue(types.add("\\DateTime"));
+        assertTrue(types.add(Types.strString));
+        assertEquals(3, types.size());
+        assertEquals(new HashSet<>(Arrays.asList(Types.strNull, Types.strString, "\\DateTime")), new HashSet<>(types));
+
+        assertTrue(types.contains(Types.strString));
+        assertFalse(types.contains(Types.strInteger));
+        assertTrue(types.remove(Types.strString));
+        assertFalse(types.contains(Types.strString));
+
+        final Iterator<String> iterator = types.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().equals(Types.strNull)) {
+                iterator.remove();
+            }
+        }
+        assertEquals(1, types.size());
+        assertTrue(types.contains("\\DateTime"));
+
+        types.clear();
+        assertTrue(types.isEmpty());
+    }
+
+    public void testTypesNormalization() {
+        assertEquals(Types.strInteger, Types.getType("Integer"));
+        assertEquals(Types.strCallable, Types.getType("\\Closure"));
+        assertEquals(Types.strArray, Types.getType("\\DateTime[]"));
+        assertEquals("\\DateTime", Types.getType("\\DateTime"));
+    }
+
+    public void testNullableObjectInterface() {
+        for (final Set<String> types : Arrays.<Set<String>>asList(new TypesSet(), new HashSet<>())) {
+            types.add(Types.strNull);
+            types.add(Types.strClassNotResolved);
+            assertFalse(TypesSemanticsUtil.isNullableObjectInterface(types));
+
+            types.add("\\DateTime");
+            assertTrue(TypesSemanticsUtil.isNullableObjectInterface(types));
+
+            types.add(Types.strInteger);
+            assertFalse(TypesSemanticsUtil.isNullableObjectInterface(types));
+
+            types.clear();
+            types.add(Types.strResolvingAbortedOnPsiLevel);
+            assertTrue(TypesSemanticsUtil.isNullableObjectInterface(types));
+
+            /* not interned, but not a class reference either */
+            types.clear();
+            types.add(Types.strNull);
+            types.add("double");
+            assertFalse(TypesSemanticsUtil.isNullableObjectInterface(types));
+            types.add("\\DateTime");
+            assertFalse(TypesSemanticsUtil.isNullableObjectInterface(types));
+        }
+    }
+}
@@ -35,6 +35,11 @@ final public class NotOptimalRegularExpressionsInspectorTest extends PhpCodeInsi
         myFixture.configureByFile("fixtures/regularExpressions/missing-u-modifier.php");
         myFixture.testHighlighting(true, false, true);
     }
+    public void testOutOfRangeCodepoints() {
+        myFixture.enableInspections(new NotOptimalRegularExpressionsInspector());
+        myFixture.configureByFile("fixtures/regularExpressions/out-of-range-codepoints.php");
+        myFixture.testHighlighting(true, false, true);
+    }
     public void testPossibleCtypeUsages() {
         myFixture.enableInspections(new NotOptimalRegularExpressionsInspector());
         myFixture.configureByFile("fixtures/regularExpressions/ctype-functions-usage.php");
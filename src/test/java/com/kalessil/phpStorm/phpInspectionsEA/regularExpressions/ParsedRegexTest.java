@@ -0,0 +1,96 @@
+package com.kalessil.phpStorm.phpInspectionsEA.regularExpressions;
+
+import com.kalessil.phpStorm.phpInspectionsEA.PhpCodeInsightFixtureTestCase;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.ParsedRegex;
+import com.kalessil.phpStorm.phpInspectionsEA.inspectors.regularExpressions.parser.RegexNode;
+
+import java.util.List;
+
+final public class ParsedRegexTest extends PhpCodeInsightFixtureTestCase {
+    public void testDelimitersAndModifiers() {
+        final ParsedRegex regex = ParsedRegex.of("#^[a-z]+$#iu");
+        assertNotNull(regex);
+        assertEquals("^[a-z]+$", regex.getPattern());
+        assertEquals("iu", regex.getModifiers());
+        assertTrue(regex.hasModifier('u'));
+        assertFalse(regex.hasModifier('s'));
+
+        final ParsedRegex curvy = ParsedRegex.of("{\\d+}");
+        assertNotNull(curvy);
+        assertEquals("\\d+", curvy.getPattern());
+        assertNull(curvy.getModifiers());
+
+        assertNull(ParsedRegex.of("plain text"));
+        /* the same pattern string is parsed once */
+        assertSame(regex, ParsedRegex.of("#^[a-z]+$#iu"));
+    }
+
+    public void testSyntaxTree() {
+        final ParsedRegex regex = ParsedRegex.of("/^(?:\\D+|0(?!1))*+[^\\]a-z[:digit:]]{2,}?\\1$/");
+        assertNotNull(regex);
+        final List<RegexNode> items = regex.getSequence();
+        assertNotNull(items);
+        assertEquals(5, items.size());
+        assertTrue(items.get(0).is(RegexNode.Kind.LINE_START));
+        assertTrue(items.get(4).is(RegexNode.Kind.LINE_END));
+
+        final RegexNode group = items.get(1);
+        assertTrue(group.is(RegexNode.Kind.QUANTIFIED));
+        assertEquals("*", group.getQuantifier());
+        assertTrue(group.isPossessive());
+        assertEquals(RegexNode.GroupKind.NON_CAPTURING, group.getOperand().getGroupKind());
+        assertEquals(2, group.getOperand().getOperand().getChildren().size());
+
+        final RegexNode set = items.get(2);
+        assertEquals("{2,}", set.getQuantifier());
+        assertEquals(2, set.getMin());
+        assertEquals(-1, set.getMax());
+        assertTrue(set.isLazy());
+        assertTrue(set.getOperand().isNegated());
+        assertEquals(3, set.getOperand().getChildren().size());
+        assertTrue(set.getOperand().getChildren().get(0).isEscaped());
+        assertTrue(set.getOperand().getChildren().get(1).is(RegexNode.Kind.RANGE));
+        assertEquals("digit", set.getOperand().getChildren().get(2).getName());
+
+        assertTrue(items.get(3).is(RegexNode.Kind.BACKREFERENCE));
+        assertTrue(regex.contains(RegexNode.Kind.GROUP));
+        assertFalse(regex.contains(RegexNode.Kind.DOT));
+    }
+
+    public void testEscapesAndExtendedMode() {
+        final ParsedRegex regex = ParsedRegex.of("/\\x{41}\\Q.*\\E # comment\n \\\\p/x");
+        assertNotNull(regex);
+        final List<RegexNode> items = regex.getSequence();
+        assertNotNull(items);
+        assertEquals(5, items.size());
+        assertEquals('A', items.get(0).getCodepoint());
+        /* quoted characters are literals */
+        assertEquals('.', items.get(1).getCodepoint());
+        assertEquals('*', items.get(2).getCodepoint());
+        assertTrue(items.get(2).isEscaped());
+        /* patterns are parsed as written: an escaped backslash followed by p */
+        assertEquals('\\', items.get(3).getCodepoint());
+        assertEquals("p", items.get(4).getText());
+    }
+
+    public void testCodepointsRange() {
+        final ParsedRegex regex = ParsedRegex.of("/\\x{10FFFF}\\x{110000}\\o{4177777}\\o{4200000}\\x{FFFFFFFFFF}/u");
+        assertNotNull(regex);
+        final List<RegexNode> items = regex.getSequence();
+        assertNotNull(items);
+        assertEquals(5, items.size());
+        assertEquals(0x10FFFF, items.get(0).getCodepoint());
+        assertEquals(-1, items.get(1).getCodepoint());
+        assertEquals(0x10FFFF, items.get(2).getCodepoint());
+        assertEquals(-1, items.get(3).getCodepoint());
+        assertEquals(-1, items.get(4).getCodepoint());
+    }
+
+    public void testMalformedPatterns() {
+        for (final String pattern : new String[]{"/a)b(/", "/[a-/", "/\\/", "/a{2,/", "/(?<name/", "/*+?/"}) {
+            final ParsedRegex regex = ParsedRegex.of(pattern);
+            assertNotNull(regex);
+            assertEquals(regex.getPattern().length(), regex.getRoot().getEnd());
+        }
+    }
+}
@@ -8,8 +8,15 @@
     // ctypePatterns.put("^[A-Za-z0-9]+$",  "ctype_alnum");
     // ctypePatterns.put("^[^A-Za-z0-9]+$", "!ctype_alnum");
 
-    /* false-positives: locale-dependent ctype_* functions are not to be used at all */
-    preg_match('/^\d+$/', $x);
+    /* case: ctype_digit and ctype_xdigit are locale-independent, suggested for string subjects */
+    function ctype_subjects(string $text) {
+        <warning descr="'ctype_digit($text)' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^\d+$/', $text)</warning>;
+        <warning descr="'ctype_xdigit($text)' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^[0-9a-f]+$/i', $text)</warning>;
+        <warning descr="'ctype_digit($text)' can be used instead.">preg_match('/^\d+\z/', $text)</warning>;
+    }
+
+    /* false-positives: locale-dependent ctype_* functions are not to be used at all, strspn is suggested for short masks only */
+    <warning descr="''' !== $x && strlen($x) === strspn($x, \"0123456789\")' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^\d+$/', $x)</warning>;
     // preg_match('/^[^\d]+$/', $x);
     preg_match('/^[A-Za-z]+$/', $x);
     preg_match('/^[^A-Za-z]+$/', $x);
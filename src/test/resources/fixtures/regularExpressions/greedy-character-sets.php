@@ -4,6 +4,11 @@
     preg_match(<error descr="[\d\s\w] is 'greedy'. Please remove \d as it's a subset of \w.">'/[\d\s\w]/'</error>, '');
     preg_match('/[\d\s\[\]]/', '');
 
-    preg_match(<error descr="[\D\W] is 'greedy'. Please remove \D as it's a subset of \W.">'/[\D\W]/'</error>,     '');
-    preg_match(<error descr="[\D\W\S] is 'greedy'. Please remove \D as it's a subset of \W.">'/[\D\W\S]/'</error>, '');
-    preg_match('/[\D\W\[\]]/', '');
\ No newline at end of file
+    preg_match(<error descr="[\D\W] is 'greedy'. Please remove \W as it's a subset of \D.">'/[\D\W]/'</error>,     '');
+    preg_match(<error descr="[\D\W\S] is 'greedy'. Please remove \W as it's a subset of \D.">'/[\D\W\S]/'</error>, '');
+    preg_match(<error descr="[\D\W\[\]] is 'greedy'. Please remove \W as it's a subset of \D.">'/[\D\W\[\]]/'</error>, '');
+
+    preg_match(<error descr="[a-z_\w] is 'greedy'. Please remove a-z as it's a subset of \w.">'/[a-z_\w]/'</error>, '');
+    preg_match(<error descr="[[:alpha:]\w] is 'greedy'. Please remove [:alpha:] as it's a subset of \w.">'/[[:alpha:]\w]/'</error>, '');
+    preg_match('/[\w\-.]/', '');
+    preg_match('/[\wё]/u', '');
\ No newline at end of file
@@ -0,0 +1,11 @@
+<?php
+
+    /* false-positives: codepoints beyond the unicode range are not characters, patterns are not analyzed around them */
+    preg_match('/\x{110000}/u', $x);
+    preg_match('/[\x{110000}0-9]/u', $x);
+    preg_match('/[\o{4200000}a]/u', $x);
+    preg_match('/^\x{110000}+$/u', $x);
+    preg_match('/(\x{110000}+)+$/u', $x);
+
+    /* false-positives: the last codepoint of the unicode range */
+    preg_match('/[a\x{10FFFF}]+x/u', $x);
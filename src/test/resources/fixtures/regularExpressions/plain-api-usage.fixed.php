@@ -3,18 +3,21 @@
     /* case: str_replace */
     str_replace("whatever", $replacement, $string);
     str_ireplace("whatever", $replacement, $string);
+    str_replace(["foo", "bar"], '-', $string);
     /* false-positives */
     preg_replace('/whatever/',   $replacement, $string, 1);
     preg_replace('/^whatever/',  $replacement, $string);
     preg_replace('/whatever.+/', $replacement, $string);
+    preg_replace('/whatever/',   '$0!', $string);
+    preg_replace('/foo|bar/',    $replacement, $string);
+    preg_replace('/foo|oops/',   '-', $string);
+    preg_replace('/foo|bar/',    'o', $string);
+    preg_replace('/foo|bar/',    '', $string);
 
     /* case: strpos */
-    false !== strpos($string, "\+");
+    false !== strpos($string, "+");
     false !== strpos($string, "whatever");
     false !== stripos($string, "whatever");
-    0 === strpos($string, "\+");
-    0 === strpos($string, "whatever");
-    0 === stripos($string, "whatever");
     /* false-positives */
     preg_match('/whatever.+/',  $string);
     preg_match('/whatever/',    $string, $matches);
@@ -22,12 +25,55 @@
     preg_match('/^whatever.+/', $string);
     preg_match('/^whatever/',   $string, $matches);
     preg_match('/^whatever/i',  $string, $matches);
+    preg_match('/\x{110000}/u', $string);
+
+    /* case: strncmp */
+    0 === strncmp($string, "+", 1);
+    0 === strncmp($string, "whatever", 8);
+    0 === strncmp($string, "whatever", 8);
+    0 === strncmp($string, "whatever", 8);
+    0 === strncasecmp($string, "whatever", 8);
+    /* false-positives */
+    preg_match('/^whatever/m', $string);
+
+    /* case: substr_compare */
+    0 === substr_compare($string, ".php", -4);
+    0 === substr_compare($string, ".php", -4);
+    0 === substr_compare($string, ".php", -4, 4, true);
+    0 === substr_compare($string, ".php", -4);
+    0 === substr_compare($string, ".php", -4);
+    /* false-positives */
+    preg_match('/\.php$/m', $string);
+    preg_match('/\.ph.$/',  $string);
 
     /* case: string comparison */
     "whatever" === $string;
+    0 === strcasecmp($string, "whatever");
     /* false-positives */
     preg_match('/^whatever.+$/', $string);
-    preg_match('/^whatever$/i',  $string);
+    preg_match('/^äöü$/iu',      $string);
+
+    /* case: comparisons used as operands are parenthesized */
+    $result = !(0 === strncmp($string, "whatever", 8));
+    $result = $flag && (false !== strpos($string, "whatever"));
+    $result = ("whatever" === $string) ? 1 : 0;
+    $result = !('' !== $string && strlen($string) === strspn($string, "abcdef"));
+    $result = !(0 === strncmp($string, "whatever", 8));
+
+    /* case: characters span */
+    strlen($string) === strspn($string, "-_abcdef");
+    '' !== $string && strlen($string) === strcspn($string, ",;");
+    strlen($string) !== strcspn($string, ",;");
+    strlen($string) !== strspn($string, " ");
+    /* false-positives */
+    preg_match('/^[a-z_-]*$/', $string);
+    preg_match('/
+        whatever
+    /x', $string);
+    preg_match('/^\w+$/u', $string);
+    preg_match('/^[a-zä]+$/u', $string);
+    preg_match('/^[a-z]+$/', trim($string));
+    preg_match('/[a-z]*/', $string);
 
     /* case: trim */
     ltrim($string, 'a');
@@ -56,4 +102,4 @@
     explode("text", '');
     explode(",", '', 2);
     /* false-positives */
-    preg_split('/.+/', '');
\ No newline at end of file
+    preg_split('/.+/', '');
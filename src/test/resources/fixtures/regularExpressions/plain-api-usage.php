@@ -3,18 +3,21 @@
     /* case: str_replace */
     <warning descr="'str_replace(\"whatever\", $replacement, $string)' can be used instead.">preg_replace('/whatever/', $replacement, $string)</warning>;
     <warning descr="'str_ireplace(\"whatever\", $replacement, $string)' can be used instead.">preg_replace('/whatever/i', $replacement, $string)</warning>;
+    <warning descr="'str_replace([\"foo\", \"bar\"], '-', $string)' can be used instead.">preg_replace('/foo|bar/', '-', $string)</warning>;
     /* false-positives */
     preg_replace('/whatever/',   $replacement, $string, 1);
     preg_replace('/^whatever/',  $replacement, $string);
     preg_replace('/whatever.+/', $replacement, $string);
+    preg_replace('/whatever/',   '$0!', $string);
+    preg_replace('/foo|bar/',    $replacement, $string);
+    preg_replace('/foo|oops/',   '-', $string);
+    preg_replace('/foo|bar/',    'o', $string);
+    preg_replace('/foo|bar/',    '', $string);
 
     /* case: strpos */
-    <warning descr="'false !== strpos($string, \"\+\")' can be used instead.">preg_match('/\+/', $string)</warning>;
+    <warning descr="'false !== strpos($string, \"+\")' can be used instead.">preg_match('/\+/', $string)</warning>;
     <warning descr="'false !== strpos($string, \"whatever\")' can be used instead.">preg_match('/whatever/', $string)</warning>;
     <warning descr="'false !== stripos($string, \"whatever\")' can be used instead.">preg_match('/whatever/i', $string)</warning>;
-    <warning descr="'0 === strpos($string, \"\+\")' can be used instead.">preg_match('/^\+/', $string)</warning>;
-    <warning descr="'0 === strpos($string, \"whatever\")' can be used instead.">preg_match('/^whatever/', $string)</warning>;
-    <warning descr="'0 === stripos($string, \"whatever\")' can be used instead.">preg_match('/^whatever/i', $string)</warning>;
     /* false-positives */
     preg_match('/whatever.+/',  $string);
     preg_match('/whatever/',    $string, $matches);
@@ -22,12 +25,55 @@
     preg_match('/^whatever.+/', $string);
     preg_match('/^whatever/',   $string, $matches);
     preg_match('/^whatever/i',  $string, $matches);
+    preg_match('/\x{110000}/u', $string);
+
+    /* case: strncmp */
+    <warning descr="'0 === strncmp($string, \"+\", 1)' can be used instead.">preg_match('/^\+/', $string)</warning>;
+    <warning descr="'0 === strncmp($string, \"whatever\", 8)' can be used instead.">preg_match('/^whatever/', $string)</warning>;
+    <warning descr="'0 === strncmp($string, \"whatever\", 8)' can be used instead.">preg_match('/\Awhatever/', $string)</warning>;
+    <warning descr="'0 === strncmp($string, \"whatever\", 8)' can be used instead.">preg_match('/whatever/A', $string)</warning>;
+    <warning descr="'0 === strncasecmp($string, \"whatever\", 8)' can be used instead.">preg_match('/^whatever/i', $string)</warning>;
+    /* false-positives */
+    preg_match('/^whatever/m', $string);
+
+    /* case: substr_compare */
+    <warning descr="'0 === substr_compare($string, \".php\", -4)' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/\.php$/', $string)</warning>;
+    <warning descr="'0 === substr_compare($string, \".php\", -4)' can be used instead.">preg_match('/\.php\z/', $string)</warning>;
+    <warning descr="'0 === substr_compare($string, \".php\", -4, 4, true)' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/\.php$/i', $string)</warning>;
+    <warning descr="'0 === substr_compare($string, \".php\", -4)' can be used instead.">preg_match('/\.php$/D', $string)</warning>;
+    <warning descr="'0 === substr_compare($string, \".php\", -4)' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/\.php\Z/', $string)</warning>;
+    /* false-positives */
+    preg_match('/\.php$/m', $string);
+    preg_match('/\.ph.$/',  $string);
 
     /* case: string comparison */
-    <warning descr="'\"whatever\" === $string' can be used instead.">preg_match('/^whatever$/', $string)</warning>;
+    <warning descr="'\"whatever\" === $string' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^whatever$/', $string)</warning>;
+    <warning descr="'0 === strcasecmp($string, \"whatever\")' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^whatever$/i', $string)</warning>;
     /* false-positives */
     preg_match('/^whatever.+$/', $string);
-    preg_match('/^whatever$/i',  $string);
+    preg_match('/^äöü$/iu',      $string);
+
+    /* case: comparisons used as operands are parenthesized */
+    $result = !<warning descr="'(0 === strncmp($string, \"whatever\", 8))' can be used instead.">preg_match('/^whatever/', $string)</warning>;
+    $result = $flag && <warning descr="'(false !== strpos($string, \"whatever\"))' can be used instead.">preg_match('/whatever/', $string)</warning>;
+    $result = <warning descr="'(\"whatever\" === $string)' can be used instead.">preg_match('/^whatever\z/', $string)</warning> ? 1 : 0;
+    $result = !<warning descr="'('' !== $string && strlen($string) === strspn($string, \"abcdef\"))' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^[a-f]+$/', $string)</warning>;
+    $result = !(<warning descr="'0 === strncmp($string, \"whatever\", 8)' can be used instead.">preg_match('/^whatever/', $string)</warning>);
+
+    /* case: characters span */
+    <warning descr="'strlen($string) === strspn($string, \"-_abcdef\")' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^[a-f_-]*$/', $string)</warning>;
+    <warning descr="''' !== $string && strlen($string) === strcspn($string, \",;\")' can be used instead (note: unlike the pattern, it does not match subjects with a trailing new line).">preg_match('/^[^,;]+$/', $string)</warning>;
+    <warning descr="'strlen($string) !== strcspn($string, \",;\")' can be used instead.">preg_match('/[,;]/', $string)</warning>;
+    <warning descr="'strlen($string) !== strspn($string, \" \")' can be used instead.">preg_match('/[^ ]/', $string)</warning>;
+    /* false-positives */
+    preg_match('/^[a-z_-]*$/', $string);
+    preg_match('/
+        whatever
+    /x', $string);
+    preg_match('/^\w+$/u', $string);
+    preg_match('/^[a-zä]+$/u', $string);
+    preg_match('/^[a-z]+$/', trim($string));
+    preg_match('/[a-z]*/', $string);
 
     /* case: trim */
     <warning descr="'ltrim($string, 'a')' can be used instead.">preg_replace('/^a+/', '', $string)</warning>;
@@ -56,4 +102,4 @@
     <warning descr="'explode(\"text\", '')' can be used instead.">preg_split('/text/', '')</warning>;
     <warning descr="'explode(\",\", '', 2)' can be used instead.">preg_split('/,/', '', 2)</warning>;
     /* false-positives */
-    preg_split('/.+/', '');
\ No newline at end of file
+    preg_split('/.+/', '');
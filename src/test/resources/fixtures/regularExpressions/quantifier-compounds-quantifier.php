@@ -1,10 +1,33 @@
 <?php
 
-    preg_match(<error descr="(...+...)* might be exploited (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1))*/'</error>, '');
-    preg_match(<error descr="(...+...)+ might be exploited (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1))+/'</error>, '');
-    preg_match(<error descr="(...+...){10} might be exploited (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1)){10}/'</error>, '');
-    preg_match(<error descr="(...+...){1,} might be exploited (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1)){1,}/'</error>, '');
-    preg_match(<error descr="(...+...){1,10} might be exploited (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1)){1,10}/'</error>, '');
-
-    preg_match('/(?:\D+|0(?!1))++/', '');
-    preg_match('/((?:\D+|0(?!1))+)/', '');
\ No newline at end of file
+    /* exponential: the outer quantifier splits the input between iterations of the inner one */
+    preg_match(<error descr="The pattern takes exponential time on non-matching input, e.g. 'a' . str_repeat('a', 32) . '1' (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1))*$/'</error>, '');
+    preg_match(<error descr="The pattern takes exponential time on non-matching input, e.g. 'a' . str_repeat('a', 32) . '1' (ReDoS, Regular Expression Denial of Service).">'/^(?:\D+|0(?!1))+$/'</error>, '');
+    preg_match(<error descr="The pattern takes exponential time on non-matching input, e.g. 'a' . str_repeat('a', 32) . '1' (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1)){1,}$/'</error>, '');
+    preg_match(<error descr="The pattern takes exponential time on non-matching input, e.g. 'a' . str_repeat('a', 32) . 'cb' (ReDoS, Regular Expression Denial of Service).">'/(a+)+b/'</error>, '');
+
+    /* exponential: overlapping alternatives and items */
+    preg_match(<error descr="The pattern takes exponential time on non-matching input, e.g. 'a' . str_repeat('0a', 32) . ' ' (ReDoS, Regular Expression Denial of Service).">'/^(\w|\d)+$/'</error>, '');
+    preg_match(<error descr="The pattern takes exponential time on non-matching input, e.g. 'a' . str_repeat('aba', 32) . 'c' (ReDoS, Regular Expression Denial of Service).">'/^(a|ab|b)*$/'</error>, '');
+    preg_match(<error descr="The pattern takes exponential time on non-matching input, e.g. 'a' . str_repeat('aa', 32) . '00aa' (ReDoS, Regular Expression Denial of Service).">'/^([a-z]+.)+[a-z]+$/'</error>, '');
+
+    /* polynomial: the input is split between adjacent quantifiers */
+    preg_match(<error descr="The pattern takes O(n^11) time on non-matching input, e.g. 'a' . str_repeat('a', 10000) . '1a' (ReDoS, Regular Expression Denial of Service).">'/(?:\D+|0(?!1)){1,10}$/'</error>, '');
+    preg_match(<error descr="The pattern takes O(n^3) time on non-matching input, e.g. '0' . str_repeat('0', 10000) . 'a00' (ReDoS, Regular Expression Denial of Service).">'/^\d+\d+\d+$/'</error>, '');
+    preg_match(<error descr="The pattern takes O(n^3) time on non-matching input, e.g. 'a' . str_repeat(' ', 10000) . '!' (ReDoS, Regular Expression Denial of Service).">'/\s*\w*\s*$/'</error>, '');
+
+    /* false-positives: no backtracking into possessive quantifiers and atomic groups */
+    preg_match('/(?:\D+|0(?!1))++$/', '');
+    preg_match('/(?:\D+|0(?!1))*+$/', '');
+    preg_match('/(?>(?:\D+|0(?!1))*)$/', '');
+
+    /* false-positives: the match can not fail, so no backtracking happens */
+    preg_match('/(?:\D+|0(?!1))*/', '');
+    preg_match('/(?:\D+|0(?!1))+/', '');
+    preg_match('/((?:\D+|0(?!1))+)/', '');
+
+    /* false-positives: not ambiguous or quadratic only */
+    preg_match('/^(a|ab)*$/', '');
+    preg_match('/^(\s|\S)*$/', '');
+    preg_match('/^\s*(\w+)\s*$/', '');
+    preg_match('/\s+$/', '');
\ No newline at end of file